@@ -0,0 +1,164 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmarks;
+
+import io.jmix.core.CoreConfiguration;
+import io.jmix.core.EntitySerialization;
+import io.jmix.core.EntitySerializationOption;
+import io.jmix.core.Metadata;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import test_support.addon1.TestAddon1Configuration;
+import test_support.app.TestAppConfiguration;
+import test_support.app.entity.sales.Customer;
+import test_support.app.entity.sales.Order;
+import test_support.app.entity.sales.OrderLine;
+import test_support.app.entity.sales.Product;
+
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EntitySerialization} on a list of orders with a customer and order lines.
+ * Each operation processes a single order.
+ * <p>
+ * Run with {@code ./gradlew :core:jmh -PjmhArgs="EntitySerializationBenchmark -prof gc"} to see allocated bytes
+ * per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(EntitySerializationBenchmark.ORDERS_COUNT)
+public class EntitySerializationBenchmark {
+
+    public static final int ORDERS_COUNT = 100;
+
+    protected AnnotationConfigApplicationContext context;
+
+    protected EntitySerialization entitySerialization;
+
+    protected List<Order> orders;
+
+    protected String json;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigApplicationContext();
+        context.register(CoreConfiguration.class, TestAddon1Configuration.class, TestAppConfiguration.class);
+        context.refresh();
+
+        entitySerialization = context.getBean(EntitySerialization.class);
+        Metadata metadata = context.getBean(Metadata.class);
+
+        Product product = metadata.create(Product.class);
+        product.setName("product");
+        product.setQuantity(10);
+
+        orders = new ArrayList<>(ORDERS_COUNT);
+        for (int i = 0; i < ORDERS_COUNT; i++) {
+            Customer customer = metadata.create(Customer.class);
+            customer.setName("customer" + i);
+
+            Order order = metadata.create(Order.class);
+            order.setNumber("order" + i);
+            order.setDate(new Date());
+            order.setAmount(BigDecimal.valueOf(i));
+            order.setCustomer(customer);
+
+            List<OrderLine> orderLines = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                OrderLine orderLine = metadata.create(OrderLine.class);
+                orderLine.setOrder(order);
+                orderLine.setProduct(product);
+                orderLine.setQuantity(j);
+                orderLines.add(orderLine);
+            }
+            order.setOrderLines(orderLines);
+            orders.add(order);
+        }
+        json = entitySerialization.toJson(orders, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void toJsonString(Blackhole blackhole) {
+        blackhole.consume(entitySerialization.toJson(orders, null));
+    }
+
+    @Benchmark
+    public void toJsonCompact(Blackhole blackhole) {
+        blackhole.consume(entitySerialization.toJson(orders, null,
+                EntitySerializationOption.COMPACT_REPEATED_ENTITIES));
+    }
+
+    @Benchmark
+    public void toJsonWriter(Blackhole blackhole) {
+        entitySerialization.toJson(orders, null, new BlackholeWriter(blackhole));
+    }
+
+    @Benchmark
+    public void fromJson(Blackhole blackhole) {
+        blackhole.consume(entitySerialization.entitiesCollectionFromJson(json, null));
+    }
+
+    /**
+     * Consumes written characters without accumulating them.
+     */
+    protected static class BlackholeWriter extends Writer {
+
+        protected final Blackhole blackhole;
+
+        protected BlackholeWriter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            blackhole.consume(cbuf);
+        }
+
+        @Override
+        public void write(int c) {
+            blackhole.consume(c);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            blackhole.consume(str);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
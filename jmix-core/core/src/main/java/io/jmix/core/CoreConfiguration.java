@@ -18,6 +18,7 @@ package io.jmix.core;
 
 import io.jmix.core.annotation.JmixModule;
 import io.jmix.core.impl.CircularBeanReferencesEnabler;
+import io.jmix.core.impl.ContextPropagatingTaskDecorator;
 import io.jmix.core.impl.logging.LogMdcFilter;
 import io.jmix.core.impl.validation.JmixLocalValidatorFactoryBean;
 import io.jmix.core.impl.validation.ValidationClockProvider;
@@ -31,10 +32,12 @@ import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.*;
 import org.springframework.core.annotation.Order;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 import javax.validation.MessageInterpolator;
 import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration of the core module.
@@ -69,6 +72,25 @@ public class CoreConfiguration {
         return new SimpleMeterRegistry();
     }
 
+    // created on first concurrent load, so it is not instantiated with the default concurrency of 1
+    @Bean("core_CrossDataStoreReferenceLoadingExecutor")
+    @Lazy
+    public ThreadPoolTaskExecutor crossDataStoreReferenceLoadingExecutor(CoreProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("core-cross-store-");
+        // the calling thread loads one store itself
+        int poolSize = Math.max(properties.getCrossDataStoreReferenceLoadingConcurrency() - 1, 1);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setAllowCoreThreadTimeOut(true);
+        // run the task in the calling thread if all threads are busy instead of waiting in a queue
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setDaemon(true);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+
     @Bean("core_Validator")
     public static LocalValidatorFactoryBean validator(ValidationClockProvider clockProvider,
                                                       ValidationTraversableResolver traversableResolver,
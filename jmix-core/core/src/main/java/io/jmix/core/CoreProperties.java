@@ -59,6 +59,13 @@ public class CoreProperties {
     List<Locale> availableLocales;
     int crossDataStoreReferenceLoadingBatchSize;
 
+    /**
+     * Maximum number of data stores from which cross-datastore references of a loaded entity graph are loaded
+     * concurrently. References are not loaded concurrently if the load joins the current transaction.
+     * Default value: 1 (no concurrency).
+     */
+    int crossDataStoreReferenceLoadingConcurrency;
+
     /**
      * Whether to generate identifiers for entities located in additional data stores.
      */
@@ -100,6 +107,39 @@ public class CoreProperties {
      */
     PessimisticLock pessimisticLock;
 
+    /**
+     * Number of entities saved in a single transaction by the streaming import of
+     * {@link EntityImportExport#importEntitiesFromJson(java.io.InputStream, EntityImportPlan)}.
+     */
+    int entityImportBatchSize;
+
+    /**
+     * Maximum number of referenced entities kept by {@link EntityImportExport} to avoid loading the same reference
+     * repeatedly. The least recently used entities are evicted when the limit is exceeded.
+     */
+    int entityImportReferenceCacheSize;
+
+    /**
+     * Whether {@link io.jmix.core.impl.JmixMessageSource} loads messages of the used locales in background when the
+     * cache of messages is cleared, for example by the {@code io.jmix.core.Messages#clearCache} trigger file.
+     * Default value: false.
+     */
+    boolean messagesBackgroundReloadEnabled;
+
+    /**
+     * Whether {@link io.jmix.core.impl.scanning.JmixModulesClasspathScanner} reads classes of modules from the
+     * index built by the Jmix Gradle plugin instead of reading class files. Classpath roots without the index are
+     * scanned anyway. Default value: true.
+     */
+    boolean classpathScanIndexEnabled;
+
+    /**
+     * Whether the time spent by each {@link io.jmix.core.datastore.DataStoreEventListener} is published to the
+     * {@code MeterRegistry} as the {@code jmix.core.dataStore.listener} timer with {@code store}, {@code listener}
+     * and {@code event} tags. Default value: false.
+     */
+    boolean dataStoreListenerMetricsEnabled;
+
     public CoreProperties(
             String webHostName,
             String webPort,
@@ -119,7 +159,13 @@ public class CoreProperties {
             @DefaultValue("false") boolean legacyFetchPlanSerializationAttributeName,
             @DefaultValue("true") boolean triggerFilesEnabled,
             @DefaultValue("5000") Duration triggerFilesProcessInterval,
-            @DefaultValue PessimisticLock pessimisticLock) {
+            @DefaultValue PessimisticLock pessimisticLock,
+            @DefaultValue("100") int entityImportBatchSize,
+            @DefaultValue("10000") int entityImportReferenceCacheSize,
+            @DefaultValue("false") boolean messagesBackgroundReloadEnabled,
+            @DefaultValue("true") boolean classpathScanIndexEnabled,
+            @DefaultValue("false") boolean dataStoreListenerMetricsEnabled,
+            @DefaultValue("1") int crossDataStoreReferenceLoadingConcurrency) {
         this.webHostName = webHostName;
         this.webPort = webPort;
         this.confDir = confDir;
@@ -148,6 +194,12 @@ public class CoreProperties {
         this.triggerFilesEnabled = triggerFilesEnabled;
         this.triggerFilesProcessInterval = triggerFilesProcessInterval;
         this.pessimisticLock = pessimisticLock;
+        this.entityImportBatchSize = entityImportBatchSize;
+        this.entityImportReferenceCacheSize = entityImportReferenceCacheSize;
+        this.messagesBackgroundReloadEnabled = messagesBackgroundReloadEnabled;
+        this.classpathScanIndexEnabled = classpathScanIndexEnabled;
+        this.dataStoreListenerMetricsEnabled = dataStoreListenerMetricsEnabled;
+        this.crossDataStoreReferenceLoadingConcurrency = crossDataStoreReferenceLoadingConcurrency;
     }
 
     public String getWebHostName() {
@@ -187,6 +239,13 @@ public class CoreProperties {
         return crossDataStoreReferenceLoadingBatchSize;
     }
 
+    /**
+     * @see #crossDataStoreReferenceLoadingConcurrency
+     */
+    public int getCrossDataStoreReferenceLoadingConcurrency() {
+        return crossDataStoreReferenceLoadingConcurrency;
+    }
+
     /**
      * @see #idGenerationForEntitiesInAdditionalDataStoresEnabled
      */
@@ -248,6 +307,41 @@ public class CoreProperties {
         return pessimisticLock;
     }
 
+    /**
+     * @see #entityImportBatchSize
+     */
+    public int getEntityImportBatchSize() {
+        return entityImportBatchSize;
+    }
+
+    /**
+     * @see #entityImportReferenceCacheSize
+     */
+    public int getEntityImportReferenceCacheSize() {
+        return entityImportReferenceCacheSize;
+    }
+
+    /**
+     * @see #messagesBackgroundReloadEnabled
+     */
+    public boolean isMessagesBackgroundReloadEnabled() {
+        return messagesBackgroundReloadEnabled;
+    }
+
+    /**
+     * @see #classpathScanIndexEnabled
+     */
+    public boolean isClasspathScanIndexEnabled() {
+        return classpathScanIndexEnabled;
+    }
+
+    /**
+     * @see #dataStoreListenerMetricsEnabled
+     */
+    public boolean isDataStoreListenerMetricsEnabled() {
+        return dataStoreListenerMetricsEnabled;
+    }
+
     public static class PessimisticLock {
 
         /**
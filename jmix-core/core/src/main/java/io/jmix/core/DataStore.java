@@ -21,6 +21,7 @@ import io.jmix.core.entity.KeyValueEntity;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interface defining methods for CRUD operations on entities.
@@ -55,6 +56,19 @@ public interface DataStore {
      */
     List<Object> loadList(LoadContext<?> context);
 
+    /**
+     * Loads collection of entity instances as a stream. The stream holds the load transaction and its database
+     * connection until it is closed, so it must be closed after use.
+     * <p>
+     * The default implementation loads the whole list, data stores may override it to read instances
+     * from the database by chunks.
+     *
+     * @return a stream of instances
+     */
+    default Stream<Object> streamList(LoadContext<?> context) {
+        return loadList(context).stream();
+    }
+
     /**
      * Returns the number of entity instances for the given query passed in the {@link LoadContext}.
      *
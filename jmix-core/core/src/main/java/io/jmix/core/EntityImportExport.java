@@ -16,7 +16,10 @@
 
 package io.jmix.core;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * Bean that is used for exporting a collection of entities and importing them.
@@ -66,6 +69,18 @@ public interface EntityImportExport {
      */
     String exportEntitiesToJSON(Collection<Object> entities);
 
+    /**
+     * <p>Loads entities by the load context and writes them to the output stream as a JSON array using
+     * {@link EntitySerialization}. Entities are loaded by {@link UnconstrainedDataManager#streamList(LoadContext)} and
+     * written one by one, so the whole collection and its JSON are never held in memory.</p>
+     * <p>Each entity is serialized separately, so the result can be imported by
+     * {@link #importEntitiesFromJson(InputStream, EntityImportPlan)}.</p>
+     *
+     * @param loadContext  load context defining entities to export and their fetch plan
+     * @param outputStream stream the UTF-8 encoded JSON is written to. The stream is not closed by the method.
+     */
+    void exportEntitiesToJSON(LoadContext<?> loadContext, OutputStream outputStream);
+
     /**
      * Deserializes the JSON and persists deserialized entities according to the rules, described by the {@code
      * importPlan} parameter. If the entity is not present in the database, it will be saved. Otherwise the fields of
@@ -78,6 +93,32 @@ public interface EntityImportExport {
      */
     Collection<Object> importEntitiesFromJson(String json, EntityImportPlan importPlan);
 
+    /**
+     * Reads a JSON array of entities from the input stream and imports entities in batches of
+     * {@code jmix.core.entity-import-batch-size} size. See {@link #importEntitiesFromJson(InputStream, EntityImportPlan, int)}.
+     *
+     * @param inputStream stream of the UTF-8 encoded JSON array. The stream is not closed by the method.
+     * @param importPlan  {@code EntityImportPlan} with the rules that describes how entities should be persisted.
+     * @return number of imported entities
+     */
+    int importEntitiesFromJson(InputStream inputStream, EntityImportPlan importPlan);
+
+    /**
+     * Reads a JSON array of entities from the input stream and persists them according to the rules described by the
+     * {@code importPlan} parameter. Entities are read and saved by batches: each batch is saved by a separate
+     * {@link SaveContext}, so only the current batch is held in memory. Referenced entities are kept in a cache bounded
+     * by the {@code jmix.core.entity-import-reference-cache-size} property and reused by subsequent batches.
+     * <p>
+     * Elements of the array are deserialized separately, so each element must contain all data of its entity graph,
+     * as produced by {@link #exportEntitiesToJSON(LoadContext, OutputStream)}.
+     *
+     * @param inputStream stream of the UTF-8 encoded JSON array. The stream is not closed by the method.
+     * @param importPlan  {@code EntityImportPlan} with the rules that describes how entities should be persisted.
+     * @param batchSize   number of entities saved in one transaction
+     * @return number of imported entities
+     */
+    int importEntitiesFromJson(InputStream inputStream, EntityImportPlan importPlan, int batchSize);
+
     /**
      * Reads a zip archive that contains a JSON file, deserializes the JSON and persists deserialized entities according
      * to the rules, described by the {@code importPlan} parameter. If the entity is not present in the database, it
@@ -135,4 +176,20 @@ public interface EntityImportExport {
     void importEntityIntoSaveContext(SaveContext saveContext, Object srcEntity, EntityImportPlan importPlan, boolean validate, boolean optimisticLocking);
 
     void importEntityIntoSaveContext(SaveContext saveContext, Object srcEntity, EntityImportPlan importPlan, boolean validate, boolean optimisticLocking, boolean additionComposition);
+
+    /**
+     * Imports entities into the save context like
+     * {@link #importEntityIntoSaveContext(SaveContext, Object, EntityImportPlan, boolean, boolean)}, but loads existing
+     * entities by a single query for each entity type and loads each referenced entity once for all imported ones.
+     * The default implementation imports the entities one by one.
+     *
+     * @param saveContext       save context the imported entities are added to
+     * @param entities          entities to import with their import plans
+     * @param validate          whether the imported entities should be validated by the bean validation mechanism
+     * @param optimisticLocking whether the passed entities versions should be validated before entities are persisted
+     */
+    default void importEntitiesIntoSaveContext(SaveContext saveContext, Map<Object, EntityImportPlan> entities, boolean validate, boolean optimisticLocking) {
+        entities.forEach((entity, importPlan) ->
+                importEntityIntoSaveContext(saveContext, entity, importPlan, validate, optimisticLocking));
+    }
 }
@@ -19,8 +19,11 @@ package io.jmix.core;
 import io.jmix.core.metamodel.model.MetaClass;
 
 import javax.annotation.Nullable;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Iterator;
 
 /**
  * Class that is used for serialization and deserialization of entities to JSON.
@@ -64,6 +67,34 @@ public interface EntitySerialization {
                   @Nullable FetchPlan fetchPlan,
                   EntitySerializationOption... options);
 
+    /**
+     * Serializes a single entity directly to the writer. Method works like the {@link #toJson(Object, FetchPlan,
+     * EntitySerializationOption...)}, but does not build the whole JSON string in memory.
+     *
+     * @param entity    an entity to be serialized
+     * @param fetchPlan a fetch plan that defines which entity properties should be added to the result JSON object
+     * @param writer    a writer the JSON object is written to. The writer is not closed by the method.
+     * @param options   options specifying how an entity should be serialized
+     */
+    void toJson(Object entity,
+                @Nullable FetchPlan fetchPlan,
+                Writer writer,
+                EntitySerializationOption... options);
+
+    /**
+     * Serializes a collection of entities directly to the writer. Method works like the {@link #toJson(Collection,
+     * FetchPlan, EntitySerializationOption...)}, but does not build the whole JSON string in memory.
+     *
+     * @param entities  a list of entities to be serialized
+     * @param fetchPlan a fetch plan that defines which entity properties should be added to the result JSON object
+     * @param writer    a writer the JSON array is written to. The writer is not closed by the method.
+     * @param options   options specifying how an entity should be serialized
+     */
+    void toJson(Collection<?> entities,
+                @Nullable FetchPlan fetchPlan,
+                Writer writer,
+                EntitySerializationOption... options);
+
     /**
      * An overloaded version of the {@link #toJson(Object, FetchPlan, EntitySerializationOption...)} method with a null
      * {@code fetchPlan} parameter and with no serialization options.
@@ -122,6 +153,20 @@ public interface EntitySerialization {
                                                  @Nullable MetaClass metaClass,
                                                  EntitySerializationOption... options);
 
+    /**
+     * Deserializes a JSON array of objects lazily: an element of the array is read from the reader only when the
+     * next entity is requested from the returned iterator. Each element is deserialized separately, so repeated
+     * entities are replaced with previously read instances only within a single element.
+     *
+     * @param reader    a reader of the JSON array. The reader is not closed by the method.
+     * @param metaClass a metaClass of the entities that will be created
+     * @param options   options specifying how a JSON object graph was serialized
+     * @return an iterator over entities of the array
+     */
+    <T> Iterator<T> entitiesFromJson(Reader reader,
+                                     @Nullable MetaClass metaClass,
+                                     EntitySerializationOption... options);
+
     /**
      * Deserializes an object of any class from JSON. Date fields are deserialized according to the {@link
      * io.jmix.core.metamodel.datatype.impl.DateTimeDatatype} format, entities object and fields of Entity type are
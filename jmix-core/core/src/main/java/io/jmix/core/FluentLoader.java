@@ -36,6 +36,7 @@ import javax.persistence.TemporalType;
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component("core_FluentLoader")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -515,6 +516,8 @@ public class FluentLoader<E> {
         private int maxResults;
         private Sort sort;
         private boolean cacheable;
+        private Object afterEntity;
+        private int fetchSize;
 
         protected ByQuery(FluentLoader<E> loader, String queryString, ApplicationContext applicationContext) {
             Preconditions.checkNotEmptyString(queryString, "queryString is empty");
@@ -558,6 +561,8 @@ public class FluentLoader<E> {
             loadContext.getQuery().setMaxResults(maxResults);
             loadContext.getQuery().setSort(sort);
             loadContext.getQuery().setCacheable(cacheable);
+            loadContext.getQuery().setAfterEntity(afterEntity);
+            loadContext.getQuery().setFetchSize(fetchSize);
 
             return loadContext;
         }
@@ -570,6 +575,23 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities as a stream reading them from the database by chunks, see
+         * {@link UnconstrainedDataManager#streamList(LoadContext)}. The stream must be closed after use,
+         * for example:
+         * <pre>
+         * try (Stream&lt;Customer&gt; customers = dataManager.load(Customer.class).all().fetchSize(1000).stream()) {
+         *     customers.forEach(this::export);
+         * }
+         * </pre>
+         * <b>Entities saved in the calling thread while the stream is open join its load transaction</b> and are
+         * committed only when the stream is closed.
+         */
+        public Stream<E> stream() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.streamList(loadContext);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -715,6 +737,24 @@ public class FluentLoader<E> {
             return this;
         }
 
+        /**
+         * Sets the last entity of the previous page to load the next page by keyset (seek) pagination,
+         * for example {@code sort(Sort.by("name")).after(lastLoaded).maxResults(50)}.
+         * See {@link LoadContext.Query#setAfterEntity(Object)}.
+         */
+        public ByQuery<E> after(@Nullable Object entity) {
+            this.afterEntity = entity;
+            return this;
+        }
+
+        /**
+         * Sets the number of rows fetched from the database at once by {@link #stream()}.
+         */
+        public ByQuery<E> fetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
         /**
          * Indicates that the query results should be cached.
          * By default, queries are not cached.
@@ -767,6 +807,8 @@ public class FluentLoader<E> {
         private int maxResults;
         private Sort sort;
         private boolean cacheable;
+        private Object afterEntity;
+        private int fetchSize;
         private Condition condition;
 
         protected ByCondition(FluentLoader<E> loader, String entityName, Condition condition) {
@@ -784,6 +826,8 @@ public class FluentLoader<E> {
             this.maxResults = byQuery.maxResults;
             this.sort = byQuery.sort;
             this.cacheable = byQuery.cacheable;
+            this.afterEntity = byQuery.afterEntity;
+            this.fetchSize = byQuery.fetchSize;
         }
 
         LoadContext<E> createLoadContext() {
@@ -807,6 +851,8 @@ public class FluentLoader<E> {
             loadContext.getQuery().setMaxResults(maxResults);
             loadContext.getQuery().setSort(sort);
             loadContext.getQuery().setCacheable(cacheable);
+            loadContext.getQuery().setAfterEntity(afterEntity);
+            loadContext.getQuery().setFetchSize(fetchSize);
 
             return loadContext;
         }
@@ -819,6 +865,23 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities as a stream reading them from the database by chunks, see
+         * {@link UnconstrainedDataManager#streamList(LoadContext)}. The stream must be closed after use,
+         * for example:
+         * <pre>
+         * try (Stream&lt;Customer&gt; customers = dataManager.load(Customer.class).all().fetchSize(1000).stream()) {
+         *     customers.forEach(this::export);
+         * }
+         * </pre>
+         * <b>Entities saved in the calling thread while the stream is open join its load transaction</b> and are
+         * committed only when the stream is closed.
+         */
+        public Stream<E> stream() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.streamList(loadContext);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -956,6 +1019,24 @@ public class FluentLoader<E> {
             return this;
         }
 
+        /**
+         * Sets the last entity of the previous page to load the next page by keyset (seek) pagination,
+         * for example {@code sort(Sort.by("name")).after(lastLoaded).maxResults(50)}.
+         * See {@link LoadContext.Query#setAfterEntity(Object)}.
+         */
+        public ByCondition<E> after(@Nullable Object entity) {
+            this.afterEntity = entity;
+            return this;
+        }
+
+        /**
+         * Sets the number of rows fetched from the database at once by {@link #stream()}.
+         */
+        public ByCondition<E> fetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
         /**
          * Indicates that the query results should be cached.
          * By default, queries are not cached.
@@ -325,6 +325,8 @@ public class LoadContext<E> implements DataLoadContext, Serializable {
         private boolean cacheable;
         private Condition condition;
         private Sort sort;
+        private Object afterEntity;
+        private int fetchSize;
 
         protected Query() {
         }
@@ -441,6 +443,52 @@ public class LoadContext<E> implements DataLoadContext, Serializable {
             return this;
         }
 
+        /**
+         * @return entity after which the results start, see {@link #setAfterEntity(Object)}
+         */
+        @Nullable
+        public Object getAfterEntity() {
+            return afterEntity;
+        }
+
+        /**
+         * Sets the last entity of the previous page to load the next page by keyset (seek) pagination.
+         * The query returns entities that follow the given one in the order of the sort properties and
+         * the primary key, so the database does not have to skip {@code firstResult} rows.
+         * The sort property values of the entity must be loaded. Entities having null sort property values
+         * are not returned, so the sort should use mandatory attributes. Data stores which sort by expressions
+         * other than the attribute values, for example a custom {@code JpqlSortExpressionProvider}, reject
+         * the query with {@link IllegalArgumentException}.
+         *
+         * @param afterEntity last entity of the previous page or null to load from the beginning
+         * @return this query instance for chaining
+         */
+        public Query setAfterEntity(@Nullable Object afterEntity) {
+            this.afterEntity = afterEntity;
+            return this;
+        }
+
+        /**
+         * @return number of rows fetched from the database at once when the results are streamed,
+         * 0 if the data store default is used
+         */
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        /**
+         * Sets the number of rows fetched from the database at once when the results are streamed by
+         * {@link UnconstrainedDataManager#streamList(LoadContext)}. Entities are also processed by the data store
+         * in chunks of this size.
+         *
+         * @param fetchSize number of rows, 0 to use the data store default
+         * @return this query instance for chaining
+         */
+        public Query setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
         /**
          * Indicates that the query results should be cached.
          *
@@ -487,6 +535,8 @@ public class LoadContext<E> implements DataLoadContext, Serializable {
             query.cacheable = this.cacheable;
             query.condition = this.condition == null ? null : this.condition.copy();
             query.sort = this.sort;
+            query.afterEntity = this.afterEntity;
+            query.fetchSize = this.fetchSize;
         }
 
         @Override
@@ -173,5 +173,9 @@ public interface Messages {
     @Nullable
     String findMessage(String group, String key, @Nullable Locale locale);
 
+    /**
+     * Clears the cache of messages, so they are reloaded from message bundles. Sends
+     * {@link io.jmix.core.event.MessagesChangedEvent}.
+     */
     void clearCache();
 }
@@ -20,6 +20,7 @@ import io.jmix.core.entity.KeyValueEntity;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Central interface to provide CRUD functionality for entities.
@@ -52,6 +53,28 @@ public interface UnconstrainedDataManager {
      */
     <E> List<E> loadList(LoadContext<E> context);
 
+    /**
+     * Loads entity instances as a stream. If the data store supports it, instances are read from the database
+     * by chunks of {@link LoadContext.Query#getFetchSize()} rows and released by the data store after processing,
+     * so the whole result set is not kept in memory.
+     * <p>The stream holds the load transaction and its database connection until it is closed, so it must be
+     * consumed in the calling thread and closed, for example in a try-with-resources block.</p>
+     * <p><b>The load transaction is bound to the calling thread while the stream is open.</b> Entities saved
+     * in this thread during the iteration, for example by {@code save()} in {@code forEach()}, are saved in the
+     * same, possibly read-only, transaction: they are not committed until the stream is closed, and are rolled
+     * back together with it.
+     * This is also the case for {@link LoadContext#setJoinTransaction(boolean) setJoinTransaction(false)}.
+     * To commit changes independently, save them with {@link SaveContext#setJoinTransaction(boolean)
+     * setJoinTransaction(false)} or after the stream is closed.</p>
+     * <p>The default implementation loads the whole list and returns its stream.</p>
+     *
+     * @param context {@link LoadContext} object, defining what and how to load
+     * @return a stream of entity instances
+     */
+    default <E> Stream<E> streamList(LoadContext<E> context) {
+        return loadList(context).stream();
+    }
+
     /**
      * Returns the number of entity instances for the given query passed in the {@link LoadContext}.
      *
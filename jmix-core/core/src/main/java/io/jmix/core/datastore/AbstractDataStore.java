@@ -17,28 +17,51 @@
 package io.jmix.core.datastore;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
 import io.jmix.core.*;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.constraint.AccessConstraint;
+import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.querycondition.Condition;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.ClassUtils;
 
 import javax.annotation.Nullable;
+import javax.persistence.LockModeType;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class AbstractDataStore implements DataStore {
     protected final List<DataStoreEventListener> listeners = new ArrayList<>();
 
+    /**
+     * Dispatch tables by meta-class, {@link #NO_META_CLASS} is the key of events not related to a single meta-class.
+     */
+    protected final Map<Object, DataStoreListenerDispatchTable> dispatchTables = new ConcurrentHashMap<>();
+    protected final Map<DataStoreEventListener, Map<Class<?>, Timer>> listenerTimers = new ConcurrentHashMap<>();
+
+    protected static final Object NO_META_CLASS = new Object();
+
     protected Metadata metadata;
     protected MetadataTools metadataTools;
     protected EntityStates entityStates;
     protected KeyValueMapper keyValueMapper;
+    protected KeysetPaginationSupport keysetPaginationSupport;
+    protected CoreProperties coreProperties;
+    protected MeterRegistry meterRegistry;
 
     private static final Logger log = LoggerFactory.getLogger(AbstractDataStore.class);
 
@@ -62,6 +85,21 @@ public abstract class AbstractDataStore implements DataStore {
         this.keyValueMapper = keyValueMapper;
     }
 
+    @Autowired
+    public void setKeysetPaginationSupport(KeysetPaginationSupport keysetPaginationSupport) {
+        this.keysetPaginationSupport = keysetPaginationSupport;
+    }
+
+    @Autowired
+    public void setCoreProperties(CoreProperties coreProperties) {
+        this.coreProperties = coreProperties;
+    }
+
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Nullable
     @Override
     public Object load(LoadContext<?> context) {
@@ -124,7 +162,7 @@ public abstract class AbstractDataStore implements DataStore {
         Object transaction = beginLoadTransaction(context.isJoinTransaction());
         try {
             if (context.getIds().isEmpty()) {
-                List<Object> entities = loadAll(context);
+                List<Object> entities = loadAll(applyAfterEntity(context));
 
                 DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(context, entities, loadState);
                 fireEvent(loadEvent);
@@ -158,6 +196,72 @@ public abstract class AbstractDataStore implements DataStore {
         return afterLoadEvent.getResultEntities();
     }
 
+    /**
+     * Loads entities by chunks of {@link #getStreamFetchSize(LoadContext)} instances read from
+     * {@link #openCursor(LoadContext)}. Loading listeners are invoked for each chunk, after that the chunk
+     * is released by {@link #releaseStreamChunk(LoadContext, List)}. The load transaction is committed
+     * when the returned stream is closed. The fetch size is set to the query of the context, so the caller
+     * can process the stream by the same chunks.
+     * <p>
+     * If some entities are filtered out by loading listeners, they are not replaced by the following
+     * ones, so the stream may contain fewer than {@code maxResults} entities of the query.
+     */
+    @Override
+    public Stream<Object> streamList(LoadContext<?> context) {
+        if (log.isDebugEnabled()) {
+            log.debug("streamList: store={}, metaClass={}, fetchPlan={}, query={}",
+                    getName(), context.getEntityMetaClass(), context.getFetchPlan(), context.getQuery());
+        }
+
+        if (context.getQuery() == null || !context.getIds().isEmpty()) {
+            return loadList(context).stream();
+        }
+
+        EventSharedState loadState = new EventSharedState();
+
+        DataStoreBeforeEntityLoadEvent beforeLoadEvent = new DataStoreBeforeEntityLoadEvent(context, loadState);
+        fireEvent(beforeLoadEvent);
+
+        if (beforeLoadEvent.loadPrevented()) {
+            return Stream.empty();
+        }
+
+        int fetchSize = getStreamFetchSize(context);
+        if (fetchSize > 0) {
+            context.getQuery().setFetchSize(fetchSize);
+        }
+        int chunkSize = fetchSize > 0 ? fetchSize : Integer.MAX_VALUE;
+
+        Object transaction = beginLoadTransaction(context.isJoinTransaction());
+        EntityCursor cursor;
+        try {
+            cursor = openCursor(applyAfterEntity(context));
+        } catch (RuntimeException e) {
+            rollbackTransaction(transaction);
+            throw e;
+        }
+
+        Iterator<List<Object>> chunks = new AbstractIterator<List<Object>>() {
+            @Override
+            protected List<Object> computeNext() {
+                List<Object> entities = new ArrayList<>();
+                while (entities.size() < chunkSize && cursor.hasNext()) {
+                    entities.add(cursor.next());
+                }
+                if (entities.isEmpty()) {
+                    return endOfData();
+                }
+                List<Object> resultList = processStreamChunk(context, entities, loadState);
+                cursor.release();
+                return resultList;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+                .flatMap(List::stream)
+                .onClose(() -> closeStream(cursor, transaction));
+    }
+
     @Override
     public long getCount(LoadContext<?> context) {
         if (log.isDebugEnabled()) {
@@ -326,6 +430,68 @@ public abstract class AbstractDataStore implements DataStore {
     protected void beforeLoadTransactionCommit(LoadContext<?> context, Collection<Object> entities) {
     }
 
+    /**
+     * Opens a cursor over the entities of the query for {@link #streamList(LoadContext)}. Invoked inside
+     * the load transaction. The default implementation loads all entities at once.
+     */
+    protected EntityCursor openCursor(LoadContext<?> context) {
+        Iterator<Object> iterator = loadAll(context).iterator();
+        return new EntityCursor() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * Returns the number of entities read from the cursor and passed to loading listeners at once. Zero means that
+     * all entities are processed as one chunk, which is the case for the default {@link #openCursor(LoadContext)}.
+     * Data stores reading entities by chunks override this method to provide their default fetch size.
+     */
+    protected int getStreamFetchSize(LoadContext<?> context) {
+        LoadContext.Query query = context.getQuery();
+        return query != null ? query.getFetchSize() : 0;
+    }
+
+    protected List<Object> processStreamChunk(LoadContext<?> context, List<Object> entities, EventSharedState loadState) {
+        DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(context, entities, loadState);
+        fireEvent(loadEvent);
+
+        List<Object> resultList = loadEvent.getResultEntities();
+        releaseStreamChunk(context, entities);
+
+        DataStoreAfterEntityLoadEvent afterLoadEvent = new DataStoreAfterEntityLoadEvent(context, resultList, loadState);
+        fireEvent(afterLoadEvent);
+
+        return afterLoadEvent.getResultEntities();
+    }
+
+    /**
+     * Invoked for each chunk of entities read by {@link #streamList(LoadContext)} after the chunk is processed
+     * by loading listeners. Data stores can detach the entities here to keep the memory consumption constant.
+     */
+    protected void releaseStreamChunk(LoadContext<?> context, List<Object> entities) {
+    }
+
+    protected void closeStream(EntityCursor cursor, Object transaction) {
+        try {
+            cursor.close();
+            commitTransaction(transaction);
+        } finally {
+            rollbackTransaction(transaction);
+        }
+    }
+
     protected void beforeSaveTransactionCommit(SaveContext context, Collection<Object> savedEntities,
                                                Collection<Object> removedEntities) {
     }
@@ -333,20 +499,109 @@ public abstract class AbstractDataStore implements DataStore {
     protected void beforeSaveTransactionRollback(SaveContext context) {
     }
 
-    public void registerInterceptor(DataStoreEventListener listener) {
+    public synchronized void registerInterceptor(DataStoreEventListener listener) {
         listeners.add(listener);
         listeners.sort(Comparator.comparing(DataStoreEventListener::getOrder));
+        dispatchTables.clear();
     }
 
     protected <T extends BaseDataStoreEvent> void fireEvent(T event) {
-        for (DataStoreEventListener interceptor : listeners) {
-            event.sendTo(interceptor);
+        for (DataStoreEventListener interceptor : getDispatchTable(event.getEntityMetaClass()).getListeners(event.getClass())) {
+            sendEvent(event, interceptor);
+        }
+    }
+
+    protected DataStoreListenerDispatchTable getDispatchTable(@Nullable MetaClass metaClass) {
+        Object key = metaClass == null ? NO_META_CLASS : metaClass;
+        DataStoreListenerDispatchTable table = dispatchTables.get(key);
+        return table != null ? table : createDispatchTable(key, metaClass);
+    }
+
+    protected synchronized DataStoreListenerDispatchTable createDispatchTable(Object key, @Nullable MetaClass metaClass) {
+        return dispatchTables.computeIfAbsent(key, k -> new DataStoreListenerDispatchTable(listeners, metaClass));
+    }
+
+    /**
+     * Sends the event to the listener. Records the time spent by the listener if
+     * {@link CoreProperties#isDataStoreListenerMetricsEnabled()} is true.
+     */
+    protected void sendEvent(BaseDataStoreEvent event, DataStoreEventListener listener) {
+        if (coreProperties == null || !coreProperties.isDataStoreListenerMetricsEnabled()) {
+            event.sendTo(listener);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            event.sendTo(listener);
+        } finally {
+            getListenerTimer(listener, event.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    protected Timer getListenerTimer(DataStoreEventListener listener, Class<?> eventType) {
+        return listenerTimers.computeIfAbsent(listener, l -> new ConcurrentHashMap<>())
+                .computeIfAbsent(eventType, type -> Timer.builder("jmix.core.dataStore.listener")
+                        .tag("store", getName())
+                        .tag("listener", ClassUtils.getUserClass(listener).getSimpleName())
+                        .tag("event", type.getSimpleName())
+                        .description("Time spent by data store event listeners")
+                        .register(meterRegistry));
+    }
+
+    /**
+     * Returns a copy of the context with the query restricted to entities following
+     * {@link LoadContext.Query#getAfterEntity()}, or the context itself if the query has no such entity.
+     */
+    protected LoadContext<?> applyAfterEntity(LoadContext<?> context) {
+        LoadContext.Query query = context.getQuery();
+        if (query == null || query.getAfterEntity() == null) {
+            return context;
+        }
+        if (!isKeysetPaginationSupported() || !keysetPaginationSupport.isApplicable(context)) {
+            throw new IllegalArgumentException("Cannot load entities after the given entity: the query of "
+                    + context.getEntityMetaClass().getName() + " is not sorted by persistent attributes");
+        }
+        Sort sort = keysetPaginationSupport.getKeysetSort(context);
+        Condition keysetCondition = keysetPaginationSupport.createCondition(sort, query.getAfterEntity());
+        if (keysetCondition == null) {
+            throw new IllegalArgumentException("Cannot load entities after the given entity: "
+                    + "some of its sort attributes are null or not loaded");
+        }
+        return createKeysetContext(context, sort, keysetCondition);
+    }
+
+    /**
+     * Returns true if entities are ordered by the values of sort attributes, so {@link KeysetPaginationSupport}
+     * can select the following entities by comparing the values. Otherwise, batches are loaded by offset and
+     * loading after an entity is not supported.
+     */
+    protected boolean isKeysetPaginationSupported() {
+        return true;
+    }
+
+    protected LoadContext<?> createKeysetContext(LoadContext<?> context, Sort sort, @Nullable Condition keysetCondition) {
+        LoadContext<?> keysetContext = context.copy();
+        keysetContext.setLoadPartialEntities(context.isLoadPartialEntities());
+
+        LoadContext.Query query = context.getQuery();
+        LoadContext.Query keysetQuery = keysetContext.getQuery();
+        assert query != null && keysetQuery != null;
+        keysetQuery.setSort(sort);
+        keysetQuery.setAfterEntity(null);
+        if (keysetCondition != null) {
+            keysetQuery.setCondition(keysetPaginationSupport.combine(query.getCondition(), keysetCondition));
         }
+        return keysetContext;
     }
 
     protected List<Object> loadListByBatches(LoadContext<?> context, int actualSize, EventSharedState eventState) {
         assert context.getQuery() != null;
 
+        if (isKeysetPaginationSupported() && keysetPaginationSupport.isApplicableToBatches(context)) {
+            return loadListByKeysetBatches(context, actualSize, eventState);
+        }
+
+        LoadContext<?> restrictedContext = applyAfterEntity(context);
         List<Object> entities = new ArrayList<>();
 
         int requestedFirst = context.getQuery().getFirstResult();
@@ -364,7 +619,7 @@ public abstract class AbstractDataStore implements DataStore {
                 break;
             }
 
-            LoadContext<?> batchContext = context.copy();
+            LoadContext<?> batchContext = restrictedContext.copy();
 
             assert batchContext.getQuery() != null;
             batchContext.getQuery().setFirstResult(firstResult);
@@ -382,9 +637,76 @@ public abstract class AbstractDataStore implements DataStore {
             firstResult = firstResult + maxResults;
         }
 
+        return sliceBatchResults(entities, requestedFirst, requestedMax);
+    }
+
+    /**
+     * Loads batches selecting each next batch by the sort values of the last entity of the previous one,
+     * so the database does not have to skip all rows loaded before. If some sort values of the last entity
+     * are null, the next batch is selected by offset from the last known position.
+     */
+    protected List<Object> loadListByKeysetBatches(LoadContext<?> context, int actualSize, EventSharedState eventState) {
+        LoadContext.Query query = context.getQuery();
+        assert query != null;
+
+        List<Object> entities = new ArrayList<>();
+
+        int requestedFirst = query.getFirstResult();
+        int requestedMax = query.getMaxResults();
+
+        int expectedSize = requestedMax + requestedFirst;
+        int factor = actualSize == 0 ? 2 : requestedMax / actualSize * 2;
+
+        Sort sort = keysetPaginationSupport.getKeysetSort(context);
+        Condition keysetCondition = query.getAfterEntity() != null
+                ? keysetPaginationSupport.createCondition(sort, query.getAfterEntity())
+                : null;
+
+        int firstResult = 0;
+        int maxResults = (requestedFirst + requestedMax) * factor;
+        int i = 0;
+        while (entities.size() < expectedSize) {
+            if (i++ > 100000) {
+                log.warn("Loading by batches. Endless loop detected for {}", context);
+                break;
+            }
+
+            LoadContext<?> batchContext = createKeysetContext(context, sort, keysetCondition);
+
+            assert batchContext.getQuery() != null;
+            batchContext.getQuery().setFirstResult(firstResult);
+            batchContext.getQuery().setMaxResults(maxResults);
+
+            List<Object> list = loadAll(batchContext);
+            if (list.size() == 0) {
+                break;
+            }
+            Object lastEntity = list.get(list.size() - 1);
+
+            DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(context, list, eventState);
+            fireEvent(loadEvent);
+
+            entities.addAll(loadEvent.getResultEntities());
+            if (list.size() < maxResults) {
+                break;
+            }
+
+            Condition nextCondition = keysetPaginationSupport.createCondition(sort, lastEntity);
+            if (nextCondition != null) {
+                keysetCondition = nextCondition;
+                firstResult = 0;
+            } else {
+                firstResult = firstResult + maxResults;
+            }
+        }
+
+        return sliceBatchResults(entities, requestedFirst, requestedMax);
+    }
+
+    protected List<Object> sliceBatchResults(List<Object> entities, int requestedFirst, int requestedMax) {
         // Copy by iteration because subList() returns non-serializable class
         int max = Math.min(requestedFirst + requestedMax, entities.size());
-        List<Object> resultList = new ArrayList<>(max - requestedFirst);
+        List<Object> resultList = new ArrayList<>(Math.max(max - requestedFirst, 0));
         int j = 0;
         for (Object item : entities) {
             if (j >= max)
@@ -416,6 +738,8 @@ public abstract class AbstractDataStore implements DataStore {
         Set<Object> loadedEntities = new HashSet<>();
         Object loadTransaction = beginLoadTransaction(context.isJoinTransaction());
         try {
+            Map<ReloadGroupKey, List<EntityReloadInfo>> reloadGroups = new LinkedHashMap<>();
+
             for (Object entity : savedEntities) {
                 EventSharedState loadState = new EventSharedState();
                 LoadContext<?> loadContext = new LoadContext<>(metadata.getClass(entity))
@@ -429,14 +753,24 @@ public abstract class AbstractDataStore implements DataStore {
                 fireEvent(beforeLoadEvent);
 
                 if (!beforeLoadEvent.loadPrevented()) {
-                    Object fetchedEntity = loadOne(loadContext);
+                    reloadGroups.computeIfAbsent(new ReloadGroupKey(loadContext), key -> new ArrayList<>())
+                            .add(new EntityReloadInfo(entity, loadContext, loadState));
+                }
+            }
+
+            for (List<EntityReloadInfo> reloadGroup : reloadGroups.values()) {
+                Map<Object, Object> fetchedEntities = reloadGroup(reloadGroup);
+
+                for (EntityReloadInfo reloadInfo : reloadGroup) {
+                    Object fetchedEntity = fetchedEntities.get(reloadInfo.loadContext.getId());
 
                     if (fetchedEntity != null) {
-                        loadInfoMap.put(fetchedEntity, new EntityLoadInfo(loadContext, loadState));
+                        loadInfoMap.put(fetchedEntity, new EntityLoadInfo(reloadInfo.loadContext, reloadInfo.eventState));
 
-                        copyNonPersistentAttributes(entity, fetchedEntity);
+                        copyNonPersistentAttributes(reloadInfo.entity, fetchedEntity);
 
-                        DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(loadContext, fetchedEntity, loadState);
+                        DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(reloadInfo.loadContext,
+                                fetchedEntity, reloadInfo.eventState);
                         fireEvent(loadEvent);
 
                         loadedEntities.add(loadEvent.getResultEntity());
@@ -468,6 +802,36 @@ public abstract class AbstractDataStore implements DataStore {
         return resultEntities;
     }
 
+    /**
+     * Loads saved entities having the same entity class, fetch plan and load options. More than one entity is
+     * loaded by a single context with ids, so the store can use id-batched queries.
+     *
+     * @return map of loaded entities by id
+     */
+    protected Map<Object, Object> reloadGroup(List<EntityReloadInfo> reloadGroup) {
+        Map<Object, Object> result = new HashMap<>();
+        if (reloadGroup.size() == 1) {
+            LoadContext<?> loadContext = reloadGroup.get(0).loadContext;
+            Object fetchedEntity = loadOne(loadContext);
+            if (fetchedEntity != null) {
+                result.put(loadContext.getId(), fetchedEntity);
+            }
+        } else {
+            LoadContext<?> firstContext = reloadGroup.get(0).loadContext;
+            LoadContext<?> batchContext = firstContext.copy();
+            batchContext.setId(null);
+            batchContext.setLoadPartialEntities(firstContext.isLoadPartialEntities());
+            batchContext.setIds(reloadGroup.stream()
+                    .map(reloadInfo -> reloadInfo.loadContext.getId())
+                    .collect(Collectors.toList()));
+
+            for (Object fetchedEntity : loadAll(batchContext)) {
+                result.put(EntityValues.getId(fetchedEntity), fetchedEntity);
+            }
+        }
+        return result;
+    }
+
     protected FetchPlan getFetchPlanForSave(Map<Object, FetchPlan> fetchPlans, Object entity) {
         FetchPlan fetchPlan = fetchPlans.get(entity);
         if (fetchPlan == null) {
@@ -496,6 +860,60 @@ public abstract class AbstractDataStore implements DataStore {
         }
     }
 
+    protected static class EntityReloadInfo {
+        protected Object entity;
+        protected LoadContext<?> loadContext;
+        protected EventSharedState eventState;
+
+        public EntityReloadInfo(Object entity, LoadContext<?> loadContext, EventSharedState eventState) {
+            this.entity = entity;
+            this.loadContext = loadContext;
+            this.eventState = eventState;
+        }
+    }
+
+    /**
+     * Load contexts of saved entities which differ only by id and can be reloaded by one query.
+     */
+    protected static class ReloadGroupKey {
+        protected final MetaClass metaClass;
+        protected final FetchPlan fetchPlan;
+        protected final Map<String, Object> hints;
+        protected final List<AccessConstraint<?>> accessConstraints;
+        protected final LockModeType lockMode;
+        protected final boolean loadPartialEntities;
+        protected final boolean joinTransaction;
+
+        public ReloadGroupKey(LoadContext<?> loadContext) {
+            this.metaClass = loadContext.getEntityMetaClass();
+            this.fetchPlan = loadContext.getFetchPlan();
+            this.hints = new HashMap<>(loadContext.getHints());
+            this.accessConstraints = new ArrayList<>(loadContext.getAccessConstraints());
+            this.lockMode = loadContext.getLockMode();
+            this.loadPartialEntities = loadContext.isLoadPartialEntities();
+            this.joinTransaction = loadContext.isJoinTransaction();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReloadGroupKey that = (ReloadGroupKey) o;
+            return loadPartialEntities == that.loadPartialEntities
+                    && joinTransaction == that.joinTransaction
+                    && metaClass.equals(that.metaClass)
+                    && Objects.equals(fetchPlan, that.fetchPlan)
+                    && hints.equals(that.hints)
+                    && accessConstraints.equals(that.accessConstraints)
+                    && lockMode == that.lockMode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan, hints, lockMode, loadPartialEntities, joinTransaction);
+        }
+    }
+
     protected static class EntityLoadInfo {
         protected LoadContext<?> loadContext;
         protected EventSharedState eventState;
@@ -16,6 +16,9 @@
 
 package io.jmix.core.datastore;
 
+import io.jmix.core.metamodel.model.MetaClass;
+
+import javax.annotation.Nullable;
 import java.util.EventObject;
 
 public abstract class BaseDataStoreEvent extends EventObject {
@@ -24,4 +27,14 @@ public abstract class BaseDataStoreEvent extends EventObject {
     }
 
     public abstract void sendTo(DataStoreEventListener listener);
+
+    /**
+     * Returns the meta-class of entities the event is related to, or null if the event is not related to a single
+     * meta-class. Data stores use it to skip listeners that do not support the meta-class, see
+     * {@link DataStoreEventListener#supports(Class, MetaClass)}.
+     */
+    @Nullable
+    public MetaClass getEntityMetaClass() {
+        return null;
+    }
 }
@@ -17,6 +17,7 @@
 package io.jmix.core.datastore;
 
 import io.jmix.core.LoadContext;
+import io.jmix.core.metamodel.model.MetaClass;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -46,6 +47,11 @@ public class DataStoreAfterEntityLoadEvent extends BaseDataStoreEvent {
         return (LoadContext<?>) getSource();
     }
 
+    @Override
+    public MetaClass getEntityMetaClass() {
+        return getLoadContext().getEntityMetaClass();
+    }
+
     public EventSharedState getEventState() {
         return eventState;
     }
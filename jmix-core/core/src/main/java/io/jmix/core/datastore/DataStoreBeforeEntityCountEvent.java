@@ -17,6 +17,7 @@
 package io.jmix.core.datastore;
 
 import io.jmix.core.LoadContext;
+import io.jmix.core.metamodel.model.MetaClass;
 
 public class DataStoreBeforeEntityCountEvent extends BaseDataStoreEvent {
     private static final long serialVersionUID = -6243582872039288321L;
@@ -34,6 +35,11 @@ public class DataStoreBeforeEntityCountEvent extends BaseDataStoreEvent {
         return (LoadContext<?>) getSource();
     }
 
+    @Override
+    public MetaClass getEntityMetaClass() {
+        return getLoadContext().getEntityMetaClass();
+    }
+
     public EventSharedState getEventState() {
         return eventState;
     }
@@ -17,11 +17,13 @@
 package io.jmix.core.datastore;
 
 import io.jmix.core.LoadContext;
+import io.jmix.core.metamodel.model.MetaClass;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 public class DataStoreEntityLoadingEvent extends BaseDataStoreEvent {
@@ -47,6 +49,11 @@ public class DataStoreEntityLoadingEvent extends BaseDataStoreEvent {
         return (LoadContext<?>) getSource();
     }
 
+    @Override
+    public MetaClass getEntityMetaClass() {
+        return getLoadContext().getEntityMetaClass();
+    }
+
     public EventSharedState getEventState() {
         return eventState;
     }
@@ -62,6 +69,16 @@ public class DataStoreEntityLoadingEvent extends BaseDataStoreEvent {
         excludedEntities.add(entity);
     }
 
+    public void excludeEntities(Collection<?> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        if (excludedEntities == null) {
+            excludedEntities = new ArrayList<>();
+        }
+        excludedEntities.addAll(entities);
+    }
+
     @Nullable
     public Object getResultEntity() {
         List<Object> resultEntities = getResultEntities();
@@ -73,7 +90,7 @@ public class DataStoreEntityLoadingEvent extends BaseDataStoreEvent {
             return entities;
         } else {
             List<Object> resultEntities = new ArrayList<>(entities);
-            resultEntities.removeAll(excludedEntities);
+            resultEntities.removeAll(excludedEntities.size() > 1 ? new HashSet<>(excludedEntities) : excludedEntities);
             return resultEntities;
         }
     }
@@ -17,6 +17,7 @@
 package io.jmix.core.datastore;
 
 import io.jmix.core.LoadContext;
+import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.SaveContext;
 
 public class DataStoreEntityReloadEvent extends BaseDataStoreEvent {
@@ -37,6 +38,11 @@ public class DataStoreEntityReloadEvent extends BaseDataStoreEvent {
         return (LoadContext<?>) getSource();
     }
 
+    @Override
+    public MetaClass getEntityMetaClass() {
+        return getLoadContext().getEntityMetaClass();
+    }
+
     public SaveContext getSaveContext() {
         return saveContext;
     }
@@ -17,8 +17,17 @@
 package io.jmix.core.datastore;
 
 import io.jmix.core.JmixOrder;
+import io.jmix.core.metamodel.model.MetaClass;
 import org.springframework.core.Ordered;
 
+import javax.annotation.Nullable;
+
+/**
+ * Listener of {@link AbstractDataStore} events.
+ * <p>
+ * A data store invokes only the listeners that override the method of the event type and return true from
+ * {@link #supports(Class, MetaClass)}. The set of listeners is determined once per event type and meta-class.
+ */
 public interface DataStoreEventListener extends Ordered {
     default void beforeEntityLoad(DataStoreBeforeEntityLoadEvent event) {
     }
@@ -47,6 +56,18 @@ public interface DataStoreEventListener extends Ordered {
     default void beforeValueLoad(DataStoreBeforeValueLoadEvent event) {
     }
 
+    /**
+     * Returns true if the listener should receive events of the given type related to the given meta-class.
+     * The result is cached by data stores, so it must not change at runtime.
+     *
+     * @param eventType type of the event
+     * @param metaClass meta-class of loaded entities or null if the event is not related to a single meta-class,
+     *                  e.g. saving entities or loading values
+     */
+    default boolean supports(Class<? extends BaseDataStoreEvent> eventType, @Nullable MetaClass metaClass) {
+        return true;
+    }
+
     @Override
     default int getOrder() {
         return JmixOrder.LOWEST_PRECEDENCE;
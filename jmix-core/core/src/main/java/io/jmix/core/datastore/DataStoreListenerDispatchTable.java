@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmix.core.datastore;
+
+import io.jmix.core.metamodel.model.MetaClass;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable table of {@link DataStoreEventListener}s receiving events of each type related to a meta-class.
+ * <p>
+ * A listener receives events of a type if it overrides the method of the type and returns true from
+ * {@link DataStoreEventListener#supports(Class, MetaClass)}. Events of types unknown to
+ * {@link DataStoreEventListener} are sent to all listeners.
+ */
+public class DataStoreListenerDispatchTable {
+
+    protected static final Set<Class<?>> LISTENER_EVENT_TYPES = Arrays.stream(DataStoreEventListener.class.getMethods())
+            .filter(method -> method.getParameterCount() == 1
+                    && BaseDataStoreEvent.class.isAssignableFrom(method.getParameterTypes()[0]))
+            .map(method -> method.getParameterTypes()[0])
+            .collect(Collectors.toSet());
+
+    protected final List<DataStoreEventListener> allListeners;
+    protected final Map<Class<?>, List<DataStoreEventListener>> listenersByEventType;
+
+    /**
+     * @param listeners all listeners of the data store in the order of invocation
+     * @param metaClass meta-class of events or null for events not related to a single meta-class
+     */
+    @SuppressWarnings("unchecked")
+    public DataStoreListenerDispatchTable(List<DataStoreEventListener> listeners, @Nullable MetaClass metaClass) {
+        allListeners = Collections.unmodifiableList(new ArrayList<>(listeners));
+
+        Map<Class<?>, List<DataStoreEventListener>> map = new HashMap<>();
+        for (Class<?> eventType : LISTENER_EVENT_TYPES) {
+            List<DataStoreEventListener> eventListeners = listeners.stream()
+                    .filter(listener -> isEventHandled(listener, eventType)
+                            && listener.supports((Class<? extends BaseDataStoreEvent>) eventType, metaClass))
+                    .collect(Collectors.toList());
+            map.put(eventType, Collections.unmodifiableList(eventListeners));
+        }
+        listenersByEventType = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Returns listeners that should receive the event of the given type.
+     */
+    public List<DataStoreEventListener> getListeners(Class<? extends BaseDataStoreEvent> eventType) {
+        List<DataStoreEventListener> listeners = listenersByEventType.get(eventType);
+        return listeners != null ? listeners : allListeners;
+    }
+
+    protected boolean isEventHandled(DataStoreEventListener listener, Class<?> eventType) {
+        for (Method method : listener.getClass().getMethods()) {
+            if (method.getParameterCount() == 1
+                    && method.getParameterTypes()[0] == eventType
+                    && method.getDeclaringClass() != DataStoreEventListener.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.datastore;
+
+import java.util.Iterator;
+
+/**
+ * Iterator over entities read by a data store for {@link AbstractDataStore#streamList(io.jmix.core.LoadContext)}.
+ */
+public interface EntityCursor extends Iterator<Object>, AutoCloseable {
+
+    /**
+     * Invoked after a chunk of entities read from the cursor has been processed. Allows the cursor to release
+     * resources holding the entities.
+     */
+    default void release() {
+    }
+
+    @Override
+    void close();
+}
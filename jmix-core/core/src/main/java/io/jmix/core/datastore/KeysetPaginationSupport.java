@@ -0,0 +1,234 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.datastore;
+
+import io.jmix.core.EntityStates;
+import io.jmix.core.LoadContext;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.Sort;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds conditions for keyset (seek) pagination: instead of skipping {@code firstResult} rows, a page is selected
+ * by comparing the sort properties and the primary key with the values of the last entity of the previous page.
+ * <p>
+ * Keyset pagination is possible if all sort properties are persistent datatype attributes reachable through
+ * to-one references, and the entity has a simple primary key. The primary key is added to the sort to make
+ * the order total.
+ * <p>
+ * Comparisons with null are never true, so rows having null sort values or null references in sort paths are not
+ * selected by the keyset condition. Such rows can be skipped by explicit keyset pagination, while loading by
+ * batches uses keys only if all sort properties and references are mandatory, see
+ * {@link #isApplicableToBatches(LoadContext)}.
+ */
+@Component("core_KeysetPaginationSupport")
+public class KeysetPaginationSupport {
+
+    public static final String PARAMETER_PREFIX = "_keyset";
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected EntityStates entityStates;
+
+    /**
+     * @return true if the query of the context can be paged by keys
+     */
+    public boolean isApplicable(LoadContext<?> context) {
+        LoadContext.Query query = context.getQuery();
+        if (query == null || !context.getIds().isEmpty()) {
+            return false;
+        }
+        MetaClass metaClass = context.getEntityMetaClass();
+        MetaProperty primaryKey = metadataTools.getPrimaryKeyProperty(metaClass);
+        if (primaryKey == null || metadataTools.hasCompositePrimaryKey(metaClass)) {
+            return false;
+        }
+        Sort sort = query.getSort();
+        if (sort == null || sort.getOrders().isEmpty()) {
+            // the order of the query string would be replaced by the primary key order
+            return query.getQueryString() == null || !query.getQueryString().toLowerCase().contains("order by");
+        }
+        for (Sort.Order order : sort.getOrders()) {
+            if (!isSortPropertySupported(metaClass, order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the query of the context can be paged by keys without skipping rows, that is each sort
+     * property and each reference in its path is mandatory
+     */
+    public boolean isApplicableToBatches(LoadContext<?> context) {
+        if (!isApplicable(context)) {
+            return false;
+        }
+        LoadContext.Query query = context.getQuery();
+        assert query != null;
+        if (query.getSort() != null) {
+            MetaClass metaClass = context.getEntityMetaClass();
+            for (Sort.Order order : query.getSort().getOrders()) {
+                if (!isSortPathMandatory(metaClass, order.getProperty())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the sort of the query with the primary key appended if it is not sorted by the key already
+     */
+    public Sort getKeysetSort(LoadContext<?> context) {
+        LoadContext.Query query = context.getQuery();
+        MetaProperty primaryKey = metadataTools.getPrimaryKeyProperty(context.getEntityMetaClass());
+        if (query == null || primaryKey == null) {
+            throw new IllegalStateException("Keyset pagination is not applicable for " + context);
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        if (query.getSort() != null) {
+            for (Sort.Order order : query.getSort().getOrders()) {
+                if (order.getProperty().equals(primaryKey.getName())) {
+                    return query.getSort();
+                }
+                orders.add(order);
+            }
+        }
+        orders.add(Sort.Order.asc(primaryKey.getName()));
+        return Sort.by(orders);
+    }
+
+    /**
+     * Creates a condition selecting entities which follow the given entity in the sort order.
+     *
+     * @param sort   sort returned by {@link #getKeysetSort(LoadContext)}
+     * @param entity last entity of the previous page
+     * @return the condition or null if some sort values of the entity are null or not loaded
+     */
+    @Nullable
+    public Condition createCondition(Sort sort, Object entity) {
+        List<Sort.Order> orders = sort.getOrders();
+        List<Object> values = new ArrayList<>(orders.size());
+        for (Sort.Order order : orders) {
+            Object value = getValue(entity, order.getProperty());
+            if (value == null) {
+                // nulls are ordered differently in different databases
+                return null;
+            }
+            values.add(value);
+        }
+
+        LogicalCondition result = LogicalCondition.or();
+        for (int i = 0; i < orders.size(); i++) {
+            LogicalCondition branch = LogicalCondition.and();
+            for (int j = 0; j < i; j++) {
+                branch.add(createPropertyCondition(orders.get(j).getProperty(), PropertyCondition.Operation.EQUAL,
+                        j, values.get(j)));
+            }
+            Sort.Order order = orders.get(i);
+            String operation = order.getDirection() == Sort.Direction.DESC
+                    ? PropertyCondition.Operation.LESS
+                    : PropertyCondition.Operation.GREATER;
+            branch.add(createPropertyCondition(order.getProperty(), operation, i, values.get(i)));
+            result.add(branch);
+        }
+        return result;
+    }
+
+    /**
+     * Combines the query condition with the keyset condition.
+     */
+    public Condition combine(@Nullable Condition queryCondition, Condition keysetCondition) {
+        if (queryCondition == null) {
+            return keysetCondition;
+        }
+        return LogicalCondition.and(queryCondition.copy(), keysetCondition);
+    }
+
+    protected PropertyCondition createPropertyCondition(String property, String operation, int index, Object value) {
+        PropertyCondition condition = PropertyCondition.createWithParameterName(property, operation,
+                PARAMETER_PREFIX + index);
+        condition.setParameterValue(value);
+        return condition;
+    }
+
+    protected boolean isSortPropertySupported(MetaClass metaClass, String property) {
+        if (property.contains("+")) {
+            return false;
+        }
+        MetaPropertyPath propertyPath = metaClass.getPropertyPath(property);
+        if (propertyPath == null) {
+            return false;
+        }
+        MetaProperty[] metaProperties = propertyPath.getMetaProperties();
+        for (int i = 0; i < metaProperties.length; i++) {
+            MetaProperty metaProperty = metaProperties[i];
+            if (!metadataTools.isJpa(metaProperty)) {
+                return false;
+            }
+            if (i < metaProperties.length - 1) {
+                if (!metaProperty.getRange().isClass() || metaProperty.getRange().getCardinality().isMany()) {
+                    return false;
+                }
+            } else if (!metaProperty.getRange().isDatatype() || metadataTools.isLob(metaProperty)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean isSortPathMandatory(MetaClass metaClass, String property) {
+        MetaPropertyPath propertyPath = metaClass.getPropertyPath(property);
+        if (propertyPath == null) {
+            return false;
+        }
+        for (MetaProperty metaProperty : propertyPath.getMetaProperties()) {
+            if (!metaProperty.isMandatory()
+                    && !metaProperty.equals(metadataTools.getPrimaryKeyProperty(metaProperty.getDomain()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    protected Object getValue(Object entity, String propertyPath) {
+        Object current = entity;
+        for (String property : propertyPath.split("\\.")) {
+            if (current == null || !entityStates.isLoaded(current, property)) {
+                return null;
+            }
+            current = EntityValues.getValue(current, property);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.event;
+
+import io.jmix.core.Messages;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * A Spring application event which is sent when the cache of {@link Messages} is cleared and messages are
+ * reloaded. Listeners can use it to discard data calculated from messages.
+ */
+public class MessagesChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 4810352277916740458L;
+
+    public MessagesChangedEvent(Messages source) {
+        super(source);
+    }
+
+    @Override
+    public Messages getSource() {
+        return (Messages) super.getSource();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl;
+
+import org.slf4j.MDC;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * INTERNAL.
+ * Runs a task submitted to an executor with the security context, locale context and logging MDC of the submitting
+ * thread, and restores the previous state of the executing thread afterwards. Transactions and other thread-bound
+ * resources are not propagated.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        return () -> {
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+
+            SecurityContextHolder.setContext(securityContext);
+            LocaleContextHolder.setLocaleContext(localeContext);
+            setMdc(mdc);
+            try {
+                runnable.run();
+            } finally {
+                SecurityContextHolder.setContext(previousSecurityContext);
+                LocaleContextHolder.setLocaleContext(previousLocaleContext);
+                setMdc(previousMdc);
+            }
+        };
+    }
+
+    protected void setMdc(@Nullable Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+}
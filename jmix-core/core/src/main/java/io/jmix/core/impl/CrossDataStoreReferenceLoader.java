@@ -16,6 +16,7 @@
 
 package io.jmix.core.impl;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
@@ -24,16 +25,26 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
  * INTERNAL.
  * Populates references to entities from different data stores.
+ * <p>
+ * Ids referenced by all entities of the loaded graph are collected per target meta-class and fetch plan, and loaded
+ * by batches of {@link CoreProperties#getCrossDataStoreReferenceLoadingBatchSize()}. Different data stores can be
+ * loaded concurrently, see {@link CoreProperties#getCrossDataStoreReferenceLoadingConcurrency()}.
  */
 @Component("core_CrossDataStoreReferenceLoader")
 @Scope("prototype")
@@ -53,6 +64,10 @@ public class CrossDataStoreReferenceLoader {
     @Autowired
     private CoreProperties properties;
 
+    @Autowired
+    @Qualifier("core_CrossDataStoreReferenceLoadingExecutor")
+    private ObjectProvider<AsyncTaskExecutor> executorProvider;
+
     private MetaClass metaClass;
 
     private FetchPlan fetchPlan;
@@ -122,18 +137,64 @@ public class CrossDataStoreReferenceLoader {
         }
         if (entityCrossDataStorePropertyList.size() == 1) {
             loadOne(entityCrossDataStorePropertyList.get(0));
+            return;
+        }
+
+        // references to the same entities are loaded once for all properties and entities
+        Map<ReferenceGroupKey, List<EntityCrossDataStoreProperty>> groups = entityCrossDataStorePropertyList.stream()
+                .collect(Collectors.groupingBy(eap -> new ReferenceGroupKey(eap.crossProp),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        Map<String, List<Runnable>> tasksByStore = new LinkedHashMap<>();
+        groups.forEach((key, eapList) -> tasksByStore
+                .computeIfAbsent(key.metaClass.getStore().getName(), k -> new ArrayList<>())
+                .add(() -> loadGroup(key, eapList)));
+
+        if (tasksByStore.size() > 1 && !joinTransaction && properties.getCrossDataStoreReferenceLoadingConcurrency() > 1) {
+            loadConcurrently(tasksByStore.values());
         } else {
-            entityCrossDataStorePropertyList.stream()
-                    .collect(Collectors.groupingBy(EntityCrossDataStoreProperty::getCrossProp))
-                    .forEach((ap, eapList) ->
-                            loadMany(ap, eapList.stream().map(eap -> eap.entity).collect(Collectors.toList()))
-                    );
+            tasksByStore.values().forEach(tasks -> tasks.forEach(Runnable::run));
+        }
+    }
+
+    /**
+     * Loads references of different data stores in parallel. The first store is loaded by the calling thread,
+     * other stores are loaded by the executor or by the calling thread if all executor threads are busy.
+     * Executor threads get the security context, locale and logging MDC of the calling thread, but not its
+     * transaction, so concurrent loading is not used when joining the current transaction.
+     */
+    private void loadConcurrently(Collection<List<Runnable>> tasksByStore) {
+        AsyncTaskExecutor executor = executorProvider.getObject();
+        List<Future<?>> futures = new ArrayList<>();
+
+        Iterator<List<Runnable>> iterator = tasksByStore.iterator();
+        List<Runnable> callerTasks = iterator.next();
+        while (iterator.hasNext()) {
+            List<Runnable> tasks = iterator.next();
+            futures.add(executor.submit(() -> tasks.forEach(Runnable::run)));
+        }
+
+        callerTasks.forEach(Runnable::run);
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while loading cross-datastore references", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new RuntimeException("Error loading cross-datastore references", cause);
+            }
         }
     }
 
     private Set<Object> getAffectedEntities(Collection entities,
                                             Map<Class<?>, List<CrossDataStoreProperty>> crossPropertiesMap) {
-        Set<Object> resultSet = new HashSet<>();
+        Set<Object> resultSet = new LinkedHashSet<>();
         for (Object entity : entities) {
             metadataTools.traverseAttributesByFetchPlan(fetchPlan, entity, new EntityAttributeVisitor() {
                 @Override
@@ -173,22 +234,13 @@ public class CrossDataStoreReferenceLoader {
         EntityValues.setValue(entity, aProp.property.getName(), relatedEntity);
     }
 
-    private void loadMany(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        int offset = 0, limit = properties.getCrossDataStoreReferenceLoadingBatchSize();
-        while (true) {
-            int end = offset + limit;
-            List<Object> batch = entities.subList(offset, Math.min(end, entities.size()));
-            loadBatch(crossDataStoreProperty, batch);
-            if (end >= entities.size())
-                break;
-            else
-                offset += limit;
-        }
-    }
-
-    private void loadBatch(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        List<Object> idList = entities.stream()
-                .map(e -> EntityValues.getValue(e, crossDataStoreProperty.relatedPropertyName))
+    /**
+     * Loads distinct ids referenced by all entities of the group by batches and sets loaded entities
+     * to the referencing properties.
+     */
+    private void loadGroup(ReferenceGroupKey key, List<EntityCrossDataStoreProperty> eapList) {
+        List<Object> idList = eapList.stream()
+                .map(eap -> EntityValues.getValue(eap.entity, eap.crossProp.relatedPropertyName))
                 .filter(Objects::nonNull)
                 .distinct()
                 .collect(Collectors.toList());
@@ -196,16 +248,36 @@ public class CrossDataStoreReferenceLoader {
         if (idList.isEmpty())
             return;
 
-        MetaClass cdsrMetaClass = crossDataStoreProperty.property.getRange().asClass();
+        Map<Object, Object> loadedEntities = new HashMap<>();
+        int batchSize = Math.max(properties.getCrossDataStoreReferenceLoadingBatchSize(), 1);
+        for (List<Object> batch : Lists.partition(idList, batchSize)) {
+            for (Object loadedEntity : loadBatch(key, batch)) {
+                Object id = EntityValues.getId(loadedEntity);
+                assert id != null;
+                loadedEntities.put(id, loadedEntity);
+            }
+        }
+
+        for (EntityCrossDataStoreProperty eap : eapList) {
+            Object relatedPropertyValue = EntityValues.getValue(eap.entity, eap.crossProp.relatedPropertyName);
+            Object loadedEntity = relatedPropertyValue == null ? null : loadedEntities.get(relatedPropertyValue);
+            if (loadedEntity != null) {
+                EntityValues.setValue(eap.entity, eap.crossProp.property.getName(), loadedEntity);
+            }
+        }
+    }
+
+    private List<?> loadBatch(ReferenceGroupKey key, List<Object> idList) {
+        MetaClass cdsrMetaClass = key.metaClass;
         LoadContext<?> loadContext = new LoadContext<>(cdsrMetaClass);
 
-        if (metadataTools.isJpa(crossDataStoreProperty.property)) {
+        if (key.jpa) {
             // Don't use standard loading by ids for JPA entities because AbstractDataStore throws exception
             // if not all requested entities are loaded, see checkAndReorderLoadedEntities()
             MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(cdsrMetaClass);
             if (primaryKeyProperty == null || !primaryKeyProperty.getRange().isClass()) {
                 String queryString = String.format(
-                        "select e from %s e where e.%s in :idList", cdsrMetaClass, crossDataStoreProperty.primaryKeyName);
+                        "select e from %s e where e.%s in :idList", cdsrMetaClass, key.primaryKeyName);
                 loadContext.setQuery(new LoadContext.Query(queryString).setParameter("idList", idList));
             } else {
                 // composite key entity
@@ -215,7 +287,7 @@ public class CrossDataStoreReferenceLoader {
                 MetaClass idMetaClass = primaryKeyProperty.getRange().asClass();
                 for (Iterator<MetaProperty> it = idMetaClass.getProperties().iterator(); it.hasNext(); ) {
                     MetaProperty property = it.next();
-                    sb.append("e.").append(crossDataStoreProperty.primaryKeyName).append(".").append(property.getName());
+                    sb.append("e.").append(key.primaryKeyName).append(".").append(property.getName());
                     sb.append(" in :list_").append(property.getName());
                     if (it.hasNext())
                         sb.append(" and ");
@@ -234,22 +306,44 @@ public class CrossDataStoreReferenceLoader {
             loadContext.setIds(idList);
         }
 
-        loadContext.setFetchPlan(crossDataStoreProperty.fetchPlanProperty.getFetchPlan());
+        loadContext.setFetchPlan(key.fetchPlan);
         loadContext.setJoinTransaction(joinTransaction);
 
-        List<?> loadedEntities = dataManager.loadList(loadContext);
+        return dataManager.loadList(loadContext);
+    }
 
-        for (Object entity : entities) {
-            Object relatedPropertyValue = EntityValues.getValue(entity, crossDataStoreProperty.relatedPropertyName);
-            loadedEntities.stream()
-                    .filter(e -> {
-                        Object id = EntityValues.getId(e);
-                        assert id != null;
-                        return id.equals(relatedPropertyValue);
-                    })
-                    .findAny()
-                    .ifPresent(e -> EntityValues.setValue(entity, crossDataStoreProperty.property.getName(), e)
-                    );
+    /**
+     * Properties referencing the same meta-class with the same fetch plan, so their references are loaded together.
+     */
+    private class ReferenceGroupKey {
+
+        private final MetaClass metaClass;
+        @Nullable
+        private final FetchPlan fetchPlan;
+        private final boolean jpa;
+        private final String primaryKeyName;
+
+        private ReferenceGroupKey(CrossDataStoreProperty crossDataStoreProperty) {
+            this.metaClass = crossDataStoreProperty.property.getRange().asClass();
+            this.fetchPlan = crossDataStoreProperty.fetchPlanProperty.getFetchPlan();
+            this.jpa = metadataTools.isJpa(crossDataStoreProperty.property);
+            this.primaryKeyName = crossDataStoreProperty.primaryKeyName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReferenceGroupKey that = (ReferenceGroupKey) o;
+            return jpa == that.jpa
+                    && metaClass.equals(that.metaClass)
+                    && Objects.equals(fetchPlan, that.fetchPlan)
+                    && primaryKeyName.equals(that.primaryKeyName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan, jpa, primaryKeyName);
         }
     }
 
@@ -17,6 +17,7 @@ package io.jmix.core.impl;
 
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.event.FetchPlanRepositoryChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import org.apache.commons.io.IOUtils;
@@ -29,6 +30,7 @@ import org.dom4j.io.SAXReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
@@ -80,6 +82,8 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
     protected FetchPlans fetchPlans;
     @Autowired
     protected FetchPlanLoader fetchPlanLoader;
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
 
     protected volatile boolean initialized;
 
@@ -160,6 +164,7 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
     @Order(JmixOrder.HIGHEST_PRECEDENCE + 40)
     public void reset() {
         initialized = false;
+        eventPublisher.publishEvent(new FetchPlanRepositoryChangedEvent(this));
     }
 
     /**
@@ -373,6 +378,7 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
         } finally {
             lock.writeLock().unlock();
         }
+        eventPublisher.publishEvent(new FetchPlanRepositoryChangedEvent(this));
     }
 
     public void deployFetchPlans(InputStream xml) {
@@ -422,12 +428,15 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
     }
 
     public FetchPlan deployFetchPlan(Element rootElem, Element fetchPlanElem) {
+        FetchPlan fetchPlan;
         lock.writeLock().lock();
         try {
-            return deployFetchPlan(rootElem, fetchPlanElem, new HashSet<>());
+            fetchPlan = deployFetchPlan(rootElem, fetchPlanElem, new HashSet<>());
         } finally {
             lock.writeLock().unlock();
         }
+        eventPublisher.publishEvent(new FetchPlanRepositoryChangedEvent(this));
+        return fetchPlan;
     }
 
     protected FetchPlan deployFetchPlan(Element rootElem, Element fetchPlanElem, Set<FetchPlanLoader.FetchPlanInfo> visited) {
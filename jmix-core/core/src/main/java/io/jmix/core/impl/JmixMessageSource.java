@@ -21,17 +21,33 @@ import io.jmix.core.JmixModules;
 import io.jmix.core.LocaleResolver;
 import io.jmix.core.Resources;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.core.io.ResourceLoader;
 
-import java.util.List;
-import java.util.ListIterator;
-import java.util.Locale;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Message source which loads {@code messages.properties} of all Jmix modules.
+ * <p>
+ * If background reload is enabled, {@link #clearCache()} loads merged properties of the locales used before
+ * in background, so subsequent lookups do not read the files of all modules.
+ */
 public class JmixMessageSource extends ReloadableResourceBundleMessageSource {
 
+    private static final Logger log = LoggerFactory.getLogger(JmixMessageSource.class);
+
     private Resources resources;
 
+    protected final Set<Locale> usedLocales = ConcurrentHashMap.newKeySet();
+
+    protected boolean backgroundReloadEnabled;
+
+    protected volatile CompletableFuture<Void> reloadFuture = CompletableFuture.completedFuture(null);
+
     public JmixMessageSource(JmixModules modules, Resources resources) {
         this.resources = resources;
         setDefaultEncoding("UTF-8");
@@ -45,6 +61,13 @@ public class JmixMessageSource extends ReloadableResourceBundleMessageSource {
         }
     }
 
+    /**
+     * Sets whether merged properties of the used locales are loaded in background by {@link #clearCache()}.
+     */
+    public void setBackgroundReloadEnabled(boolean backgroundReloadEnabled) {
+        this.backgroundReloadEnabled = backgroundReloadEnabled;
+    }
+
     protected String addModuleBasename(String moduleBasePackage) {
         return moduleBasePackage.replace('.', '/') + "/messages";
     }
@@ -63,4 +86,33 @@ public class JmixMessageSource extends ReloadableResourceBundleMessageSource {
         }
         return result;
     }
+
+    @Override
+    protected PropertiesHolder getMergedProperties(Locale locale) {
+        usedLocales.add(locale);
+        return super.getMergedProperties(locale);
+    }
+
+    @Override
+    public void clearCache() {
+        super.clearCache();
+        if (backgroundReloadEnabled && !usedLocales.isEmpty()) {
+            Set<Locale> locales = new HashSet<>(usedLocales);
+            reloadFuture = CompletableFuture.runAsync(() -> reloadMergedProperties(locales))
+                    .exceptionally(e -> {
+                        log.error("Unable to reload messages", e);
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Loads merged properties of the given locales into the cache.
+     */
+    protected void reloadMergedProperties(Collection<Locale> locales) {
+        for (Locale locale : locales) {
+            getMergedProperties(locale);
+        }
+        log.debug("Reloaded messages for locales {}", locales);
+    }
 }
@@ -18,8 +18,10 @@ package io.jmix.core.impl;
 
 import com.google.common.base.Strings;
 import io.jmix.core.Messages;
+import io.jmix.core.event.MessagesChangedEvent;
 import io.jmix.core.security.CurrentAuthentication;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
@@ -40,6 +42,9 @@ public class MessagesImpl implements Messages {
     @Autowired
     protected CurrentAuthentication currentAuthentication;
 
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+
     @Override
     public String getMessage(String key) {
         return getMessage(key, currentAuthentication.getLocale());
@@ -49,11 +54,8 @@ public class MessagesImpl implements Messages {
     public String getMessage(String key, Locale locale) {
         checkNotNullArgument(key, "key is null");
         checkNotNullArgument(locale, "locale is null");
-        try {
-            return messageSource.getMessage(key, null, locale);
-        } catch (NoSuchMessageException e) {
-            return fallbackMessageOrKey(null, key, locale);
-        }
+        String message = resolveMessage(key, locale);
+        return message != null ? message : fallbackMessageOrKey(null, key, locale);
     }
 
     @Override
@@ -66,11 +68,8 @@ public class MessagesImpl implements Messages {
         checkNotNullArgument(caller, "caller is null");
         checkNotNullArgument(key, "key is null");
         checkNotNullArgument(locale, "locale is null");
-        try {
-            return messageSource.getMessage(getCode(getGroup(caller), key), null, locale);
-        } catch (NoSuchMessageException e) {
-            return fallbackMessageOrKey(getGroup(caller), key, locale);
-        }
+        String message = resolveMessage(getCode(getGroup(caller), key), locale);
+        return message != null ? message : fallbackMessageOrKey(getGroup(caller), key, locale);
     }
 
     @Override
@@ -105,11 +104,8 @@ public class MessagesImpl implements Messages {
         checkNotNullArgument(group, "group is null");
         checkNotNullArgument(key, "key is null");
         checkNotNullArgument(locale, "locale is null");
-        try {
-            return messageSource.getMessage(getCode(group, key), null, locale);
-        } catch (NoSuchMessageException e) {
-            return fallbackMessageOrKey(group, key, locale);
-        }
+        String message = resolveMessage(getCode(group, key), locale);
+        return message != null ? message : fallbackMessageOrKey(group, key, locale);
     }
 
     @Override
@@ -156,11 +152,8 @@ public class MessagesImpl implements Messages {
         if (locale == null)
             locale = getUserLocale();
 
-        try {
-            return messageSource.getMessage(key, null, locale);
-        } catch (NoSuchMessageException e) {
-            return fallbackMessageOrNull(null, key, locale);
-        }
+        String message = resolveMessage(key, locale);
+        return message != null ? message : fallbackMessageOrNull(null, key, locale);
     }
 
     @Nullable
@@ -172,11 +165,8 @@ public class MessagesImpl implements Messages {
         if (locale == null)
             locale = getUserLocale();
 
-        try {
-            return messageSource.getMessage(getCode(group, key), null, locale);
-        } catch (NoSuchMessageException e) {
-            return fallbackMessageOrNull(group, key, locale);
-        }
+        String message = resolveMessage(getCode(group, key), locale);
+        return message != null ? message : fallbackMessageOrNull(group, key, locale);
     }
 
     @Override
@@ -184,6 +174,16 @@ public class MessagesImpl implements Messages {
         if (messageSource instanceof ReloadableResourceBundleMessageSource) {
             ((ReloadableResourceBundleMessageSource) messageSource).clearCache();
         }
+        eventPublisher.publishEvent(new MessagesChangedEvent(this));
+    }
+
+    /**
+     * Returns the message or null if it is not found. Missing messages are frequent, so the method does not rely
+     * on {@link NoSuchMessageException}.
+     */
+    @Nullable
+    protected String resolveMessage(String code, Locale locale) {
+        return messageSource.getMessage(code, null, null, locale);
     }
 
     protected String getCode(String group, String key) {
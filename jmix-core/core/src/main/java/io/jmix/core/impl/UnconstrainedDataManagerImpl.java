@@ -16,6 +16,7 @@
 
 package io.jmix.core.impl;
 
+import com.google.common.collect.Iterators;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.constraint.AccessConstraint;
@@ -38,6 +39,9 @@ import org.springframework.transaction.support.DefaultTransactionDefinition;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Primary
 @Component("core_UnconstrainedDataManager")
@@ -115,6 +119,41 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return entities;
     }
 
+    @Override
+    public <E> Stream<E> streamList(LoadContext<E> context) {
+        MetaClass metaClass = getEffectiveMetaClassFromContext(context);
+        DataStore storage = dataStoreFactory.get(getStoreName(metaClass));
+
+        context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+
+        @SuppressWarnings("unchecked")
+        Stream<E> stream = (Stream<E>) storage.streamList(context);
+
+        if (stores.getAdditional().isEmpty() || context.getFetchPlan() == null) {
+            return stream;
+        }
+
+        // read references to other stores for a chunk of entities at once, the data store sets its fetch size
+        // to the query if it reads entities by chunks
+        int chunkSize = context.getQuery() != null ? context.getQuery().getFetchSize() : 0;
+        if (chunkSize <= 0) {
+            List<E> entities;
+            try (Stream<E> loadedStream = stream) {
+                entities = loadedStream.collect(Collectors.toList());
+            }
+            readCrossDataStoreReferences(entities, context.getFetchPlan(), metaClass, context.isJoinTransaction());
+            return entities.stream();
+        }
+        Iterator<List<E>> chunks = Iterators.partition(stream.iterator(), chunkSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+                .map(chunk -> {
+                    readCrossDataStoreReferences(chunk, context.getFetchPlan(), metaClass, context.isJoinTransaction());
+                    return chunk;
+                })
+                .flatMap(List::stream)
+                .onClose(stream::close);
+    }
+
     @Override
     public long getCount(LoadContext<?> context) {
         MetaClass metaClass = getEffectiveMetaClassFromContext(context);
@@ -16,6 +16,7 @@
 
 package io.jmix.core.impl.importexport;
 
+import com.google.common.collect.Lists;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.InMemoryCrudEntityContext;
 import io.jmix.core.common.datastruct.Pair;
@@ -43,9 +44,7 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
 import javax.validation.Validator;
 import javax.validation.groups.Default;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -141,6 +140,26 @@ public class EntityImportExportImpl implements EntityImportExport {
                 EntitySerializationOption.COMPACT_REPEATED_ENTITIES, EntitySerializationOption.PRETTY_PRINT);
     }
 
+    @Override
+    public void exportEntitiesToJSON(LoadContext<?> loadContext, OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<?> entities = dataManager.streamList(loadContext)) {
+            writer.write('[');
+            Iterator<?> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                entitySerialization.toJson(iterator.next(), null, writer,
+                        EntitySerializationOption.COMPACT_REPEATED_ENTITIES);
+                if (iterator.hasNext()) {
+                    writer.write(',');
+                }
+            }
+            writer.write(']');
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Error on writing JSON during entities export", e);
+        }
+    }
+
     protected Collection reloadEntities(Collection<Object> entities, FetchPlan fetchPlan) {
         List ids = new ArrayList(entities.size());
         for (Object entity : entities) {
@@ -177,6 +196,35 @@ public class EntityImportExportImpl implements EntityImportExport {
         return result;
     }
 
+    @Override
+    public int importEntitiesFromJson(InputStream inputStream, EntityImportPlan importPlan) {
+        return importEntitiesFromJson(inputStream, importPlan, coreProperties.getEntityImportBatchSize());
+    }
+
+    @Override
+    public int importEntitiesFromJson(InputStream inputStream, EntityImportPlan importPlan, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+
+        Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Iterator<Object> entities = entitySerialization.entitiesFromJson(reader, null,
+                EntitySerializationOption.COMPACT_REPEATED_ENTITIES);
+        ReferenceCache loadedEntities = new ReferenceCache(coreProperties.getEntityImportReferenceCacheSize());
+
+        int count = 0;
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (entities.hasNext()) {
+            batch.add(entities.next());
+            if (batch.size() == batchSize || !entities.hasNext()) {
+                importEntities(batch, importPlan, false, false, false, loadedEntities);
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        return count;
+    }
+
     @Override
     public Collection<Object> importEntitiesFromZIP(byte[] zipBytes, EntityImportPlan importPlan) {
         Collection<Object> result = new ArrayList<>();
@@ -221,39 +269,41 @@ public class EntityImportExportImpl implements EntityImportExport {
 
     @Override
     public Collection<Object> importEntities(Collection<Object> entities, EntityImportPlan importPlan, boolean validate, boolean optimisticLocking, boolean additionComposition) {
+        return importEntities(entities, importPlan, validate, optimisticLocking, additionComposition,
+                new ReferenceCache(coreProperties.getEntityImportReferenceCacheSize()));
+    }
+
+    /**
+     * Imports entities using the given cache of referenced entities, which can be shared by several invocations.
+     */
+    protected Collection<Object> importEntities(Collection<Object> entities,
+                                                EntityImportPlan importPlan,
+                                                boolean validate,
+                                                boolean optimisticLocking,
+                                                boolean additionComposition,
+                                                ReferenceCache loadedEntities) {
         List<ReferenceInfo> referenceInfoList = new ArrayList<>();
         SaveContext saveContext = new SaveContext();
         saveContext.setHint("jmix.softDeletion", false);
 
+        FetchPlan fetchPlan = constructFetchPlanFromImportPlan(importPlan).build();
+        Map<Pair<MetaClass, Object>, Object> dstEntities = loadDstEntities(entities, fetchPlan);
+
         //import is performed in two steps. We have to do so, because imported entity may have a reference to
         //the reference that is imported in the same batch.
         //
         //1. entities that should be persisted are processed first, fields that should be references to existing entities
         //are stored in the referenceInfoList variable
         for (Object srcEntity : entities) {
-            EntityPreconditions.checkEntityType(srcEntity);
-            FetchPlan fetchPlan = constructFetchPlanFromImportPlan(importPlan).build();
-            //set softDeletion to false because we can import deleted entity, so we'll restore it and update
-
             Object dstEntity = null;
             Object entityId = EntityValues.getId(srcEntity);
             if (entityId != null) {
-                LoadContext<?> ctx = new LoadContext<>(metadata.getClass(srcEntity))
-                        .setFetchPlan(fetchPlan)
-                        .setHint("jmix.dynattr", true)
-                        .setHint("jmix.softDeletion", false)
-                        .setId(entityId)
-                        .setAccessConstraints(accessConstraintsRegistry.getConstraints());
-                dstEntity = dataManager.load(ctx);
+                dstEntity = dstEntities.get(new Pair<>(metadata.getClass(srcEntity), entityId));
             }
             importEntity(srcEntity, dstEntity, importPlan, fetchPlan, saveContext, referenceInfoList, optimisticLocking, additionComposition);
         }
 
         //2. references to existing entities are processed
-
-        //store a list of loaded entities in the collection to prevent unnecessary database requests for searching the
-        //same instance
-        Set<Object> loadedEntities = new HashSet<>();
         for (ReferenceInfo referenceInfo : referenceInfoList) {
             processReferenceInfo(referenceInfo, saveContext, loadedEntities);
         }
@@ -311,7 +361,50 @@ public class EntityImportExportImpl implements EntityImportExport {
 
         importEntity(srcEntity, dstEntity, importPlan, fetchPlan, saveContext, referenceInfoList, optimisticLocking, additionComposition);
 
-        Set<Object> loadedEntities = new HashSet<>();
+        completeSaveContext(saveContext, referenceInfoList, validate);
+    }
+
+    @Override
+    public void importEntitiesIntoSaveContext(SaveContext saveContext, Map<Object, EntityImportPlan> entities, boolean validate, boolean optimisticLocking) {
+        saveContext.setHint("jmix.softDeletion", false);
+
+        // existing entities of a type are loaded by the union of fetch plans of their import plans
+        Map<MetaClass, FetchPlanBuilder> fetchPlanBuilders = new LinkedHashMap<>();
+        Map<MetaClass, List<Object>> entitiesByMetaClass = new LinkedHashMap<>();
+        for (Map.Entry<Object, EntityImportPlan> entry : entities.entrySet()) {
+            EntityPreconditions.checkEntityType(entry.getKey());
+            MetaClass metaClass = metadata.getClass(entry.getKey());
+            fetchPlanBuilders.computeIfAbsent(metaClass, k -> fetchPlans.builder(k.getJavaClass()))
+                    .merge(constructFetchPlanFromImportPlan(entry.getValue()).build());
+            entitiesByMetaClass.computeIfAbsent(metaClass, k -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        Map<MetaClass, FetchPlan> fetchPlansByMetaClass = new HashMap<>();
+        Map<Pair<MetaClass, Object>, Object> dstEntities = new HashMap<>();
+        for (Map.Entry<MetaClass, List<Object>> entry : entitiesByMetaClass.entrySet()) {
+            FetchPlan fetchPlan = fetchPlanBuilders.get(entry.getKey()).build();
+            fetchPlansByMetaClass.put(entry.getKey(), fetchPlan);
+            dstEntities.putAll(loadDstEntities(entry.getValue(), fetchPlan));
+        }
+
+        List<ReferenceInfo> referenceInfoList = new ArrayList<>();
+        for (Map.Entry<Object, EntityImportPlan> entry : entities.entrySet()) {
+            Object srcEntity = entry.getKey();
+            MetaClass metaClass = metadata.getClass(srcEntity);
+            Object entityId = EntityValues.getId(srcEntity);
+            Object dstEntity = entityId == null ? null : dstEntities.get(new Pair<>(metaClass, entityId));
+            importEntity(srcEntity, dstEntity, entry.getValue(), fetchPlansByMetaClass.get(metaClass), saveContext,
+                    referenceInfoList, optimisticLocking, false);
+        }
+
+        completeSaveContext(saveContext, referenceInfoList, validate);
+    }
+
+    /**
+     * Sets references of the imported entities, restores soft deleted entities and validates them if required.
+     */
+    protected void completeSaveContext(SaveContext saveContext, List<ReferenceInfo> referenceInfoList, boolean validate) {
+        ReferenceCache loadedEntities = new ReferenceCache(coreProperties.getEntityImportReferenceCacheSize());
         for (ReferenceInfo referenceInfo : referenceInfoList) {
             processReferenceInfo(referenceInfo, saveContext, loadedEntities);
         }
@@ -335,6 +428,58 @@ public class EntityImportExportImpl implements EntityImportExport {
         saveContext.setAccessConstraints(accessConstraintsRegistry.getConstraints());
     }
 
+    /**
+     * Loads existing entities for the imported ones by {@code in} queries for each entity type. Imported entities
+     * which are not stored yet are absent in the result. Entities with composite keys are loaded one by one.
+     *
+     * @return loaded entities by meta-classes and ids of the imported entities
+     */
+    protected Map<Pair<MetaClass, Object>, Object> loadDstEntities(Collection<Object> entities, FetchPlan fetchPlan) {
+        Map<MetaClass, Set<Object>> idsByMetaClass = new LinkedHashMap<>();
+        for (Object srcEntity : entities) {
+            EntityPreconditions.checkEntityType(srcEntity);
+            Object entityId = EntityValues.getId(srcEntity);
+            if (entityId != null) {
+                idsByMetaClass.computeIfAbsent(metadata.getClass(srcEntity), k -> new LinkedHashSet<>()).add(entityId);
+            }
+        }
+
+        Map<Pair<MetaClass, Object>, Object> result = new HashMap<>();
+        for (Map.Entry<MetaClass, Set<Object>> entry : idsByMetaClass.entrySet()) {
+            MetaClass metaClass = entry.getKey();
+            if (metadataTools.hasCompositePrimaryKey(metaClass)) {
+                for (Object id : entry.getValue()) {
+                    Object dstEntity = dataManager.load(createDstLoadContext(metaClass, fetchPlan).setId(id));
+                    if (dstEntity != null) {
+                        result.put(new Pair<>(metaClass, id), dstEntity);
+                    }
+                }
+                continue;
+            }
+
+            String queryString = String.format("select e from %s e where e.%s in :ids",
+                    metaClass.getName(), metadataTools.getPrimaryKeyName(metaClass));
+            int batchSize = Math.max(coreProperties.getEntityImportBatchSize(), 1);
+            for (List<Object> ids : Lists.partition(new ArrayList<>(entry.getValue()), batchSize)) {
+                LoadContext<?> ctx = createDstLoadContext(metaClass, fetchPlan)
+                        .setQuery(new LoadContext.Query(queryString).setParameter("ids", new ArrayList<>(ids)));
+                for (Object dstEntity : dataManager.loadList(ctx)) {
+                    result.put(new Pair<>(metaClass, EntityValues.getId(dstEntity)), dstEntity);
+                }
+            }
+        }
+        return result;
+    }
+
+    protected LoadContext<?> createDstLoadContext(MetaClass metaClass, FetchPlan fetchPlan) {
+        //set softDeletion to false because we can import deleted entity, so we'll restore it and update
+        return new LoadContext<>(metaClass)
+                .setFetchPlan(fetchPlan)
+                .setHint("jmix.dynattr", true)
+                .setHint("jmix.softDeletion", false)
+                .setAccessConstraints(accessConstraintsRegistry.getConstraints());
+    }
+
     @SuppressWarnings("unchecked")
     protected void validateEntities(Collection<Object> entitiesToValidate) {
         Collection<Pair<Object, Object>> referencesToExclude = new ArrayList<>();
@@ -629,7 +774,7 @@ public class EntityImportExportImpl implements EntityImportExport {
      * Method finds and set a reference value to the entity or throws EntityImportException if ERROR_ON_MISSING policy
      * is violated
      */
-    protected void processReferenceInfo(ReferenceInfo referenceInfo, SaveContext saveContext, Set<Object> loadedEntities) {
+    protected void processReferenceInfo(ReferenceInfo referenceInfo, SaveContext saveContext, ReferenceCache loadedEntities) {
         Object entity = referenceInfo.getEntity();
         EntityImportPlanProperty importPlanProperty = referenceInfo.getPlanProperty();
         MetaProperty metaProperty = metadata.getClass(entity).getProperty(importPlanProperty.getName());
@@ -746,10 +891,13 @@ public class EntityImportExportImpl implements EntityImportExport {
 
     @Nullable
     protected Object findReferenceEntity(Object entity, EntityImportPlanProperty importPlanProperty, SaveContext saveContext,
-                                         Set<Object> loadedEntities) {
-        Object result = Stream.concat(loadedEntities.stream(), saveContext.getEntitiesToSave().stream())
-                .filter(item -> item.equals(entity))
-                .findFirst().orElse(null);
+                                         ReferenceCache loadedEntities) {
+        Object result = loadedEntities.get(entity);
+        if (result == null) {
+            result = saveContext.getEntitiesToSave().stream()
+                    .filter(item -> item.equals(entity))
+                    .findFirst().orElse(null);
+        }
         if (result == null) {
             LoadContext<?> ctx = new LoadContext<>(metadata.getClass(entity))
                     .setHint("jmix.softDeletion", false)
@@ -762,7 +910,7 @@ public class EntityImportExportImpl implements EntityImportExport {
                             importPlanProperty.getName()));
                 }
             } else {
-                loadedEntities.add(result);
+                loadedEntities.put(result);
             }
         }
         return result;
@@ -791,6 +939,34 @@ public class EntityImportExportImpl implements EntityImportExport {
         }
     }
 
+    /**
+     * Referenced entities loaded during import, by meta-classes and ids. The least recently used entity is evicted
+     * when the size limit is exceeded.
+     */
+    protected class ReferenceCache {
+        protected final Map<Pair<MetaClass, Object>, Object> entities;
+
+        public ReferenceCache(int maxSize) {
+            entities = new LinkedHashMap<Pair<MetaClass, Object>, Object>(16, 0.75f, true) {
+                private static final long serialVersionUID = -2722539470843513216L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Pair<MetaClass, Object>, Object> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        @Nullable
+        public Object get(Object entity) {
+            return entities.get(new Pair<>(metadata.getClass(entity), EntityValues.getId(entity)));
+        }
+
+        public void put(Object entity) {
+            entities.put(new Pair<>(metadata.getClass(entity), EntityValues.getId(entity)), entity);
+        }
+    }
+
     protected static class ReferenceInfo {
         protected Object entity;
         protected SecurityState prevSecurityState;
@@ -27,6 +27,7 @@ import org.springframework.util.ClassUtils;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 public abstract class AbstractClasspathScanner {
@@ -49,6 +50,52 @@ public abstract class AbstractClasspathScanner {
             throw new RuntimeException("Unable to scan package " + packageName, e);
         }
 
+        return readResources(resources);
+    }
+
+    /**
+     * Scans the package like {@link #scanPackage(String)}, but takes classes of the classpath roots containing
+     * {@link ClasspathScanIndex} from the index instead of reading their class files. Roots with an outdated index
+     * are scanned fully.
+     */
+    protected Stream<MetadataReader> scanPackageUsingIndex(String packageName) {
+        String basePackagePath = resolveBasePackage(packageName);
+        ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver(getResourceLoader());
+        Resource[] roots;
+        try {
+            roots = resourcePatternResolver.getResources(
+                    ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + basePackagePath + '/');
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to scan package " + packageName, e);
+        }
+
+        String basePackage = ClassUtils.convertResourcePathToClassName(basePackagePath);
+        return Arrays.stream(roots)
+                .flatMap(root -> scanRoot(resourcePatternResolver, root, basePackage));
+    }
+
+    protected Stream<MetadataReader> scanRoot(ResourcePatternResolver resourcePatternResolver, Resource root,
+                                              String basePackage) {
+        try {
+            if (root.createRelative(ClasspathScanIndex.INDEX_FILE_NAME).exists()) {
+                List<MetadataReader> indexedReaders = ClasspathScanIndex.read(root, basePackage,
+                        getMetadataReaderFactory());
+                if (indexedReaders != null && ClasspathScanIndex.isUpToDate(root, indexedReaders.size())) {
+                    return indexedReaders.stream();
+                }
+            }
+
+            String rootUrl = root.getURL().toString();
+            if (!rootUrl.endsWith("/")) {
+                rootUrl += '/';
+            }
+            return readResources(resourcePatternResolver.getResources(rootUrl + DEFAULT_CLASS_RESOURCE_PATTERN));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to scan " + root, e);
+        }
+    }
+
+    protected Stream<MetadataReader> readResources(Resource[] resources) {
         return Arrays.stream(resources)
                 .filter(Resource::isReadable)
                 .map(resource -> {
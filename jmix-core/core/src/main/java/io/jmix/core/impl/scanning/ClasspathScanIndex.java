@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl.scanning;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ResourceUtils;
+
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * INTERNAL.
+ * Reads the index of classes of a module built by the Jmix Gradle plugin after entities enhancing. The index file
+ * is located in the base package of the module and contains a line per class:
+ * <pre>
+ * className TAB superClassName TAB accessFlags TAB independent TAB interfaces TAB annotations
+ * </pre>
+ * where interfaces and runtime-visible class annotations are separated by commas.
+ * <p>
+ * An index in a directory can be outdated if classes are compiled without the Gradle plugin, for example by an IDE.
+ * Such index is not used, see {@link #isUpToDate(Resource, int)}.
+ */
+public final class ClasspathScanIndex {
+
+    public static final String INDEX_FILE_NAME = "jmix-scan-index.txt";
+
+    /**
+     * First line of the index defining its format. Must be equal to {@code EnhancingAction.SCAN_INDEX_HEADER}
+     * of the Jmix Gradle plugin which writes the index.
+     */
+    public static final String HEADER = "# jmix-scan-index 1";
+
+    private ClasspathScanIndex() {
+    }
+
+    /**
+     * Reads the index.
+     *
+     * @param root                  directory of the base package containing the index
+     * @param basePackage           base package of the module
+     * @param metadataReaderFactory factory used if the information not stored in the index is requested
+     * @return metadata readers of indexed classes or null if the index has an unsupported format
+     */
+    @Nullable
+    public static List<MetadataReader> read(Resource root, String basePackage,
+                                            MetadataReaderFactory metadataReaderFactory) throws IOException {
+        Resource index = root.createRelative(INDEX_FILE_NAME);
+        List<MetadataReader> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(index.getInputStream(), StandardCharsets.UTF_8))) {
+            if (!HEADER.equals(reader.readLine())) {
+                return null;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 6) {
+                    throw new IOException("Invalid line in " + index + ": " + line);
+                }
+                String className = fields[0];
+                String relativePath = className.substring(basePackage.length() + 1).replace('.', '/') + ".class";
+                result.add(new IndexedMetadataReader(
+                        className,
+                        fields[1].isEmpty() ? null : fields[1],
+                        Integer.parseInt(fields[2]),
+                        Boolean.parseBoolean(fields[3]),
+                        split(fields[4]),
+                        new HashSet<>(Arrays.asList(split(fields[5]))),
+                        root,
+                        relativePath,
+                        metadataReaderFactory));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks that the index of a directory lists all class files of the directory and no class file is modified
+     * after the index. Indexes in jar files are packaged together with the classes and are not checked.
+     *
+     * @param root              directory of the base package containing the index
+     * @param indexedClassCount number of classes in the index
+     */
+    public static boolean isUpToDate(Resource root, int indexedClassCount) throws IOException {
+        if (!ResourceUtils.isFileURL(root.getURL())) {
+            return true;
+        }
+        File dir = root.getFile();
+        long indexModified = new File(dir, INDEX_FILE_NAME).lastModified();
+        int classCount = 0;
+        try (Stream<Path> paths = Files.walk(dir.toPath())) {
+            Iterator<Path> iterator = paths.iterator();
+            while (iterator.hasNext()) {
+                Path path = iterator.next();
+                if (path.getFileName().toString().endsWith(".class")) {
+                    if (Files.getLastModifiedTime(path).toMillis() > indexModified) {
+                        return false;
+                    }
+                    classCount++;
+                }
+            }
+        }
+        return classCount == indexedClassCount;
+    }
+
+    private static String[] split(String value) {
+        return value.isEmpty() ? new String[0] : value.split(",");
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl.scanning;
+
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * INTERNAL.
+ * Metadata reader created from {@link ClasspathScanIndex}. Class names, access flags, interfaces and direct
+ * annotation types are taken from the index; the class file is read only if other information is requested.
+ */
+public class IndexedMetadataReader implements MetadataReader, AnnotationMetadata {
+
+    private static final int ACC_ANNOTATION = 0x2000;
+
+    protected final String className;
+    protected final String superClassName;
+    protected final int accessFlags;
+    protected final boolean independent;
+    protected final String[] interfaceNames;
+    protected final Set<String> annotationTypes;
+
+    protected final Resource root;
+    protected final String relativePath;
+    protected final MetadataReaderFactory metadataReaderFactory;
+
+    protected volatile MetadataReader delegate;
+
+    public IndexedMetadataReader(String className, @Nullable String superClassName, int accessFlags,
+                                 boolean independent, String[] interfaceNames, Set<String> annotationTypes,
+                                 Resource root, String relativePath, MetadataReaderFactory metadataReaderFactory) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.accessFlags = accessFlags;
+        this.independent = independent;
+        this.interfaceNames = interfaceNames;
+        this.annotationTypes = Collections.unmodifiableSet(annotationTypes);
+        this.root = root;
+        this.relativePath = relativePath;
+        this.metadataReaderFactory = metadataReaderFactory;
+    }
+
+    @Override
+    public Resource getResource() {
+        try {
+            return root.createRelative(relativePath);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to resolve resource of " + className, e);
+        }
+    }
+
+    @Override
+    public ClassMetadata getClassMetadata() {
+        return this;
+    }
+
+    @Override
+    public AnnotationMetadata getAnnotationMetadata() {
+        return this;
+    }
+
+    @Override
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public boolean isInterface() {
+        return Modifier.isInterface(accessFlags);
+    }
+
+    @Override
+    public boolean isAnnotation() {
+        return (accessFlags & ACC_ANNOTATION) != 0;
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return Modifier.isAbstract(accessFlags);
+    }
+
+    @Override
+    public boolean isFinal() {
+        return Modifier.isFinal(accessFlags);
+    }
+
+    @Override
+    public boolean isIndependent() {
+        return independent;
+    }
+
+    @Nullable
+    @Override
+    public String getSuperClassName() {
+        return isInterface() ? null : superClassName;
+    }
+
+    @Override
+    public String[] getInterfaceNames() {
+        return interfaceNames.clone();
+    }
+
+    @Override
+    public Set<String> getAnnotationTypes() {
+        return annotationTypes;
+    }
+
+    @Override
+    public boolean hasAnnotation(String annotationName) {
+        return annotationTypes.contains(annotationName);
+    }
+
+    @Nullable
+    @Override
+    public String getEnclosingClassName() {
+        return getDelegate().getClassMetadata().getEnclosingClassName();
+    }
+
+    @Override
+    public String[] getMemberClassNames() {
+        return getDelegate().getClassMetadata().getMemberClassNames();
+    }
+
+    @Override
+    public MergedAnnotations getAnnotations() {
+        return getDelegate().getAnnotationMetadata().getAnnotations();
+    }
+
+    @Override
+    public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
+        return getDelegate().getAnnotationMetadata().getAnnotatedMethods(annotationName);
+    }
+
+    protected MetadataReader getDelegate() {
+        MetadataReader result = delegate;
+        if (result == null) {
+            try {
+                result = metadataReaderFactory.getMetadataReader(getResource());
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read class " + className, e);
+            }
+            delegate = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return className;
+    }
+}
@@ -16,6 +16,7 @@
 
 package io.jmix.core.impl.scanning;
 
+import io.jmix.core.CoreProperties;
 import io.jmix.core.JmixModuleDescriptor;
 import io.jmix.core.JmixModules;
 import org.slf4j.Logger;
@@ -24,12 +25,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Scans classpath of all Jmix modules used in the application and detects classes according to
@@ -37,6 +42,10 @@ import java.util.stream.Collectors;
  * <p>
  * Detected class names are stored and available through the {@link #getClassNames(Class)} method. This method
  * accepts a {@code ClasspathScanCandidateDetector} type and returns names of classes selected by this detector.
+ * <p>
+ * Classes of modules built by the Jmix Gradle plugin are taken from {@link ClasspathScanIndex} if
+ * {@link CoreProperties#isClasspathScanIndexEnabled()} is true. Duration of the scan is reported in the
+ * {@code jmix.classpath-scan} {@link StartupStep}.
  */
 @Component("core_JmixModulesClasspathScanner")
 public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
@@ -55,6 +64,12 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
     @Autowired
     protected List<ClasspathScanCandidateDetector> candidateDetectors;
 
+    @Autowired
+    protected CoreProperties coreProperties;
+
+    @Autowired
+    protected ApplicationStartup applicationStartup;
+
     @Autowired
     public void setMetadataReaderFactory(AnnotationScanMetadataReaderFactory metadataReaderFactory) {
         this.metadataReaderFactory = metadataReaderFactory;
@@ -70,11 +85,14 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
     @PostConstruct
     protected void init() {
         log.trace("Scanning packages {} using detectors {}", basePackages, candidateDetectors);
+        StartupStep startupStep = applicationStartup.start("jmix.classpath-scan");
         long startTime = System.currentTimeMillis();
+        int[] counts = new int[2];
 
         basePackages.stream()
-                .flatMap(this::scanPackage)
+                .flatMap(this::scanModulePackage)
                 .forEach(metadataReader -> {
+                    counts[metadataReader instanceof IndexedMetadataReader ? 0 : 1]++;
                     for (ClasspathScanCandidateDetector detector : candidateDetectors) {
                         if (detector.isCandidate(metadataReader)) {
                             Set<String> classNames = detectedClasses.computeIfAbsent(
@@ -84,7 +102,11 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
                     }
                 });
 
-        log.info("Classpath scan completed in {} ms", System.currentTimeMillis() - startTime);
+        startupStep.tag("indexedClasses", String.valueOf(counts[0]))
+                .tag("scannedClasses", String.valueOf(counts[1]))
+                .end();
+        log.info("Classpath scan completed in {} ms ({} classes taken from index, {} class files read)",
+                System.currentTimeMillis() - startTime, counts[0], counts[1]);
     }
 
     /**
@@ -99,7 +121,7 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
      */
     public void refreshClassNames(ClasspathScanCandidateDetector detector) {
         basePackages.stream()
-                .flatMap(this::scanPackage)
+                .flatMap(this::scanModulePackage)
                 .forEach(metadataReader -> {
                     if (detector.isCandidate(metadataReader)) {
                         Set<String> classNames = detectedClasses.computeIfAbsent(
@@ -109,6 +131,12 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
                 });
     }
 
+    protected Stream<MetadataReader> scanModulePackage(String packageName) {
+        return coreProperties.isClasspathScanIndexEnabled()
+                ? scanPackageUsingIndex(packageName)
+                : scanPackage(packageName);
+    }
+
     @Override
     protected MetadataReaderFactory getMetadataReaderFactory() {
         return metadataReaderFactory;
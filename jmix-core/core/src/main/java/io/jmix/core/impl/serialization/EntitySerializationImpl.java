@@ -18,10 +18,14 @@
 package io.jmix.core.impl.serialization;
 
 import com.google.common.base.Strings;
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.gson.*;
+import com.google.gson.internal.bind.TypeAdapters;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.ExportImportEntityContext;
 import io.jmix.core.annotation.Secret;
@@ -32,26 +36,30 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.metamodel.model.Range;
-import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
-import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component("core_EntitySerialization")
 public class EntitySerializationImpl implements EntitySerialization {
 
     private static final Logger log = LoggerFactory.getLogger(EntitySerializationImpl.class);
 
+    protected static final Object NOT_WRITTEN = new Object();
+
     @Autowired
     protected MetadataTools metadataTools;
 
@@ -79,14 +87,119 @@ public class EntitySerializationImpl implements EntitySerialization {
     protected ThreadLocal<EntitySerializationContext> context =
             ThreadLocal.withInitial(EntitySerializationContext::new);
 
+    protected static final int SERIALIZATION_GSONS_CACHE_SIZE = 1000;
+
+    /**
+     * Serialization Gson instances by fetch plans and option sets. Gson is thread-safe, the state of a particular
+     * call is kept in {@link #context}.
+     */
+    protected final LoadingCache<SerializationGsonKey, Gson> serializationGsons = CacheBuilder.newBuilder()
+            .maximumSize(SERIALIZATION_GSONS_CACHE_SIZE)
+            .build(CacheLoader.from(key -> createGsonForSerialization(key.fetchPlan, key.options)));
+
+    protected volatile Gson deserializationGson;
+
+    protected final Map<MetaClass, MetaClassPlan> metaClassPlans = new ConcurrentHashMap<>();
+
+    protected final Map<Class<?>, List<Field>> clearedFields = new ConcurrentHashMap<>();
+
     /**
-     * Class is used for storing a collection of entities already processed during the serialization.
+     * Class is used for storing the state of a single serialization or deserialization call:
+     * a collection of entities already processed, the root meta-class and values which do not change
+     * during the call.
      */
     protected static class EntitySerializationContext {
-        protected Table<Object, MetaClass, Object> processedEntities = HashBasedTable.create();
+        protected MetaClass metaClass;
+        protected Map<MetaClass, Map<Object, Object>> processedEntities = new HashMap<>();
+        protected Set<Object> processedEntitiesWithoutId = Collections.newSetFromMap(new IdentityHashMap<>());
+        protected Map<MetaClass, ExportImportEntityContext> exportImportContexts = new HashMap<>();
+        protected Map<MetaClass, List<PropertyPlan>> additionalProperties = new HashMap<>();
+
+        @Nullable
+        protected MetaClass getMetaClass() {
+            return metaClass;
+        }
+
+        @Nullable
+        protected Object getProcessedEntity(@Nullable Object id, MetaClass metaClass) {
+            Map<Object, Object> entities = processedEntities.get(metaClass);
+            return entities == null ? null : entities.get(id);
+        }
+
+        protected void putProcessedEntity(@Nullable Object id, MetaClass metaClass, Object entity) {
+            processedEntities.computeIfAbsent(metaClass, k -> new HashMap<>()).put(id, entity);
+        }
+    }
+
+    protected static class SerializationGsonKey {
+        protected final FetchPlan fetchPlan;
+        protected final Set<EntitySerializationOption> options;
+
+        public SerializationGsonKey(@Nullable FetchPlan fetchPlan, Set<EntitySerializationOption> options) {
+            this.fetchPlan = fetchPlan;
+            this.options = options;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SerializationGsonKey that = (SerializationGsonKey) o;
+            return Objects.equals(fetchPlan, that.fetchPlan) && options.equals(that.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fetchPlan, options);
+        }
+    }
+
+    /**
+     * Serialization-related properties of a meta-class resolved once and reused by all calls.
+     */
+    protected static class MetaClassPlan {
+        protected final MetaClass metaClass;
+        protected final boolean embeddable;
+        protected final MetaProperty primaryKeyProperty;
+        protected final boolean compositePrimaryKey;
+        protected final Datatype idDatatype;
+        protected final List<PropertyPlan> properties;
+        protected final PropertyPlan idProperty;
+
+        protected MetaClassPlan(MetaClass metaClass, boolean embeddable, @Nullable MetaProperty primaryKeyProperty,
+                                boolean compositePrimaryKey, @Nullable Datatype idDatatype,
+                                List<PropertyPlan> properties) {
+            this.metaClass = metaClass;
+            this.embeddable = embeddable;
+            this.primaryKeyProperty = primaryKeyProperty;
+            this.compositePrimaryKey = compositePrimaryKey;
+            this.idDatatype = idDatatype;
+            this.properties = properties;
+            this.idProperty = properties.stream()
+                    .filter(property -> "id".equals(property.name))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
 
-        protected Table<Object, MetaClass, Object> getProcessedEntities() {
-            return processedEntities;
+    protected static class PropertyPlan {
+        protected final MetaProperty metaProperty;
+        protected final String name;
+        protected final boolean additional;
+        protected final boolean primaryKey;
+        protected final boolean jpa;
+        protected final boolean secret;
+        protected final EntityAttributeSerializationExtension extension;
+
+        protected PropertyPlan(MetaProperty metaProperty, boolean additional, boolean primaryKey, boolean jpa,
+                               boolean secret, @Nullable EntityAttributeSerializationExtension extension) {
+            this.metaProperty = metaProperty;
+            this.name = metaProperty.getName();
+            this.additional = additional;
+            this.primaryKey = primaryKey;
+            this.jpa = jpa;
+            this.secret = secret;
+            this.extension = extension;
         }
     }
 
@@ -99,8 +212,25 @@ public class EntitySerializationImpl implements EntitySerialization {
     public String toJson(Object entity,
                          @Nullable FetchPlan fetchPlan,
                          EntitySerializationOption... options) {
-        context.remove();
-        return createGsonForSerialization(fetchPlan, options).toJson(entity);
+        initSerializationContext();
+        try {
+            return getGsonForSerialization(fetchPlan, options).toJson(entity);
+        } finally {
+            context.remove();
+        }
+    }
+
+    @Override
+    public void toJson(Object entity,
+                       @Nullable FetchPlan fetchPlan,
+                       Writer writer,
+                       EntitySerializationOption... options) {
+        initSerializationContext();
+        try {
+            getGsonForSerialization(fetchPlan, options).toJson(entity, writer);
+        } finally {
+            context.remove();
+        }
     }
 
     @Override
@@ -112,14 +242,35 @@ public class EntitySerializationImpl implements EntitySerialization {
     public String toJson(Collection<?> entities,
                          @Nullable FetchPlan fetchPlan,
                          EntitySerializationOption... options) {
-        context.remove();
-        return createGsonForSerialization(fetchPlan, options).toJson(entities);
+        initSerializationContext();
+        try {
+            return getGsonForSerialization(fetchPlan, options).toJson(entities);
+        } finally {
+            context.remove();
+        }
+    }
+
+    @Override
+    public void toJson(Collection<?> entities,
+                       @Nullable FetchPlan fetchPlan,
+                       Writer writer,
+                       EntitySerializationOption... options) {
+        initSerializationContext();
+        try {
+            getGsonForSerialization(fetchPlan, options).toJson(entities, writer);
+        } finally {
+            context.remove();
+        }
     }
 
     @Override
     public String objectToJson(Object object, EntitySerializationOption... options) {
-        context.remove();
-        return createGsonForSerialization(null, options).toJson(object);
+        initSerializationContext();
+        try {
+            return getGsonForSerialization(null, options).toJson(object);
+        } finally {
+            context.remove();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -127,48 +278,158 @@ public class EntitySerializationImpl implements EntitySerialization {
     public <T> T entityFromJson(String json,
                                 @Nullable MetaClass metaClass,
                                 EntitySerializationOption... options) {
-        context.remove();
-        return (T) createGsonForDeserialization(metaClass, options).fromJson(json, Entity.class);
+        initDeserializationContext(metaClass);
+        try {
+            return (T) getGsonForDeserialization().fromJson(json, Entity.class);
+        } finally {
+            context.remove();
+        }
     }
 
     @Override
     public <T> Collection<T> entitiesCollectionFromJson(String json,
                                                         @Nullable MetaClass metaClass,
                                                         EntitySerializationOption... options) {
-        context.remove();
         Type collectionType = new TypeToken<Collection<Entity>>() {
         }.getType();
-        return createGsonForDeserialization(metaClass, options).fromJson(json, collectionType);
+        initDeserializationContext(metaClass);
+        try {
+            return getGsonForDeserialization().fromJson(json, collectionType);
+        } finally {
+            context.remove();
+        }
+    }
+
+    @Override
+    public <T> Iterator<T> entitiesFromJson(Reader reader,
+                                            @Nullable MetaClass metaClass,
+                                            EntitySerializationOption... options) {
+        Gson gson = getGsonForDeserialization();
+        JsonReader jsonReader = gson.newJsonReader(reader);
+        try {
+            jsonReader.beginArray();
+        } catch (IOException e) {
+            throw new EntitySerializationException(e);
+        }
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return jsonReader.hasNext();
+                } catch (IOException e) {
+                    throw new EntitySerializationException(e);
+                }
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                initDeserializationContext(metaClass);
+                try {
+                    return (T) gson.fromJson(jsonReader, Entity.class);
+                } finally {
+                    context.remove();
+                }
+            }
+        };
     }
 
     @Override
     public <T> T objectFromJson(String json, Type type, EntitySerializationOption... options) {
+        initDeserializationContext(null);
+        try {
+            return getGsonForDeserialization().fromJson(json, type);
+        } finally {
+            context.remove();
+        }
+    }
+
+    protected void initSerializationContext() {
+        context.remove();
+    }
+
+    protected void initDeserializationContext(@Nullable MetaClass metaClass) {
         context.remove();
-        return createGsonForDeserialization(null, options).fromJson(json, type);
+        context.get().metaClass = metaClass;
+    }
+
+    protected Gson getGsonForSerialization(@Nullable FetchPlan fetchPlan, EntitySerializationOption... options) {
+        Set<EntitySerializationOption> optionSet = EnumSet.noneOf(EntitySerializationOption.class);
+        if (options != null) {
+            Collections.addAll(optionSet, options);
+        }
+        return serializationGsons.getUnchecked(new SerializationGsonKey(fetchPlan, optionSet));
     }
 
-    protected Gson createGsonForSerialization(@Nullable FetchPlan fetchPlan, EntitySerializationOption... options) {
+    protected Gson getGsonForDeserialization() {
+        Gson gson = deserializationGson;
+        if (gson == null) {
+            gson = createGsonForDeserialization();
+            deserializationGson = gson;
+        }
+        return gson;
+    }
+
+    protected Gson createGsonForSerialization(@Nullable FetchPlan fetchPlan, Set<EntitySerializationOption> options) {
         GsonBuilder gsonBuilder = new GsonBuilder();
-        if (ArrayUtils.contains(options, EntitySerializationOption.PRETTY_PRINT)) {
+        if (options.contains(EntitySerializationOption.PRETTY_PRINT)) {
             gsonBuilder.setPrettyPrinting();
         }
         gsonBuilder
                 .registerTypeHierarchyAdapter(Entity.class, new EntitySerializer(fetchPlan, options))
-                .registerTypeHierarchyAdapter(Date.class, new DateSerializer())
-                .create();
-        if (ArrayUtils.contains(options, EntitySerializationOption.SERIALIZE_NULLS)) {
+                .registerTypeHierarchyAdapter(Date.class, new DateSerializer());
+        if (options.contains(EntitySerializationOption.SERIALIZE_NULLS)) {
             gsonBuilder.serializeNulls();
         }
         return gsonBuilder.create();
     }
 
-    protected Gson createGsonForDeserialization(@Nullable MetaClass metaClass, EntitySerializationOption... options) {
+    protected Gson createGsonForDeserialization() {
         return new GsonBuilder()
-                .registerTypeHierarchyAdapter(Entity.class, new EntityDeserializer(metaClass, options))
+                .registerTypeHierarchyAdapter(Entity.class, new EntityDeserializer())
                 .registerTypeHierarchyAdapter(Date.class, new DateDeserializer())
                 .create();
     }
 
+    protected MetaClassPlan getMetaClassPlan(MetaClass metaClass) {
+        return metaClassPlans.computeIfAbsent(metaClass, this::createMetaClassPlan);
+    }
+
+    protected MetaClassPlan createMetaClassPlan(MetaClass metaClass) {
+        boolean embeddable = metadataTools.isJpaEmbeddable(metaClass);
+
+        MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
+        if (primaryKeyProperty == null) {
+            primaryKeyProperty = metaClass.findProperty("id");
+        }
+        boolean compositePrimaryKey = metadataTools.hasCompositePrimaryKey(metaClass);
+        Datatype idDatatype = null;
+        if (!embeddable && primaryKeyProperty != null && !compositePrimaryKey) {
+            idDatatype = datatypeRegistry.get(primaryKeyProperty.getJavaType());
+        }
+
+        String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+        List<PropertyPlan> properties = new ArrayList<>();
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            properties.add(createPropertyPlan(metaProperty, false, primaryKeyName));
+        }
+        return new MetaClassPlan(metaClass, embeddable, primaryKeyProperty, compositePrimaryKey, idDatatype,
+                Collections.unmodifiableList(properties));
+    }
+
+    protected PropertyPlan createPropertyPlan(MetaProperty metaProperty, boolean additional,
+                                              @Nullable String primaryKeyName) {
+        return new PropertyPlan(metaProperty,
+                additional,
+                Objects.equals(primaryKeyName, metaProperty.getName()),
+                metadataTools.isJpa(metaProperty),
+                metaProperty.getAnnotatedElement().isAnnotationPresent(Secret.class),
+                extensionResolver.findExtension(metaProperty));
+    }
+
     @Nullable
     protected Field getField(@Nullable Class clazz, String fieldName) {
         try {
@@ -187,7 +448,10 @@ public class EntitySerializationImpl implements EntitySerialization {
         }
     }
 
-    protected class EntitySerializer implements JsonSerializer<Entity> {
+    /**
+     * Writes entities directly to the {@link JsonWriter} without building a tree of JSON elements.
+     */
+    protected class EntitySerializer extends TypeAdapter<Entity> {
 
         protected boolean compactRepeatedEntities = false;
         protected boolean serializeInstanceName;
@@ -196,37 +460,50 @@ public class EntitySerializationImpl implements EntitySerialization {
         protected boolean serializeSecretFields = false;
         protected FetchPlan fetchPlan;
 
-        public EntitySerializer(@Nullable FetchPlan fetchPlan, EntitySerializationOption... options) {
+        public EntitySerializer(@Nullable FetchPlan fetchPlan, Set<EntitySerializationOption> options) {
             this.fetchPlan = fetchPlan;
-            if (options != null) {
-                if (ArrayUtils.contains(options, EntitySerializationOption.COMPACT_REPEATED_ENTITIES)) {
-                    compactRepeatedEntities = true;
-                }
-                if (ArrayUtils.contains(options, EntitySerializationOption.SERIALIZE_INSTANCE_NAME)) {
-                    serializeInstanceName = true;
-                }
-                if (ArrayUtils.contains(options, EntitySerializationOption.DO_NOT_SERIALIZE_RO_NON_PERSISTENT_PROPERTIES)) {
-                    doNotSerializeReadOnlyProperties = true;
-                }
-                if (ArrayUtils.contains(options, EntitySerializationOption.DO_NOT_SERIALIZE_DENIED_PROPERTY)) {
-                    doNotSerializeDeniedProperties = true;
-                }
-                if (ArrayUtils.contains(options, EntitySerializationOption.SERIALIZE_SECRET_FIELDS)) {
-                    serializeSecretFields = true;
-                }
+            if (options.contains(EntitySerializationOption.COMPACT_REPEATED_ENTITIES)) {
+                compactRepeatedEntities = true;
+            }
+            if (options.contains(EntitySerializationOption.SERIALIZE_INSTANCE_NAME)) {
+                serializeInstanceName = true;
+            }
+            if (options.contains(EntitySerializationOption.DO_NOT_SERIALIZE_RO_NON_PERSISTENT_PROPERTIES)) {
+                doNotSerializeReadOnlyProperties = true;
             }
+            if (options.contains(EntitySerializationOption.DO_NOT_SERIALIZE_DENIED_PROPERTY)) {
+                doNotSerializeDeniedProperties = true;
+            }
+            if (options.contains(EntitySerializationOption.SERIALIZE_SECRET_FIELDS)) {
+                serializeSecretFields = true;
+            }
+        }
+
+        @Override
+        public void write(JsonWriter out, @Nullable Entity entity) throws IOException {
+            if (entity == null) {
+                out.nullValue();
+                return;
+            }
+            writeEntity(out, entity, fetchPlan, new HashSet<>());
         }
 
         @Override
-        public JsonElement serialize(Entity entity, Type typeOfSrc, JsonSerializationContext context) {
-            return serializeEntity(entity, fetchPlan, new HashSet<>());
+        public Entity read(JsonReader in) {
+            throw new UnsupportedOperationException("EntitySerializer is used only for serialization");
         }
 
-        protected JsonObject serializeEntity(Entity entity, @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) {
-            JsonObject jsonObject = new JsonObject();
+        /**
+         * @param cyclicReferences entities on the path from the root to the current entity, restored on exit
+         */
+        protected void writeEntity(JsonWriter out, Entity entity, @Nullable FetchPlan fetchPlan,
+                                   Set<Entity> cyclicReferences) throws IOException {
             MetaClass metaClass = metadata.getClass(entity);
-            if (!metadataTools.isJpaEmbeddable(metaClass)) {
-                jsonObject.addProperty(ENTITY_NAME_PROP, metaClass.getName());
+            MetaClassPlan plan = getMetaClassPlan(metaClass);
+
+            out.beginObject();
+            if (!plan.embeddable) {
+                out.name(ENTITY_NAME_PROP).value(metaClass.getName());
                 if (serializeInstanceName) {
                     String instanceName = null;
                     try {
@@ -234,197 +511,236 @@ public class EntitySerializationImpl implements EntitySerialization {
                     } catch (Exception ignored) {
                         log.trace("Unable to get instance name for entity {}", entity, ignored);
                     }
-                    jsonObject.addProperty(INSTANCE_NAME_PROP, instanceName);
+                    out.name(INSTANCE_NAME_PROP).value(instanceName);
                 }
-                writeIdField(entity, jsonObject);
+
+                boolean writeFields;
                 if (compactRepeatedEntities) {
-                    Table<Object, MetaClass, Object> processedObjects = context.get().getProcessedEntities();
-                    if (processedObjects.get(EntityValues.getId(entity), metaClass) == null) {
-                        processedObjects.put(EntityValues.getId(entity), metaClass, entity);
-                        writeFields(entity, jsonObject, fetchPlan, cyclicReferences);
+                    EntitySerializationContext serializationContext = context.get();
+                    Object id = EntityValues.getId(entity);
+                    if (id == null) {
+                        // instances without id are distinguished by identity
+                        writeFields = serializationContext.processedEntitiesWithoutId.add(entity);
+                    } else {
+                        writeFields = serializationContext.getProcessedEntity(id, metaClass) == null;
+                        if (writeFields) {
+                            serializationContext.putProcessedEntity(id, metaClass, entity);
+                        }
                     }
                 } else {
-                    if (!cyclicReferences.contains(entity)) {
-                        cyclicReferences.add(entity);
-                        writeFields(entity, jsonObject, fetchPlan, cyclicReferences);
-                    }
+                    writeFields = !cyclicReferences.contains(entity);
+                }
+
+                boolean added = writeFields && !compactRepeatedEntities && cyclicReferences.add(entity);
+                writeIdField(out, entity, plan, fetchPlan, writeFields, cyclicReferences);
+                if (writeFields) {
+                    writeFields(out, entity, plan, fetchPlan, cyclicReferences);
+                }
+                if (added) {
+                    cyclicReferences.remove(entity);
                 }
             } else {
-                writeFields(entity, jsonObject, fetchPlan, cyclicReferences);
+                writeFields(out, entity, plan, fetchPlan, cyclicReferences);
             }
 
             if (coreProperties.isEntitySerializationTokenRequired()) {
                 String securityToken = tokenManager.generateSecurityToken(entity);
                 if (securityToken != null) {
-                    jsonObject.addProperty("__securityToken", securityToken);
+                    out.name("__securityToken").value(securityToken);
                 }
             }
-
-            return jsonObject;
+            out.endObject();
         }
 
-        protected void writeIdField(Entity entity, JsonObject jsonObject) {
-            MetaClass metaClass = metadata.getClass(entity);
-            MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
-            if (primaryKeyProperty == null) {
-                primaryKeyProperty = metaClass.getProperty("id");
-            }
-            if (primaryKeyProperty == null)
-                throw new EntitySerializationException("Primary key property not found for entity " + metaClass);
-            if (metadataTools.hasCompositePrimaryKey(metaClass)) {
-                JsonObject serializedIdEntity = serializeEntity((Entity) EntityValues.getId(entity), null, Collections.emptySet());
-                jsonObject.add("id", serializedIdEntity);
+        /**
+         * Writes the "id" field. If the entity has the "id" attribute which is written with other fields,
+         * the attribute value is used instead of the formatted identifier.
+         */
+        protected void writeIdField(JsonWriter out, Entity entity, MetaClassPlan plan, @Nullable FetchPlan fetchPlan,
+                                    boolean writeFields, Set<Entity> cyclicReferences) throws IOException {
+            if (plan.primaryKeyProperty == null)
+                throw new EntitySerializationException("Primary key property not found for entity " + plan.metaClass);
+
+            if (writeFields && plan.idProperty != null) {
+                Object value = getPropertyValue(entity, plan, plan.idProperty, fetchPlan);
+                if (value != NOT_WRITTEN && writeProperty(out, plan.idProperty, value, fetchPlan, cyclicReferences)) {
+                    return;
+                }
+            }
+
+            out.name("id");
+            if (plan.compositePrimaryKey) {
+                writeEntity(out, (Entity) EntityValues.getId(entity), null, new HashSet<>());
             } else {
-                Datatype idDatatype = datatypeRegistry.get(primaryKeyProperty.getJavaType());
-                jsonObject.addProperty("id", idDatatype.format(EntityValues.getId(entity)));
+                out.value(plan.idDatatype.format(EntityValues.getId(entity)));
             }
         }
 
-        protected boolean propertyWritingAllowed(MetaProperty metaProperty, Entity entity, ExportImportEntityContext exportImportContext) {
-            if (!serializeSecretFields && metaProperty.getAnnotatedElement().isAnnotationPresent(Secret.class)) {
+        protected boolean propertyWritingAllowed(PropertyPlan property, Entity entity, ExportImportEntityContext exportImportContext) {
+            if (!serializeSecretFields && property.secret) {
                 return false;
             }
-            MetaClass metaClass = metadata.getClass(entity);
-
-            String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
-            String propertyName = metaProperty.getName();
-
-            if (!Objects.equals(primaryKeyName, propertyName)) {
-                if (metadataTools.isJpa(metaProperty)) {
-                    return entityStates.isLoaded(entity, propertyName) && exportImportContext.canExported(propertyName);
+            if (!property.primaryKey) {
+                if (property.jpa) {
+                    return entityStates.isLoaded(entity, property.name) && exportImportContext.canExported(property.name);
                 } else {
-                    return (!metaProperty.isReadOnly() || !doNotSerializeReadOnlyProperties) && exportImportContext.canExported(propertyName);
+                    return (!property.metaProperty.isReadOnly() || !doNotSerializeReadOnlyProperties)
+                            && exportImportContext.canExported(property.name);
                 }
             }
 
             return true;
         }
 
-        protected void writeFields(Entity entity, JsonObject jsonObject, @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) {
-            MetaClass metaClass = metadata.getClass(entity);
-            Collection<MetaProperty> properties = new ArrayList<>(metaClass.getProperties());
-
-            Set<MetaProperty> additionalProperties = metadataTools.getAdditionalProperties(metaClass);
-            properties.addAll(additionalProperties);
-            ExportImportEntityContext exportImportEntityContext = new ExportImportEntityContext(metaClass);
-            if (doNotSerializeDeniedProperties) {
-                accessManager.applyRegisteredConstraints(exportImportEntityContext);
+        /**
+         * @return the property value or {@link #NOT_WRITTEN} if the property must not be written
+         */
+        @Nullable
+        protected Object getPropertyValue(Entity entity, MetaClassPlan plan, PropertyPlan property,
+                                          @Nullable FetchPlan fetchPlan) {
+            if (!propertyWritingAllowed(property, entity, getExportImportContext(plan.metaClass))) {
+                return NOT_WRITTEN;
             }
-
-            for (MetaProperty metaProperty : properties) {
-                if (!propertyWritingAllowed(metaProperty, entity, exportImportEntityContext)) {
-                    continue;
+            if (!property.additional) {
+                if (fetchPlan != null && fetchPlan.getProperty(property.name) == null) {
+                    return NOT_WRITTEN;
                 }
-                FetchPlanProperty fetchPlanProperty = null;
-                if (!additionalProperties.contains(metaProperty)) {
-                    if (fetchPlan != null) {
-                        fetchPlanProperty = fetchPlan.getProperty(metaProperty.getName());
-                        if (fetchPlanProperty == null) continue;
-                    }
-
-                    if (!entityStates.isNew(entity)
-                            && !entityStates.isLoaded(entity, metaProperty.getName())) {
-                        continue;
-                    }
+                if (!entityStates.isNew(entity) && !entityStates.isLoaded(entity, property.name)) {
+                    return NOT_WRITTEN;
                 }
+            }
+            try {
+                return EntityValues.getValue(entity, property.name);
+            } catch (EntityValueAccessException e) {
+                return NOT_WRITTEN;
+            }
+        }
 
-                Object fieldValue;
-                try {
-                    fieldValue = EntityValues.getValue(entity, metaProperty.getName());
-                } catch (EntityValueAccessException e) {
+        protected void writeFields(JsonWriter out, Entity entity, MetaClassPlan plan, @Nullable FetchPlan fetchPlan,
+                                   Set<Entity> cyclicReferences) throws IOException {
+            for (PropertyPlan property : plan.properties) {
+                if (property == plan.idProperty && !plan.embeddable) {
+                    // written by writeIdField()
                     continue;
                 }
+                writeField(out, entity, plan, property, fetchPlan, cyclicReferences);
+            }
+            for (PropertyPlan property : getAdditionalProperties(plan.metaClass)) {
+                writeField(out, entity, plan, property, fetchPlan, cyclicReferences);
+            }
+        }
 
-                //always write nulls here. GSON will not serialize them to the result if
-                //EntitySerializationOptions.SERIALIZE_NULLS was not set.
-                if (fieldValue == null) {
-                    jsonObject.add(metaProperty.getName(), null);
-                    continue;
-                }
+        protected void writeField(JsonWriter out, Entity entity, MetaClassPlan plan, PropertyPlan property,
+                                  @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) throws IOException {
+            Object value = getPropertyValue(entity, plan, property, fetchPlan);
+            if (value != NOT_WRITTEN) {
+                writeProperty(out, property, value, fetchPlan, cyclicReferences);
+            }
+        }
 
-                EntityAttributeSerializationExtension extension = extensionResolver.findExtension(metaProperty);
-                if (extension != null) {
-                    jsonObject.add(metaProperty.getName(), extension.toJson(metaProperty, fieldValue));
-                    continue;
-                }
+        /**
+         * @return false if the value cannot be represented in JSON and the property is not written
+         */
+        protected boolean writeProperty(JsonWriter out, PropertyPlan property, @Nullable Object value,
+                                        @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) throws IOException {
+            //always write nulls here. JsonWriter will skip them if
+            //EntitySerializationOptions.SERIALIZE_NULLS was not set.
+            if (value == null) {
+                out.name(property.name).nullValue();
+                return true;
+            }
 
-                Range propertyRange = metaProperty.getRange();
-                if (propertyRange.isDatatype()) {
-                    if (fieldValue instanceof Collection) {
-                        jsonObject.add(metaProperty.getName(),
-                                serializeSimpleCollection((Collection) fieldValue, metaProperty));
-                    } else {
-                        writeSimpleProperty(jsonObject, fieldValue, metaProperty);
-                    }
-                } else if (propertyRange.isEnum()) {
-                    jsonObject.addProperty(metaProperty.getName(), fieldValue.toString());
-                } else if (propertyRange.isClass()) {
-                    if (fieldValue instanceof Entity) {
-                        JsonObject propertyJsonObject = serializeEntity((Entity) fieldValue,
-                                fetchPlanProperty != null ? fetchPlanProperty.getFetchPlan() : null,
-                                new HashSet<>(cyclicReferences));
-                        jsonObject.add(metaProperty.getName(), propertyJsonObject);
-                    } else if (fieldValue instanceof Collection) {
-                        JsonArray jsonArray = serializeCollection((Collection) fieldValue,
-                                fetchPlanProperty != null ? fetchPlanProperty.getFetchPlan() : null,
-                                new HashSet<>(cyclicReferences));
-                        jsonObject.add(metaProperty.getName(), jsonArray);
-                    }
+            if (property.extension != null) {
+                out.name(property.name);
+                TypeAdapters.JSON_ELEMENT.write(out, property.extension.toJson(property.metaProperty, value));
+                return true;
+            }
+
+            Range propertyRange = property.metaProperty.getRange();
+            if (propertyRange.isDatatype()) {
+                out.name(property.name);
+                if (value instanceof Collection) {
+                    writeSimpleCollection(out, (Collection<?>) value, property.metaProperty);
+                } else {
+                    writeSimpleValue(out, value, property.metaProperty);
+                }
+                return true;
+            } else if (propertyRange.isEnum()) {
+                out.name(property.name).value(value.toString());
+                return true;
+            } else if (propertyRange.isClass()) {
+                FetchPlanProperty fetchPlanProperty = fetchPlan != null ? fetchPlan.getProperty(property.name) : null;
+                FetchPlan propertyFetchPlan = fetchPlanProperty != null ? fetchPlanProperty.getFetchPlan() : null;
+                if (value instanceof Entity) {
+                    out.name(property.name);
+                    writeEntity(out, (Entity) value, propertyFetchPlan, cyclicReferences);
+                    return true;
+                } else if (value instanceof Collection) {
+                    out.name(property.name);
+                    writeCollection(out, (Collection<?>) value, propertyFetchPlan, cyclicReferences);
+                    return true;
                 }
             }
+            return false;
         }
 
-        protected void writeSimpleProperty(JsonObject jsonObject, @NotNull Object fieldValue, MetaProperty property) {
-            String propertyName = property.getName();
-            if (fieldValue instanceof Number) {
-                jsonObject.addProperty(propertyName, (Number) fieldValue);
-            } else if (fieldValue instanceof Boolean) {
-                jsonObject.addProperty(propertyName, (Boolean) fieldValue);
+        protected void writeSimpleValue(JsonWriter out, Object value, MetaProperty property) throws IOException {
+            if (value instanceof Number) {
+                out.value((Number) value);
+            } else if (value instanceof Boolean) {
+                out.value((Boolean) value);
             } else {
                 Datatype datatype = property.getRange().asDatatype();
-                jsonObject.addProperty(propertyName, datatype.format(fieldValue));
+                out.value(datatype.format(value));
             }
         }
 
-        protected JsonArray serializeCollection(Collection value, @Nullable FetchPlan fetchPlan, Set<Entity> cyclicReferences) {
-            JsonArray jsonArray = new JsonArray();
-            value.stream()
-                    .filter(e -> e instanceof Entity)
-                    .forEach(e -> {
-                        JsonObject jsonObject = serializeEntity((Entity) e, fetchPlan, new HashSet<>(cyclicReferences));
-                        jsonArray.add(jsonObject);
-                    });
-            return jsonArray;
+        protected void writeCollection(JsonWriter out, Collection<?> value, @Nullable FetchPlan fetchPlan,
+                                       Set<Entity> cyclicReferences) throws IOException {
+            out.beginArray();
+            for (Object item : value) {
+                if (item instanceof Entity) {
+                    writeEntity(out, (Entity) item, fetchPlan, cyclicReferences);
+                }
+            }
+            out.endArray();
         }
 
-        protected JsonArray serializeSimpleCollection(Collection fieldValue, MetaProperty property) {
-            JsonArray jsonArray = new JsonArray();
-            fieldValue.stream()
-                    .forEach(item -> {
-                        if (item instanceof Number) {
-                            jsonArray.add((Number) item);
-                        } else if (item instanceof Boolean) {
-                            jsonArray.add((Boolean) item);
-                        } else {
-                            Datatype datatype = property.getRange().asDatatype();
-                            jsonArray.add(datatype.format(item));
-                        }
-                    });
-            return jsonArray;
+        protected void writeSimpleCollection(JsonWriter out, Collection<?> value, MetaProperty property) throws IOException {
+            out.beginArray();
+            for (Object item : value) {
+                writeSimpleValue(out, item, property);
+            }
+            out.endArray();
         }
-    }
 
-    protected class EntityDeserializer implements JsonDeserializer<Entity> {
-
-        protected MetaClass metaClass;
+        protected ExportImportEntityContext getExportImportContext(MetaClass metaClass) {
+            return context.get().exportImportContexts.computeIfAbsent(metaClass, key -> {
+                ExportImportEntityContext exportImportEntityContext = new ExportImportEntityContext(key);
+                if (doNotSerializeDeniedProperties) {
+                    accessManager.applyRegisteredConstraints(exportImportEntityContext);
+                }
+                return exportImportEntityContext;
+            });
+        }
 
-        public EntityDeserializer(@Nullable MetaClass metaClass, EntitySerializationOption... options) {
-            this.metaClass = metaClass;
+        protected List<PropertyPlan> getAdditionalProperties(MetaClass metaClass) {
+            return context.get().additionalProperties.computeIfAbsent(metaClass, key -> {
+                String primaryKeyName = metadataTools.getPrimaryKeyName(key);
+                List<PropertyPlan> result = new ArrayList<>();
+                for (MetaProperty metaProperty : metadataTools.getAdditionalProperties(key)) {
+                    result.add(createPropertyPlan(metaProperty, true, primaryKeyName));
+                }
+                return result;
+            });
         }
+    }
+
+    protected class EntityDeserializer implements JsonDeserializer<Entity> {
 
         @Override
         public Entity deserialize(JsonElement jsonElement, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-            return (Entity) readEntity(jsonElement.getAsJsonObject(), metaClass);
+            return (Entity) readEntity(jsonElement.getAsJsonObject(), EntitySerializationImpl.this.context.get().getMetaClass());
         }
 
         protected Object readEntity(JsonObject jsonObject, @Nullable MetaClass metaClass) {
@@ -489,13 +805,13 @@ public class EntitySerializationImpl implements EntitySerialization {
                 tokenManager.restoreSecurityToken(entity, securityToken);
             }
 
-            Table<Object, MetaClass, Object> processedEntities = context.get().getProcessedEntities();
-            Object processedEntity = processedEntities.get(EntityValues.getId(entity), resultMetaClass);
+            EntitySerializationContext serializationContext = context.get();
+            Object processedEntity = serializationContext.getProcessedEntity(EntityValues.getId(entity), resultMetaClass);
             if (processedEntity != null) {
                 entity = processedEntity;
             } else {
                 if (EntityValues.getId(entity) != null) {
-                    processedEntities.put(EntityValues.getId(entity), resultMetaClass, entity);
+                    serializationContext.putProcessedEntity(EntityValues.getId(entity), resultMetaClass, entity);
                 }
                 readFields(jsonObject, entity);
             }
@@ -681,22 +997,32 @@ public class EntitySerializationImpl implements EntitySerialization {
         }
 
         protected void clearFields(Object entity) {
-            MetaClass metaClass = metadata.getClass(entity);
-            for (MetaProperty metaProperty : metaClass.getProperties()) {
-                if (metaProperty.getName().equals(metadataTools.getPrimaryKeyName(metaClass)) ||
-                        metaProperty.getName().equals(metadataTools.getUuidPropertyName(entity.getClass())))
-                    continue;
+            for (Field field : getClearedFields(entity)) {
+                try {
+                    field.set(entity, null);
+                } catch (IllegalAccessException e) {
+                    throw new EntitySerializationException("Can't get access to field " + field.getName() + " of class " + entity.getClass().getName(), e);
+                }
+            }
+        }
 
-                Field field = getField(entity.getClass(), metaProperty.getName());
-                if (field != null) {
-                    makeFieldAccessible(field);
-                    try {
-                        field.set(entity, null);
-                    } catch (IllegalAccessException e) {
-                        throw new EntitySerializationException("Can't get access to field " + field.getName() + " of class " + entity.getClass().getName(), e);
+        protected List<Field> getClearedFields(Object entity) {
+            return clearedFields.computeIfAbsent(entity.getClass(), entityClass -> {
+                MetaClass metaClass = metadata.getClass(entity);
+                List<Field> fields = new ArrayList<>();
+                for (MetaProperty metaProperty : metaClass.getProperties()) {
+                    if (metaProperty.getName().equals(metadataTools.getPrimaryKeyName(metaClass)) ||
+                            metaProperty.getName().equals(metadataTools.getUuidPropertyName(entityClass)))
+                        continue;
+
+                    Field field = getField(entityClass, metaProperty.getName());
+                    if (field != null) {
+                        makeFieldAccessible(field);
+                        fields.add(field);
                     }
                 }
-            }
+                return fields;
+            });
         }
 
         /*protected void fetchDynamicAttributes(Entity entity) {
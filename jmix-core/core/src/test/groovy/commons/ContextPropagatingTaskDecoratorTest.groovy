@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package commons
+
+import io.jmix.core.impl.ContextPropagatingTaskDecorator
+import org.slf4j.MDC
+import org.springframework.context.i18n.LocaleContextHolder
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.core.context.SecurityContextHolder
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ContextPropagatingTaskDecoratorTest extends Specification {
+
+    def executor = Executors.newSingleThreadExecutor()
+
+    void cleanup() {
+        executor.shutdownNow()
+        SecurityContextHolder.clearContext()
+        LocaleContextHolder.resetLocaleContext()
+        MDC.clear()
+    }
+
+    def "task runs with security context, locale and MDC of submitting thread"() {
+        def authentication = new UsernamePasswordAuthenticationToken('user', null, [])
+        SecurityContextHolder.context.authentication = authentication
+        LocaleContextHolder.locale = Locale.FRENCH
+        MDC.put('user', 'user')
+
+        def captured = [:]
+        def task = new ContextPropagatingTaskDecorator().decorate {
+            captured.authentication = SecurityContextHolder.context.authentication
+            captured.locale = LocaleContextHolder.locale
+            captured.mdc = MDC.get('user')
+        }
+
+        when:
+        executor.submit(task).get(5, TimeUnit.SECONDS)
+
+        then:
+        captured.authentication.is(authentication)
+        captured.locale == Locale.FRENCH
+        captured.mdc == 'user'
+
+        and: "executor thread is cleared after the task"
+        executor.submit({
+            SecurityContextHolder.context.authentication == null && MDC.get('user') == null
+        } as Callable).get(5, TimeUnit.SECONDS)
+    }
+}
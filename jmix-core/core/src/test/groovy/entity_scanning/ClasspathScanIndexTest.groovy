@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entity_scanning
+
+import io.jmix.core.CoreConfiguration
+import io.jmix.core.impl.scanning.AnnotationScanMetadataReaderFactory
+import io.jmix.core.impl.scanning.ClasspathScanIndex
+import io.jmix.core.impl.scanning.EntityDetector
+import io.jmix.core.impl.scanning.JmixModulesClasspathScanner
+import io.jmix.core.metamodel.annotation.JmixEntity
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.core.io.UrlResource
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.base.TestBaseConfiguration
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+@ContextConfiguration(classes = [CoreConfiguration, TestBaseConfiguration])
+class ClasspathScanIndexTest extends Specification {
+
+    @Autowired
+    AnnotationScanMetadataReaderFactory metadataReaderFactory
+
+    @Autowired
+    JmixModulesClasspathScanner scanner
+
+    @Autowired
+    EntityDetector entityDetector
+
+    Path root
+
+    void setup() {
+        root = Files.createTempDirectory('scan-index')
+        Files.createDirectories(root.resolve('entity'))
+        getClass().getResourceAsStream('/test_support/base/entity/BaseUuidEntity.class').withCloseable {
+            Files.copy(it, root.resolve('entity/BaseUuidEntity.class'))
+        }
+        root.resolve(ClasspathScanIndex.INDEX_FILE_NAME).write(
+                ClasspathScanIndex.HEADER + '\n' +
+                        ['test_support.base.entity.BaseUuidEntity', 'test_support.base.entity.BaseGenericIdEntity', '1025', 'true',
+                         'io.jmix.core.Entity', JmixEntity.name].join('\t') + '\n', 'UTF-8')
+    }
+
+    void cleanup() {
+        root.toFile().deleteDir()
+    }
+
+    def "classes are read from index"() {
+        when:
+        def readers = ClasspathScanIndex.read(new UrlResource(root.toUri()), 'test_support.base', metadataReaderFactory)
+
+        then:
+        readers.size() == 1
+
+        def metadata = readers[0].annotationMetadata
+        metadata.className == 'test_support.base.entity.BaseUuidEntity'
+        metadata.superClassName == 'test_support.base.entity.BaseGenericIdEntity'
+        metadata.interfaceNames == ['io.jmix.core.Entity'] as String[]
+        metadata.isAbstract()
+        !metadata.isInterface()
+        metadata.hasAnnotation(JmixEntity.name)
+        entityDetector.isCandidate(readers[0])
+
+        and: "other information is read from the class file"
+        metadata.getAnnotationAttributes(JmixEntity.name) != null
+    }
+
+    def "index with unknown format is ignored"() {
+        root.resolve(ClasspathScanIndex.INDEX_FILE_NAME).write('# jmix-scan-index 0\n', 'UTF-8')
+
+        expect:
+        ClasspathScanIndex.read(new UrlResource(root.toUri()), 'test_support.base', metadataReaderFactory) == null
+    }
+
+    def "index is outdated if class files are added or modified after it"() {
+        def rootResource = new UrlResource(root.toUri())
+        def indexFile = root.resolve(ClasspathScanIndex.INDEX_FILE_NAME).toFile()
+        indexFile.setLastModified(System.currentTimeMillis())
+
+        expect:
+        ClasspathScanIndex.isUpToDate(rootResource, 1)
+        !ClasspathScanIndex.isUpToDate(rootResource, 2)
+
+        when:
+        root.resolve('entity/BaseUuidEntity.class').toFile().setLastModified(indexFile.lastModified() + 10000)
+
+        then:
+        !ClasspathScanIndex.isUpToDate(rootResource, 1)
+    }
+
+    def "module without index is scanned"() {
+        expect:
+        scanner.getClassNames(EntityDetector).contains('test_support.base.entity.BaseUuidEntity')
+    }
+}
@@ -69,4 +69,45 @@ class EntitySerializationTest extends Specification {
         jsonFields['regularField'] == 'regular'
         jsonFields['secretField'] == 'secret'
     }
+
+    def "should write the same JSON to a writer as to a string"() {
+
+        TestSecretFieldEntity entity1 = metadata.create(TestSecretFieldEntity.class)
+        entity1.regularField = 'regular1'
+        TestSecretFieldEntity entity2 = metadata.create(TestSecretFieldEntity.class)
+        entity2.regularField = 'regular2'
+
+        when:
+
+        def entityWriter = new StringWriter()
+        entitySerialization.toJson(entity1, null, entityWriter, EntitySerializationOption.SERIALIZE_INSTANCE_NAME)
+        def collectionWriter = new StringWriter()
+        entitySerialization.toJson([entity1, entity2], null, collectionWriter, EntitySerializationOption.PRETTY_PRINT)
+
+        then:
+        entityWriter.toString() == entitySerialization.toJson(entity1, null, EntitySerializationOption.SERIALIZE_INSTANCE_NAME)
+        collectionWriter.toString() == entitySerialization.toJson([entity1, entity2], null, EntitySerializationOption.PRETTY_PRINT)
+    }
+
+    def "should write nulls and id according to options of each call"() {
+
+        TestSecretFieldEntity entity = metadata.create(TestSecretFieldEntity.class)
+
+        when:
+
+        def jsonWithNulls = entitySerialization.toJson(entity, null, EntitySerializationOption.SERIALIZE_NULLS)
+        def json = entitySerialization.toJson(entity)
+
+        then:
+        Map fieldsWithNulls = new Gson().fromJson(jsonWithNulls, new TypeToken<Map<String, Object>>() {}.getType())
+        fieldsWithNulls.keySet() as List == ['_entityName', 'id', 'regularField']
+        fieldsWithNulls['id'] == entity.id.toString()
+        fieldsWithNulls['regularField'] == null
+
+        Map fields = new Gson().fromJson(json, new TypeToken<Map<String, Object>>() {}.getType())
+        fields.keySet() as List == ['_entityName', 'id']
+
+        TestSecretFieldEntity deserialized = entitySerialization.entityFromJson(json, null)
+        deserialized.id == entity.id
+    }
 }
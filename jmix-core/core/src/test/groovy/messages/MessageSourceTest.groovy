@@ -16,6 +16,9 @@
 
 package messages
 
+import io.jmix.core.JmixModules
+import io.jmix.core.Resources
+import io.jmix.core.impl.JmixMessageSource
 import spock.lang.Unroll
 import test_support.addon1.TestAddon1Configuration
 
@@ -30,6 +33,8 @@ import spock.lang.Specification
 import org.springframework.beans.factory.annotation.Autowired
 import test_support.base.TestBaseConfiguration
 
+import java.util.concurrent.TimeUnit
+
 import static test_support.TestLocales.*
 
 @ContextConfiguration(classes = [CoreConfiguration, TestBaseConfiguration, TestAddon1Configuration, TestAppConfiguration])
@@ -42,6 +47,12 @@ class MessageSourceTest extends Specification {
     @Autowired
     Environment environment
 
+    @Autowired
+    JmixModules modules
+
+    @Autowired
+    Resources resources
+
     @Unroll
     def "messages in module base package"() {
         expect:
@@ -89,6 +100,39 @@ class MessageSourceTest extends Specification {
         clearMessageSourceCache()
     }
 
+    def "messages are reloaded in background"() {
+        setup:
+
+        def backgroundSource = new JmixMessageSource(modules, resources)
+        backgroundSource.backgroundReloadEnabled = true
+
+        expect:
+
+        backgroundSource.getMessage('messageToOverrideByConf', null, 'none', LOC_EN) == 'none'
+        backgroundSource.getMessage('test_support.app.entity/Pet.name', null, LOC_EN) == 'Name'
+
+        when:
+
+        File file = overrideConfigurationWith(
+            '/test_support/app/messages.properties',
+            'messageToOverrideByConf', 'conf value'
+        )
+        backgroundSource.clearCache()
+        backgroundSource.reloadFuture.get(5, TimeUnit.SECONDS)
+        // messages are loaded by the background reload, so the removed file is not read anymore
+        file.delete()
+
+        then:
+
+        backgroundSource.getMessage('messageToOverrideByConf', null, 'none', LOC_EN) == 'conf value'
+        backgroundSource.getMessage('test_support.app.entity/Pet.name', null, LOC_EN) == 'Name'
+
+        cleanup:
+
+        file.delete()
+        clearMessageSourceCache()
+    }
+
     protected clearMessageSourceCache() {
         ((ReloadableResourceBundleMessageSource) messageSource).clearCache()
     }
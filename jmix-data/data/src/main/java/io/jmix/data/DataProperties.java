@@ -36,17 +36,49 @@ public class DataProperties {
     String uniqueConstraintViolationPattern;
     boolean useUserLocaleForRelativeDateTimeMoments;
 
+    /**
+     * Maximum number of JPQL queries cached by {@link io.jmix.data.impl.JpqlQueryCache}. Zero disables the cache.
+     */
+    int jpqlQueryCacheSize;
+
+    /**
+     * Whether to pad id lists of batch loads to power-of-two sizes, so the number of distinct
+     * {@code in (...)} statements stays bounded. See {@link io.jmix.data.impl.IdBatchPadding}.
+     */
+    boolean idBatchPaddingEnabled;
+
+    /**
+     * Default number of rows fetched from the database at once when entities are streamed by
+     * {@link io.jmix.core.UnconstrainedDataManager#streamList(io.jmix.core.LoadContext)}.
+     */
+    int streamFetchSize;
+
+    /**
+     * Minimum number of loaded entities of one type, starting from which in-memory read constraints are evaluated
+     * in parallel. Zero disables parallel evaluation. Enable it only if the predicates of in-memory row level
+     * policies use attributes loaded by the fetch plan, because lazy loading is not thread-safe.
+     */
+    int inMemoryConstraintsParallelThreshold;
+
     public DataProperties(
             @DefaultValue("true") boolean useReadOnlyTransactionForLoad,
             @DefaultValue("100") int numberIdCacheSize,
             boolean useEntityDataStoreForIdSequence,
             @Nullable String uniqueConstraintViolationPattern,
-            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments) {
+            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments,
+            @DefaultValue("1000") int jpqlQueryCacheSize,
+            boolean idBatchPaddingEnabled,
+            @DefaultValue("500") int streamFetchSize,
+            @DefaultValue("0") int inMemoryConstraintsParallelThreshold) {
         this.useReadOnlyTransactionForLoad = useReadOnlyTransactionForLoad;
         this.numberIdCacheSize = numberIdCacheSize;
         this.useEntityDataStoreForIdSequence = useEntityDataStoreForIdSequence;
         this.uniqueConstraintViolationPattern = uniqueConstraintViolationPattern;
         this.useUserLocaleForRelativeDateTimeMoments = useUserLocaleForRelativeDateTimeMoments;
+        this.jpqlQueryCacheSize = jpqlQueryCacheSize;
+        this.idBatchPaddingEnabled = idBatchPaddingEnabled;
+        this.streamFetchSize = streamFetchSize;
+        this.inMemoryConstraintsParallelThreshold = inMemoryConstraintsParallelThreshold;
     }
 
     public boolean isUseReadOnlyTransactionForLoad() {
@@ -72,4 +104,32 @@ public class DataProperties {
     public boolean isUseUserLocaleForRelativeDateTimeMoments() {
         return useUserLocaleForRelativeDateTimeMoments;
     }
+
+    /**
+     * @see #jpqlQueryCacheSize
+     */
+    public int getJpqlQueryCacheSize() {
+        return jpqlQueryCacheSize;
+    }
+
+    /**
+     * @see #idBatchPaddingEnabled
+     */
+    public boolean isIdBatchPaddingEnabled() {
+        return idBatchPaddingEnabled;
+    }
+
+    /**
+     * @see #streamFetchSize
+     */
+    public int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
+    /**
+     * @see #inMemoryConstraintsParallelThreshold
+     */
+    public int getInMemoryConstraintsParallelThreshold() {
+        return inMemoryConstraintsParallelThreshold;
+    }
 }
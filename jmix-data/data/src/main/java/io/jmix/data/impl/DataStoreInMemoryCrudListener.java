@@ -18,17 +18,36 @@ package io.jmix.data.impl;
 
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.InMemoryCrudEntityContext;
+import io.jmix.core.constraint.AccessConstraint;
 import io.jmix.core.datastore.*;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.AccessDeniedException;
+import io.jmix.data.DataProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Checks in-memory CRUD constraints of loaded and saved entities.
+ * <p>
+ * Read predicates are resolved once per load operation and per meta-class, and kept in the event state as
+ * {@link ReadConstraints}. Loaded entities are checked by a single pass over the result list, which can be parallel
+ * for large lists, see {@link DataProperties#getInMemoryConstraintsParallelThreshold()}. References are checked only
+ * if meta-classes of the fetch plan or their descendants have read predicates. The number of filtered entities is
+ * published as the {@code jmix.data.inMemoryReadConstraint.filtered} counter with the {@code entity} tag.
+ */
 @Component("data_DataStoreInMemoryCrudListener")
 public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
 
@@ -50,11 +69,17 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
     protected EntityStates entityStates;
     @Autowired
     protected ApplicationContext applicationContext;
+    @Autowired
+    protected DataProperties dataProperties;
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    protected final Map<String, Counter> filteredCounters = new ConcurrentHashMap<>();
 
     public void beforeEntityLoad(DataStoreBeforeEntityLoadEvent event) {
         LoadContext<?> context = event.getLoadContext();
 
-        if (hasInMemoryRead(context)) {
+        if (getReadConstraints(context, event.getEventState()).isFetchPlanConstrained()) {
             context.setLoadPartialEntities(false);
         }
     }
@@ -62,7 +87,7 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
     public void beforeEntityCount(DataStoreBeforeEntityCountEvent event) {
         LoadContext<?> context = event.getLoadContext();
 
-        if (hasInMemoryRead(context)) {
+        if (getReadConstraints(context, event.getEventState()).isFetchPlanConstrained()) {
             event.setCountByItems();
         }
     }
@@ -84,31 +109,47 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
 
     public void entityLoading(DataStoreEntityLoadingEvent event) {
         LoadContext<?> context = event.getLoadContext();
+        ReadConstraints constraints = getReadConstraints(context, event.getEventState());
 
         MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
 
-        InMemoryCrudEntityContext crudContext = new InMemoryCrudEntityContext(metaClass, applicationContext);
-        accessManager.applyConstraints(crudContext, context.getAccessConstraints());
+        List<Object> entities = event.getResultEntities();
 
-        List<Object> entities = new ArrayList<>();
+        BiPredicate readPredicate = constraints.getReadPredicate(metaClass);
+        if (readPredicate != null && !entities.isEmpty()) {
+            boolean[] permitted = testReadPermitted(entities, readPredicate);
 
-        for (Object entity : event.getResultEntities()) {
-            if (!crudContext.isReadPermitted(entity)) {
-                log.debug("Reading entity {} is not permitted by access constraints", entity);
-                event.excludeEntity(entity);
-            } else {
-                entities.add(entity);
+            List<Object> permittedEntities = new ArrayList<>(entities.size());
+            List<Object> excludedEntities = new ArrayList<>();
+            for (int i = 0; i < permitted.length; i++) {
+                if (permitted[i]) {
+                    permittedEntities.add(entities.get(i));
+                } else {
+                    log.debug("Reading entity {} is not permitted by access constraints", entities.get(i));
+                    excludedEntities.add(entities.get(i));
+                }
             }
+            event.excludeEntities(excludedEntities);
+            countFiltered(metaClass, excludedEntities.size());
+            entities = permittedEntities;
+        }
+
+        if (!constraints.isReferencesConstrained()) {
+            return;
         }
 
         EntityAttributesEraser.ReferencesCollector references = entityAttributesEraser.collectErasingReferences(entities,
                 entity -> {
-                    InMemoryCrudEntityContext childCrudContext =
-                            new InMemoryCrudEntityContext(metadata.getClass(entity), applicationContext);
-                    accessManager.applyConstraints(childCrudContext, context.getAccessConstraints());
-                    boolean readPermitted = childCrudContext.isReadPermitted(entity);
+                    MetaClass entityMetaClass = metadata.getClass(entity);
+                    BiPredicate predicate = constraints.getReadPredicate(entityMetaClass);
+                    if (predicate == null) {
+                        return true;
+                    }
+                    //noinspection unchecked
+                    boolean readPermitted = predicate.test(entity, applicationContext);
                     if (!readPermitted) {
                         log.debug("Reading entity {} is not permitted by access constraints", entity);
+                        countFiltered(entityMetaClass, 1);
                     }
                     return readPermitted;
                 });
@@ -167,13 +208,65 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
         return JmixOrder.HIGHEST_PRECEDENCE + 10;
     }
 
-    protected boolean hasInMemoryRead(LoadContext<?> context) {
-        return collectEntityClasses(context).stream()
-                .anyMatch(entityClass -> {
-                    InMemoryCrudEntityContext crudContext = new InMemoryCrudEntityContext(entityClass, applicationContext);
-                    accessManager.applyConstraints(crudContext, context.getAccessConstraints());
-                    return crudContext.readPredicate() != null;
-                });
+    /**
+     * Returns read constraints of the load operation, creating them if they are not in the event state yet.
+     */
+    protected ReadConstraints getReadConstraints(LoadContext<?> context, EventSharedState eventState) {
+        ReadConstraints constraints = (ReadConstraints) eventState.getValue("readConstraints");
+        if (constraints == null) {
+            constraints = new ReadConstraints(context.getAccessConstraints());
+
+            Collection<MetaClass> entityClasses = collectEntityClasses(context);
+            constraints.fetchPlanConstrained = entityClasses.stream()
+                    .anyMatch(constraints::hasReadPredicate);
+            // without a fetch plan any loaded reference can be constrained
+            constraints.referencesConstrained = context.getFetchPlan() == null
+                    || constraints.fetchPlanConstrained
+                    || entityClasses.stream()
+                    .flatMap(entityClass -> entityClass.getDescendants().stream())
+                    .anyMatch(constraints::hasReadPredicate);
+
+            eventState.setValue("readConstraints", constraints);
+        }
+        return constraints;
+    }
+
+    /**
+     * Tests the read predicate for each entity of the list, in parallel if the list is large.
+     */
+    @SuppressWarnings("unchecked")
+    protected boolean[] testReadPermitted(List<Object> entities, BiPredicate readPredicate) {
+        boolean[] permitted = new boolean[entities.size()];
+        int threshold = dataProperties.getInMemoryConstraintsParallelThreshold();
+        if (threshold > 0 && entities.size() >= threshold) {
+            SecurityContext securityContext = SecurityContextHolder.getContext();
+            IntStream.range(0, permitted.length).parallel().forEach(i -> {
+                // predicates may use the current authentication
+                SecurityContext previousContext = SecurityContextHolder.getContext();
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    permitted[i] = readPredicate.test(entities.get(i), applicationContext);
+                } finally {
+                    SecurityContextHolder.setContext(previousContext);
+                }
+            });
+        } else {
+            for (int i = 0; i < permitted.length; i++) {
+                permitted[i] = readPredicate.test(entities.get(i), applicationContext);
+            }
+        }
+        return permitted;
+    }
+
+    protected void countFiltered(MetaClass metaClass, int count) {
+        if (count > 0) {
+            filteredCounters.computeIfAbsent(metaClass.getName(), entityName ->
+                            Counter.builder("jmix.data.inMemoryReadConstraint.filtered")
+                                    .tag("entity", entityName)
+                                    .description("Number of loaded entities filtered by in-memory read constraints")
+                                    .register(meterRegistry))
+                    .increment(count);
+        }
     }
 
     protected Collection<MetaClass> collectEntityClasses(LoadContext<?> context) {
@@ -207,4 +300,51 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
                 .orElse(null);
         return entityToSave != null && entityStates.isNew(entityToSave);
     }
+
+    /**
+     * Read predicates of in-memory constraints resolved for the access constraints of a load operation.
+     */
+    protected class ReadConstraints {
+        protected final Collection<AccessConstraint<?>> accessConstraints;
+        protected final Map<MetaClass, Optional<BiPredicate>> readPredicates = new HashMap<>();
+        protected boolean fetchPlanConstrained;
+        protected boolean referencesConstrained;
+
+        protected ReadConstraints(Collection<AccessConstraint<?>> accessConstraints) {
+            this.accessConstraints = accessConstraints;
+        }
+
+        /**
+         * Returns the combined read predicate of the meta-class or null if reading is not constrained in memory.
+         */
+        @Nullable
+        public BiPredicate getReadPredicate(MetaClass metaClass) {
+            Optional<BiPredicate> predicate = readPredicates.get(metaClass);
+            if (predicate == null) {
+                InMemoryCrudEntityContext crudContext = new InMemoryCrudEntityContext(metaClass, applicationContext);
+                accessManager.applyConstraints(crudContext, accessConstraints);
+                predicate = Optional.ofNullable(crudContext.readPredicate());
+                readPredicates.put(metaClass, predicate);
+            }
+            return predicate.orElse(null);
+        }
+
+        public boolean hasReadPredicate(MetaClass metaClass) {
+            return getReadPredicate(metaClass) != null;
+        }
+
+        /**
+         * Returns true if any meta-class of the loaded fetch plan has read predicates.
+         */
+        public boolean isFetchPlanConstrained() {
+            return fetchPlanConstrained;
+        }
+
+        /**
+         * Returns true if loaded references can be instances of meta-classes having read predicates.
+         */
+        public boolean isReferencesConstrained() {
+            return referencesConstrained;
+        }
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.data.impl;
+
+import io.jmix.data.DataProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pads id lists of batch loads to power-of-two sizes by repeating the last id. As each distinct list size
+ * produces a new {@code in (?, ?, ...)} SQL statement, padding keeps the number of statements per entity
+ * logarithmic in the batch size, so JDBC and database statement caches stay effective.
+ * <p>
+ * Padding is enabled by the {@code jmix.data.id-batch-padding-enabled} property. Regardless of the property,
+ * the bean counts distinct statement shapes (entity name and list size) and publishes the number
+ * as the {@code jmix.data.idBatch.shapes} gauge.
+ */
+@Component("data_IdBatchPadding")
+public class IdBatchPadding {
+
+    protected final boolean enabled;
+
+    protected final ConcurrentMap<String, Set<Integer>> shapes = new ConcurrentHashMap<>();
+
+    protected final Counter paddedIdsCounter;
+
+    @Autowired
+    public IdBatchPadding(DataProperties properties, MeterRegistry meterRegistry) {
+        enabled = properties.isIdBatchPaddingEnabled();
+        Gauge.builder("jmix.data.idBatch.shapes", this, IdBatchPadding::getShapeCount)
+                .description("Number of distinct entity/id list size combinations of batch loads")
+                .register(meterRegistry);
+        paddedIdsCounter = Counter.builder("jmix.data.idBatch.paddedIds")
+                .description("Number of ids added to batch loads by padding")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the list of ids to use in a query. If padding is enabled, the list is extended to the nearest
+     * power of two not exceeding {@code maxSize} by repeating the last id.
+     *
+     * @param entityName name of the loaded entity
+     * @param ids        ids of the batch, not exceeding {@code maxSize}
+     * @param maxSize    maximum number of values in the "IN" operator, or null if there is no limit
+     * @return padded list or the source list if no padding is required
+     */
+    public <T> List<T> pad(String entityName, List<T> ids, @Nullable Integer maxSize) {
+        List<T> result = ids;
+        if (enabled && !ids.isEmpty()) {
+            int size = paddedSize(ids.size(), maxSize);
+            if (size > ids.size()) {
+                result = new ArrayList<>(size);
+                result.addAll(ids);
+                T last = ids.get(ids.size() - 1);
+                while (result.size() < size) {
+                    result.add(last);
+                }
+                paddedIdsCounter.increment(size - ids.size());
+            }
+        }
+        shapes.computeIfAbsent(entityName, k -> ConcurrentHashMap.newKeySet()).add(result.size());
+        return result;
+    }
+
+    /**
+     * @return number of distinct id list sizes used for the entity
+     */
+    public int getShapeCount(String entityName) {
+        Set<Integer> sizes = shapes.get(entityName);
+        return sizes == null ? 0 : sizes.size();
+    }
+
+    /**
+     * @return total number of distinct entity/id list size combinations
+     */
+    public int getShapeCount() {
+        int count = 0;
+        for (Set<Integer> sizes : shapes.values()) {
+            count += sizes.size();
+        }
+        return count;
+    }
+
+    public void resetStatistics() {
+        shapes.clear();
+    }
+
+    protected int paddedSize(int size, @Nullable Integer maxSize) {
+        int padded = size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+        if (padded <= 0 || (maxSize != null && padded > maxSize)) {
+            return maxSize != null ? Math.max(size, maxSize) : size;
+        }
+        return padded;
+    }
+}
@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import io.jmix.core.*;
 import io.jmix.core.common.util.StringHelper;
+import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.querycondition.*;
@@ -28,6 +29,7 @@ import io.jmix.data.JmixQuery;
 import io.jmix.data.QueryTransformer;
 import io.jmix.data.QueryTransformerFactory;
 import io.jmix.data.impl.jpql.generator.ConditionGenerationContext;
+import io.jmix.data.impl.jpql.generator.ConditionGeneratorResolver;
 import io.jmix.data.impl.jpql.generator.ConditionJpqlGenerator;
 import io.jmix.data.impl.jpql.generator.ParameterJpqlGenerator;
 import io.jmix.data.impl.jpql.generator.SortJpqlGenerator;
@@ -70,6 +72,8 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
 
     protected String resultQuery;
     protected Map<String, Object> resultParameters;
+    protected Set<String> resultParamNames;
+    protected Map<String, Sort.Direction> sortExpressions;
 
     @Autowired
     protected Metadata metadata;
@@ -95,6 +99,12 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
     @Autowired
     protected QueryParamValuesManager queryParamValuesManager;
 
+    @Autowired
+    protected JpqlQueryCache queryCache;
+
+    @Autowired
+    protected ConditionGeneratorResolver conditionGeneratorResolver;
+
     public JpqlQueryBuilder setId(@Nullable Object id) {
         this.id = id;
         return this;
@@ -173,7 +183,7 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
         //we need to replace a parameter with number of days with its value before macros is expanded to JPQL expression
         replaceParamsInMacros(query);
 
-        Set<String> paramNames = queryTransformerFactory.parser(getResultQueryString()).getParamNames();
+        Set<String> paramNames = getResultParamNames();
 
         for (Map.Entry<String, Object> entry : getResultParameters().entrySet()) {
             String name = entry.getKey();
@@ -199,6 +209,13 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
         return query;
     }
 
+    protected Set<String> getResultParamNames() {
+        if (resultParamNames == null) {
+            resultParamNames = queryTransformerFactory.parser(getResultQueryString()).getParamNames();
+        }
+        return resultParamNames;
+    }
+
     protected void buildResultQuery() {
         resultQuery = queryString;
         resultParameters = queryParameters;
@@ -208,52 +225,92 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
                     resultQuery = String.format("select e from %s e where e.%s = :entityId", entityName, getPrimaryKeyProperty().getName());
                     resultParameters = Maps.newHashMap(ImmutableMap.of("entityId", id));
                 } else if (ids != null && !ids.isEmpty()) {
-                    resultQuery = String.format("select e from %s e where e.%s in :entityIds", entityName, getPrimaryKeyProperty().getName());
-                    resultParameters = Maps.newHashMap(ImmutableMap.of("entityIds", ids));
+                    if (metadataTools.hasCompositePrimaryKey(metadata.getClass(entityName))) {
+                        buildCompositeIdsQuery();
+                    } else {
+                        resultQuery = String.format("select e from %s e where e.%s in :entityIds", entityName, getPrimaryKeyProperty().getName());
+                        resultParameters = Maps.newHashMap(ImmutableMap.of("entityIds", ids));
+                    }
                 } else {
                     resultQuery = String.format("select e from %s e", entityName);
                     resultParameters = Collections.emptyMap();
                 }
             }
         }
-        applyFiltering();
+
+        Condition actualized = applyFilteringParameters();
+
+        if (sort != null && !sort.getOrders().isEmpty()) {
+            sortExpressions = sortJpqlGenerator.getSortExpressions(entityName, valueProperties, resultQuery, sort);
+        }
+
+        JpqlQueryCache.Key cacheKey = null;
+        if (!previousResults
+                && (actualized == null || conditionGeneratorResolver.isStandardGeneration(createConditionGenerationContext(actualized)))) {
+            cacheKey = queryCache.createKey(resultQuery, entityName, actualized, sort, sortExpressions,
+                    countQuery, valueProperties);
+        }
+        JpqlQueryCache.Entry cacheEntry = cacheKey != null ? queryCache.get(cacheKey) : null;
+        if (cacheEntry != null) {
+            resultQuery = cacheEntry.getQuery();
+            resultParamNames = cacheEntry.getParamNames();
+            return;
+        }
+
+        applyFiltering(actualized);
         applySorting();
         applyCount();
         restrictByPreviousResults();
+
+        if (cacheKey != null) {
+            queryCache.put(cacheKey, new JpqlQueryCache.Entry(resultQuery, getResultParamNames()));
+        }
     }
 
     protected void applySorting() {
-        if (sort != null) {
-            resultQuery = sortJpqlGenerator.processQuery(entityName, valueProperties, resultQuery, sort);
+        if (sortExpressions != null) {
+            resultQuery = sortJpqlGenerator.processQuery(resultQuery, sortExpressions);
         }
     }
 
-    protected void applyFiltering() {
-        if (condition != null) {
-            Set<String> nonNullParamNames = queryParameters.entrySet().stream()
-                    .filter(e ->
-                            e.getValue() != null &&
-                                    !(e.getValue() instanceof TemporalValue && ((TemporalValue) e.getValue()).date == null))
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toSet());
-
-            // keep parameters that can be assigned by a QueryParamValueProvider
-            for (String parameter : condition.getParameters()) {
-                if (queryParamValuesManager.supports(parameter)) {
-                    nonNullParamNames.add(parameter);
-                }
+    /**
+     * Actualizes the condition by non-null parameters and modifies result parameters accordingly.
+     *
+     * @return actualized condition or null if there is no condition or all its parameters are null
+     */
+    @Nullable
+    protected Condition applyFilteringParameters() {
+        if (condition == null) {
+            return null;
+        }
+        Set<String> nonNullParamNames = queryParameters.entrySet().stream()
+                .filter(e ->
+                        e.getValue() != null &&
+                                !(e.getValue() instanceof TemporalValue && ((TemporalValue) e.getValue()).date == null))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+
+        // keep parameters that can be assigned by a QueryParamValueProvider
+        for (String parameter : condition.getParameters()) {
+            if (queryParamValuesManager.supports(parameter)) {
+                nonNullParamNames.add(parameter);
             }
+        }
 
-            Condition actualized = condition.actualize(nonNullParamNames);
+        Condition actualized = condition.actualize(nonNullParamNames);
 
-            Set<String> excludedParameters = condition.getExcludedParameters(nonNullParamNames);
-            resultParameters.entrySet().removeIf(e -> excludedParameters.contains(e.getKey()));
+        Set<String> excludedParameters = condition.getExcludedParameters(nonNullParamNames);
+        resultParameters.entrySet().removeIf(e -> excludedParameters.contains(e.getKey()));
 
-            if (actualized != null) {
-                resultParameters = conditionParameterJpqlGenerator
-                        .processParameters(resultParameters, queryParameters, actualized, entityName);
-            }
+        if (actualized != null) {
+            resultParameters = conditionParameterJpqlGenerator
+                    .processParameters(resultParameters, queryParameters, actualized, entityName);
+        }
+        return actualized;
+    }
 
+    protected void applyFiltering(@Nullable Condition actualized) {
+        if (condition != null) {
             resultQuery = conditionJpqlGenerator
                     .processQuery(resultQuery, createConditionGenerationContext(actualized));
         }
@@ -313,6 +370,70 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
         query.setQueryString(modifiedQuery);
     }
 
+    /**
+     * Builds a query selecting entities with composite primary keys by the disjunction of comparisons
+     * of all key components: {@code (e.id.a = :entityId0_0 and e.id.b = :entityId0_1) or (...)}.
+     * Reference components are compared by ids of the referenced entities: {@code e.id.ref.id = :entityId0_2}.
+     * Keys referencing entities with composite keys are not supported, such entities must be loaded by single ids.
+     */
+    protected void buildCompositeIdsQuery() {
+        MetaProperty primaryKeyProperty = getPrimaryKeyProperty();
+        List<MetaProperty> keyProperties = primaryKeyProperty.getRange().asClass().getProperties().stream()
+                .filter(metadataTools::isJpa)
+                .collect(Collectors.toList());
+
+        List<String> keyPaths = new ArrayList<>(keyProperties.size());
+        for (MetaProperty keyProperty : keyProperties) {
+            String path = "e." + primaryKeyProperty.getName() + "." + keyProperty.getName();
+            if (keyProperty.getRange().isClass()) {
+                MetaClass refMetaClass = keyProperty.getRange().asClass();
+                if (metadataTools.hasCompositePrimaryKey(refMetaClass)) {
+                    throw new UnsupportedOperationException(String.format(
+                            "Cannot load %s by ids: key component '%s' references %s which has a composite primary key",
+                            entityName, keyProperty.getName(), refMetaClass.getName()));
+                }
+                MetaProperty refPrimaryKeyProperty = metadataTools.getPrimaryKeyProperty(refMetaClass);
+                if (refPrimaryKeyProperty == null) {
+                    throw new IllegalStateException("Cannot determine primary key property for " + refMetaClass.getName());
+                }
+                path = path + "." + refPrimaryKeyProperty.getName();
+            }
+            keyPaths.add(path);
+        }
+
+        StringBuilder where = new StringBuilder();
+        Map<String, Object> parameters = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Object id = ids.get(i);
+            if (i > 0) {
+                where.append(" or ");
+            }
+            where.append('(');
+            for (int j = 0; j < keyProperties.size(); j++) {
+                MetaProperty keyProperty = keyProperties.get(j);
+                Object value = EntityValues.getValue(id, keyProperty.getName());
+                if (value != null && keyProperty.getRange().isClass()) {
+                    value = EntityValues.getId(value);
+                }
+                if (j > 0) {
+                    where.append(" and ");
+                }
+                where.append(keyPaths.get(j));
+                if (value == null) {
+                    where.append(" is null");
+                } else {
+                    String paramName = "entityId" + i + "_" + j;
+                    where.append(" = :").append(paramName);
+                    parameters.put(paramName, value);
+                }
+            }
+            where.append(')');
+        }
+
+        resultQuery = String.format("select e from %s e where %s", entityName, where);
+        resultParameters = parameters;
+    }
+
     protected MetaProperty getPrimaryKeyProperty() {
         MetaClass metaClass = metadata.getClass(entityName);
         MetaProperty property = metadataTools.getPrimaryKeyProperty(metaClass);
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.data.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.jmix.core.Sort;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.JpqlCondition;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
+import io.jmix.core.querycondition.PropertyConditionUtils;
+import io.jmix.data.DataProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Caches JPQL query strings built by {@link JpqlQueryBuilder}. Entries are keyed by the structure of the query:
+ * the source query text, entity name, actualized condition, sort with its JPQL expressions, count flag and value
+ * properties.
+ * Parameter values are not part of the key, so a query which differs only by parameter values
+ * skips parsing and transformation.
+ * <p>
+ * The cache size is defined by the {@code jmix.data.jpql-query-cache-size} property, zero disables the cache.
+ * Cache statistics are published to the {@link MeterRegistry} as {@code cache.*} meters
+ * with the {@code cache=jmix.data.jpqlQueryCache} tag.
+ */
+@Component("data_JpqlQueryCache")
+public class JpqlQueryCache {
+
+    public static final String CACHE_NAME = "jmix.data.jpqlQueryCache";
+
+    protected final Cache<Key, Entry> cache;
+    protected final boolean enabled;
+
+    @Autowired
+    public JpqlQueryCache(DataProperties properties, MeterRegistry meterRegistry) {
+        int cacheSize = properties.getJpqlQueryCacheSize();
+        enabled = cacheSize > 0;
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(cacheSize, 0))
+                .recordStats()
+                .build();
+        if (enabled) {
+            GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates a cache key for the given structural inputs of the query.
+     *
+     * @param sourceQuery    query string before applying condition, sort and count transformations
+     * @param entityName     name of the loaded entity
+     * @param condition      actualized condition
+     * @param sort           sort
+     * @param sortExpressions JPQL order expressions of the sort, they depend on the
+     *                        {@link io.jmix.data.persistence.JpqlSortExpressionProvider}
+     * @param countQuery     whether the count query is built
+     * @param valueProperties value properties of the KeyValue query
+     * @return the key or null if the cache is disabled or the result cannot be cached,
+     * e.g. it depends on parameter values or on conditions of unknown types
+     */
+    @Nullable
+    public Key createKey(String sourceQuery,
+                         @Nullable String entityName,
+                         @Nullable Condition condition,
+                         @Nullable Sort sort,
+                         @Nullable Map<String, Sort.Direction> sortExpressions,
+                         boolean countQuery,
+                         @Nullable List<String> valueProperties) {
+        if (!enabled || sourceQuery == null) {
+            return null;
+        }
+
+        StringBuilder conditionSignature = new StringBuilder();
+        if (condition != null && !appendConditionSignature(conditionSignature, condition)) {
+            return null;
+        }
+
+        StringBuilder sortSignature = new StringBuilder();
+        if (sort != null && !countQuery) {
+            for (Sort.Order order : sort.getOrders()) {
+                if (order.getProperty().contains("+")) {
+                    // dynamic attributes
+                    return null;
+                }
+                sortSignature.append(order.getProperty()).append(' ').append(order.getDirection()).append(',');
+            }
+            if (sortExpressions != null) {
+                for (Map.Entry<String, Sort.Direction> entry : sortExpressions.entrySet()) {
+                    sortSignature.append('|').append(entry.getKey()).append(' ').append(entry.getValue());
+                }
+            }
+        }
+
+        return new Key(sourceQuery, entityName, conditionSignature.toString(), sortSignature.toString(), countQuery,
+                valueProperties == null ? null : new ArrayList<>(valueProperties));
+    }
+
+    @Nullable
+    public Entry get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(Key key, Entry entry) {
+        cache.put(key, entry);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Appends the signature of the condition tree which determines the generated JPQL.
+     *
+     * @return false if the generated JPQL cannot be determined by the condition structure
+     */
+    protected boolean appendConditionSignature(StringBuilder sb, Condition condition) {
+        if (condition.getClass() == LogicalCondition.class) {
+            LogicalCondition logicalCondition = (LogicalCondition) condition;
+            sb.append(logicalCondition.getType()).append('(');
+            for (Condition child : logicalCondition.getConditions()) {
+                if (!appendConditionSignature(sb, child)) {
+                    return false;
+                }
+                sb.append(',');
+            }
+            sb.append(')');
+            return true;
+        } else if (condition.getClass() == PropertyCondition.class) {
+            PropertyCondition propertyCondition = (PropertyCondition) condition;
+            if (propertyCondition.getProperty() == null
+                    || propertyCondition.getProperty().contains("+")
+                    || PropertyConditionUtils.isInIntervalOperation(propertyCondition)) {
+                // dynamic attribute conditions depend on attribute definitions,
+                // "in interval" JPQL is produced by the parameter value
+                return false;
+            }
+            sb.append("P[").append(propertyCondition.getProperty())
+                    .append('|').append(propertyCondition.getOperation())
+                    .append('|').append(propertyCondition.getParameterName());
+            if (PropertyConditionUtils.isUnaryOperation(propertyCondition)) {
+                sb.append('|').append(Boolean.TRUE.equals(propertyCondition.getParameterValue()));
+            }
+            sb.append(']');
+            return true;
+        } else if (condition.getClass() == JpqlCondition.class) {
+            JpqlCondition jpqlCondition = (JpqlCondition) condition;
+            sb.append("J[").append(jpqlCondition.getJoin())
+                    .append('|').append(jpqlCondition.getWhere())
+                    .append(']');
+            return true;
+        }
+        return false;
+    }
+
+    public static class Key {
+        protected final String sourceQuery;
+        protected final String entityName;
+        protected final String conditionSignature;
+        protected final String sortSignature;
+        protected final boolean countQuery;
+        protected final List<String> valueProperties;
+        protected final int hashCode;
+
+        protected Key(String sourceQuery, @Nullable String entityName, String conditionSignature,
+                      String sortSignature, boolean countQuery, @Nullable List<String> valueProperties) {
+            this.sourceQuery = sourceQuery;
+            this.entityName = entityName;
+            this.conditionSignature = conditionSignature;
+            this.sortSignature = sortSignature;
+            this.countQuery = countQuery;
+            this.valueProperties = valueProperties;
+            this.hashCode = Objects.hash(sourceQuery, entityName, conditionSignature, sortSignature, countQuery,
+                    valueProperties);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return hashCode == key.hashCode
+                    && countQuery == key.countQuery
+                    && sourceQuery.equals(key.sourceQuery)
+                    && Objects.equals(entityName, key.entityName)
+                    && conditionSignature.equals(key.conditionSignature)
+                    && sortSignature.equals(key.sortSignature)
+                    && Objects.equals(valueProperties, key.valueProperties);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public static class Entry {
+        protected final String query;
+        protected final Set<String> paramNames;
+
+        public Entry(String query, Set<String> paramNames) {
+            this.query = query;
+            this.paramNames = Collections.unmodifiableSet(paramNames);
+        }
+
+        /**
+         * @return resulting JPQL query
+         */
+        public String getQuery() {
+            return query;
+        }
+
+        /**
+         * @return names of parameters used in the resulting query
+         */
+        public Set<String> getParamNames() {
+            return paramNames;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.jmix.data.impl;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.annotation.Internal;
@@ -24,22 +25,39 @@ import io.jmix.core.entity.annotation.JmixGeneratedValue;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.data.DataProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Intermediate cache for generated ids of entities with long/integer PK.
  * The cache size is determined by the {@code jmix.data.numberIdCacheSize} property.
+ * <p>
+ * Block refills are counted by the {@code jmix.data.numberIdCache.refills} counter, the time callers wait
+ * for the next block is recorded by the {@code jmix.data.numberIdCache.refillWait} timer.
+ * <p>
+ * Next blocks are prefetched by a single background thread, so at most one sequence is queried at a time and
+ * the number of pending prefetches does not exceed the number of sequences. The prefetch runs outside the
+ * transaction of the caller, so the sequence is advanced even if the caller's transaction is rolled back.
  */
 @Component("data_NumberIdCache")
 public class NumberIdCache {
 
+    private static final Logger log = LoggerFactory.getLogger(NumberIdCache.class);
+
     @Autowired
     protected Metadata metadata;
     @Autowired
@@ -49,14 +67,69 @@ public class NumberIdCache {
     @Autowired
     private MetadataTools metadataTools;
 
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
     protected ConcurrentMap<String, Generator> cache = new ConcurrentHashMap<>();
 
+    protected ExecutorService prefetchExecutor;
+
+    protected Counter syncRefillCounter;
+    protected Counter prefetchRefillCounter;
+    protected Timer refillWaitTimer;
+
+    @PostConstruct
+    protected void init() {
+        prefetchExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("jmix-number-id-prefetch-%d")
+                .setDaemon(true)
+                .build());
+
+        syncRefillCounter = Counter.builder("jmix.data.numberIdCache.refills")
+                .tag("mode", "sync")
+                .description("Number of id blocks fetched on the caller thread")
+                .register(meterRegistry);
+        prefetchRefillCounter = Counter.builder("jmix.data.numberIdCache.refills")
+                .tag("mode", "prefetch")
+                .description("Number of id blocks fetched in background")
+                .register(meterRegistry);
+        refillWaitTimer = Timer.builder("jmix.data.numberIdCache.refillWait")
+                .description("Time spent by callers waiting for the next id block")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    /**
+     * Range of ids {@code (start, end]} obtained from a sequence.
+     */
+    protected static class Block {
+        protected final long start;
+        protected final long end;
+        protected final AtomicLong counter;
+
+        public Block(long start, long size) {
+            this.start = start;
+            this.end = start + size;
+            this.counter = new AtomicLong(start);
+        }
+    }
+
+    /**
+     * Hands out ids of the current block by an atomic counter. When half of the block is consumed, the next block
+     * is requested from the sequence in background, so callers normally do not wait for the database at block
+     * boundaries. Blocks of size 1 are fetched synchronously, as prefetching would waste every second value.
+     */
     protected class Generator {
-        protected long counter;
-        protected long sequenceValue;
-        protected String entityName;
-        protected String sequenceName;
-        protected boolean cached;
+        protected final String entityName;
+        protected final String sequenceName;
+        protected final boolean cached;
+
+        protected final AtomicReference<Block> current = new AtomicReference<>();
+        protected final AtomicReference<CompletableFuture<Block>> prefetched = new AtomicReference<>();
 
         public Generator(String entityName,
                          @Nullable String sequenceName,
@@ -65,7 +138,7 @@ public class NumberIdCache {
             this.sequenceName = sequenceName;
             this.cached = cached;
             if (useIdCache()) {
-                createCachedCounter();
+                current.set(fetchBlock());
             }
         }
 
@@ -73,21 +146,79 @@ public class NumberIdCache {
             return dataProperties.getNumberIdCacheSize() != 0 && cached;
         }
 
-        protected void createCachedCounter() {
-            sequenceValue = numberIdWorker.createCachedLongId(entityName, sequenceName);
-            counter = sequenceValue;
+        protected Block fetchBlock() {
+            long size = dataProperties.getNumberIdCacheSize();
+            return new Block(numberIdWorker.createCachedLongId(entityName, sequenceName), size);
         }
 
-        public synchronized long getNext() {
+        public long getNext() {
             if (!useIdCache()) {
                 return numberIdWorker.createLongId(entityName, sequenceName);
-            } else {
-                long next = ++counter;
-                if (next > sequenceValue + dataProperties.getNumberIdCacheSize()) {
-                    createCachedCounter();
-                    next = ++counter;
+            }
+            while (true) {
+                Block block = current.get();
+                if (block != null) {
+                    long next = block.counter.incrementAndGet();
+                    if (next <= block.end) {
+                        if (next - block.start == (block.end - block.start + 1) / 2 && block.end - block.start > 1) {
+                            startPrefetch();
+                        }
+                        return next;
+                    }
+                }
+                refill(block);
+            }
+        }
+
+        protected void startPrefetch() {
+            CompletableFuture<Block> future = new CompletableFuture<>();
+            if (prefetched.compareAndSet(null, future)) {
+                try {
+                    prefetchExecutor.execute(() -> {
+                        try {
+                            future.complete(fetchBlock());
+                            prefetchRefillCounter.increment();
+                        } catch (Throwable e) {
+                            future.completeExceptionally(e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+
+        protected synchronized void refill(@Nullable Block exhausted) {
+            if (current.get() != exhausted) {
+                // already refilled by another thread
+                return;
+            }
+            long start = System.nanoTime();
+            Block block = null;
+            CompletableFuture<Block> future = prefetched.getAndSet(null);
+            if (future != null) {
+                try {
+                    block = future.join();
+                } catch (CompletionException | CancellationException e) {
+                    log.warn("Unable to prefetch ids for {}, fetching synchronously", entityName, e);
+                }
+            }
+            if (block == null) {
+                block = fetchBlock();
+                syncRefillCounter.increment();
+            }
+            current.set(block);
+            refillWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        protected void awaitPrefetch() {
+            CompletableFuture<Block> future = prefetched.get();
+            if (future != null) {
+                try {
+                    future.join();
+                } catch (CompletionException | CancellationException e) {
+                    // ignore, the generator is discarded
                 }
-                return next;
             }
         }
     }
@@ -151,6 +282,10 @@ public class NumberIdCache {
      */
     @Internal
     public void reset() {
+        // do not let pending prefetches update sequences after reset
+        for (Generator generator : cache.values()) {
+            generator.awaitPrefetch();
+        }
         cache.clear();
     }
 
@@ -35,8 +35,8 @@ import org.springframework.transaction.support.TransactionTemplate;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
-import javax.persistence.TypedQuery;
 import javax.sql.DataSource;
+import java.sql.Types;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -73,11 +73,7 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
 
     protected TransactionTemplate transaction;
 
-    protected static final int BATCH_SIZE = 100;
-
-    protected static final int DELETE_BATCH_SIZE = 100;
-
-    protected static final int INACTIVE_DELETION_MAX = 100000;
+    protected static final int BATCH_SIZE = 1000;
 
     @Autowired
     protected void setDataSource(DataSource dataSource) {
@@ -181,9 +177,7 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
         if (idList.isEmpty())
             return;
 
-        //todo MG
-//        UUID userSessionId = userSessionSource.getUserSession().getId();
-        UUID userSessionId = UUID.randomUUID();
+        UUID userSessionId = getUserSessionId();
         long start = System.currentTimeMillis();
         String logMsg = "Insert " + idList.size() + " query results for " + userSessionId + " / " + queryKey;
         log.debug(logMsg);
@@ -202,18 +196,16 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
                 columnName = "ENTITY_ID";
             }
 
-            String userSessionIdStr = converter.getSqlObject(userSessionId).toString(); // assuming that UUID can be passed to query as string in all databases
-            String sql = String.format("insert into SYS_QUERY_RESULT (SESSION_ID, QUERY_KEY, %s) values ('%s', %s, ?)",
-                    columnName, userSessionIdStr, queryKey);
-            int[] paramTypes = new int[]{converter.getSqlType(idFromList.getClass())};
+            String sql = String.format("insert into SYS_QUERY_RESULT (SESSION_ID, QUERY_KEY, %s) values (?, ?, ?)",
+                    columnName);
+            Object sessionIdParam = converter.getSqlObject(userSessionId);
+            int[] paramTypes = new int[]{converter.getSqlType(UUID.class), Types.INTEGER,
+                    converter.getSqlType(idFromList.getClass())};
             for (int i = 0; i < idList.size(); i += BATCH_SIZE) {
-                @SuppressWarnings("unchecked")
-                List<UUID> sublist = idList.subList(i, Math.min(i + BATCH_SIZE, idList.size()));
+                List<?> sublist = idList.subList(i, Math.min(i + BATCH_SIZE, idList.size()));
                 List<Object[]> params = new ArrayList<>(sublist.size());
-                for (int j = 0; j < sublist.size(); j++) {
-                    Object[] row = new Object[1];
-                    row[0] = sublist.get(j);
-                    params.add(row);
+                for (Object id : sublist) {
+                    params.add(new Object[]{sessionIdParam, queryKey, converter.getSqlObject(id)});
                 }
                 jdbcTemplate.batchUpdate(sql, params, paramTypes);
             }
@@ -224,31 +216,20 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
     @Override
     public void delete(int queryKey) {
         DbTypeConverter converter = dbmsSpecifics.getDbTypeConverter();
-        //todo MG
-//        UUID userSessionId = userSessionSource.getUserSession().getId();
-        UUID userSessionId = UUID.randomUUID();
-        String userSessionIdStr = converter.getSqlObject(userSessionId).toString();
+        UUID userSessionId = getUserSessionId();
         long start = System.currentTimeMillis();
         String logMsg = "Delete query results for " + userSessionId + " / " + queryKey;
         log.debug(logMsg);
 
-        String sql = "delete from SYS_QUERY_RESULT where SESSION_ID = '"
-                + userSessionIdStr + "' and QUERY_KEY = " + queryKey;
-
-        jdbcTemplate.update(sql);
+        jdbcTemplate.update("delete from SYS_QUERY_RESULT where SESSION_ID = ? and QUERY_KEY = ?",
+                converter.getSqlObject(userSessionId), queryKey);
 
         log.debug("Done in " + (System.currentTimeMillis() - start) + "ms : " + logMsg);
     }
 
     @Override
     public void deleteForCurrentSession() {
-        DbTypeConverter converter = dbmsSpecifics.getDbTypeConverter();
-        //todo MG
-//        UUID userSessionId = userSessionSource.getUserSession().getId();
-        UUID userSessionId = UUID.randomUUID();
-        String userSessionIdStr = converter.getSqlObject(userSessionId).toString();
-        jdbcTemplate.update("delete from SYS_QUERY_RESULT where SESSION_ID = '"
-                + userSessionIdStr + "'");
+        deleteForSession(getUserSessionId());
     }
 
     @Override
@@ -256,48 +237,50 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
         internalDeleteForInactiveSessions();
     }
 
+    /**
+     * Deletes results of sessions which are not active anymore. Results of each session are deleted
+     * by a single statement.
+     */
     public void internalDeleteForInactiveSessions() {
         log.debug("Delete query results for inactive user sessions");
 
-        List<Object[]> rows = transaction.execute(status -> {
-            TypedQuery<Object[]> query = entityManager.createQuery(
-                    "select e.id, e.sessionId from sys$QueryResult e", Object[].class);
-            query.setMaxResults(INACTIVE_DELETION_MAX);
-            return query.getResultList();
-        });
-        assert rows != null;
-        if (rows.size() == INACTIVE_DELETION_MAX) {
-            log.debug("Processing " + INACTIVE_DELETION_MAX + " records, run again for the rest");
-        }
+        Set<String> activeSessionIdStrings = getActiveSessionIds().stream()
+                .map(id -> dbmsSpecifics.getDbTypeConverter().getSqlObject(id).toString())
+                .collect(Collectors.toSet());
 
-        //todo MG
-//        Set<UUID> sessionIds = userSessions.getUserSessionsStream().map(UserSession::getId).collect(Collectors.toSet());
-        Set<UUID> sessionIds = new HashSet<>();
-
-        List<Long> ids = new ArrayList<>();
-        int i = 0;
-        for (Object[] row : rows) {
-            if (!sessionIds.contains((UUID) row[1])) {
-                ids.add((Long) row[0]);
+        List<Object> sessionIds = jdbcTemplate.query("select distinct SESSION_ID from SYS_QUERY_RESULT",
+                (rs, rowNum) -> dbmsSpecifics.getDbTypeConverter().getJavaObject(rs, 1));
+        for (Object sessionId : sessionIds) {
+            if (sessionId == null) {
+                continue;
             }
-            i++;
-            if (i % DELETE_BATCH_SIZE == 0) {
-                if (!ids.isEmpty())
-                    delete(ids);
-                ids.clear();
+            UUID uuid = sessionId instanceof UUID ? (UUID) sessionId : UUID.fromString(sessionId.toString());
+            String sessionIdStr = dbmsSpecifics.getDbTypeConverter().getSqlObject(uuid).toString();
+            if (!activeSessionIdStrings.contains(sessionIdStr)) {
+                deleteForSession(uuid);
             }
         }
-        if (!ids.isEmpty())
-            delete(ids);
     }
 
-    protected void delete(List<Long> ids) {
-        log.debug("Deleting " + ids.size() + " records");
-        String str = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    protected void deleteForSession(UUID sessionId) {
+        log.debug("Delete query results for {}", sessionId);
         try {
-            jdbcTemplate.update("delete from SYS_QUERY_RESULT where ID in (" + str + ")");
+            jdbcTemplate.update("delete from SYS_QUERY_RESULT where SESSION_ID = ?",
+                    dbmsSpecifics.getDbTypeConverter().getSqlObject(sessionId));
         } catch (DataAccessException e) {
             throw new RuntimeException("Error deleting query result records", e);
         }
     }
+
+    protected UUID getUserSessionId() {
+        //todo MG
+//        return userSessionSource.getUserSession().getId();
+        return UUID.randomUUID();
+    }
+
+    protected Set<UUID> getActiveSessionIds() {
+        //todo MG
+//        return userSessions.getUserSessionsStream().map(UserSession::getId).collect(Collectors.toSet());
+        return new HashSet<>();
+    }
 }
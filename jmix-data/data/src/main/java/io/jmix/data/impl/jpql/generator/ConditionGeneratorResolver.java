@@ -20,7 +20,10 @@ import io.jmix.core.common.util.Preconditions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Component("data_ConditionGeneratorResolver")
 public class ConditionGeneratorResolver {
@@ -28,6 +31,15 @@ public class ConditionGeneratorResolver {
     @Autowired
     protected List<ConditionGenerator> conditionGenerators;
 
+    /**
+     * Generators which produce JPQL defined by the structure of conditions and not by parameter values.
+     */
+    protected static final Set<Class<?>> STANDARD_GENERATOR_CLASSES = new HashSet<>(Arrays.asList(
+            JpqlConditionGenerator.class,
+            LogicalConditionGenerator.class,
+            PropertyConditionGenerator.class,
+            KeyValuePropertyConditionGenerator.class));
+
     public ConditionGenerator getConditionGenerator(ConditionGenerationContext context) {
         Preconditions.checkNotNullArgument(context);
 
@@ -40,4 +52,23 @@ public class ConditionGeneratorResolver {
         throw new IllegalStateException(String.format("Can't find condition generator for '%s' condition",
                 context.getCondition()));
     }
+
+    /**
+     * Returns true if the condition of the context and all nested conditions are processed by the standard
+     * generators of this module, so the generated JPQL can be reused for other parameter values.
+     */
+    public boolean isStandardGeneration(ConditionGenerationContext context) {
+        if (context.getCondition() == null) {
+            return true;
+        }
+        if (!STANDARD_GENERATOR_CLASSES.contains(getConditionGenerator(context).getClass())) {
+            return false;
+        }
+        for (ConditionGenerationContext childContext : context.getChildContexts().values()) {
+            if (!isStandardGeneration(childContext)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
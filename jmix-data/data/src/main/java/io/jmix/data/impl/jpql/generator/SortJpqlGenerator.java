@@ -54,11 +54,27 @@ public class SortJpqlGenerator {
     private static final Logger log = org.slf4j.LoggerFactory.getLogger(SortJpqlGenerator.class);
 
     public String processQuery(String entityName, List<String> valueProperties, String queryString, Sort sort) {
-        List<Sort.Order> orders = sort.getOrders();
-        if (orders.isEmpty()) {
+        if (sort.getOrders().isEmpty()) {
             return queryString;
         }
+        return processQuery(queryString, getSortExpressions(entityName, valueProperties, queryString, sort));
+    }
+
+    /**
+     * Returns a JPQL query with the order by clause replaced by the given sort expressions.
+     *
+     * @param sortExpressions result of {@link #getSortExpressions(String, List, String, Sort)}
+     */
+    public String processQuery(String queryString, Map<String, Sort.Direction> sortExpressions) {
+        return transformQuery(queryString, sortExpressions, Sort.Direction.ASC);
+    }
 
+    /**
+     * Returns JPQL order expressions for the sort, including expressions provided by
+     * the {@link JpqlSortExpressionProvider}.
+     */
+    public Map<String, Sort.Direction> getSortExpressions(String entityName, List<String> valueProperties,
+                                                          String queryString, Sort sort) {
         Sort.Direction defaultSort = Sort.Direction.ASC;
 
         Map<String, Sort.Direction> sortExpressions = new LinkedHashMap<>();
@@ -81,7 +97,7 @@ public class SortJpqlGenerator {
             }
         }
 
-        return transformQuery(queryString, sortExpressions, defaultSort);
+        return sortExpressions;
     }
 
     protected Map<String, Sort.Direction> getUniqueSortExpression(Map<String, Sort.Direction> sortExpressions, MetaClass metaClass, Sort.Direction direction) {
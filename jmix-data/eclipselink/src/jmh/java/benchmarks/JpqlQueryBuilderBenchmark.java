@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmarks;
+
+import io.jmix.core.CoreConfiguration;
+import io.jmix.core.Sort;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
+import io.jmix.data.DataConfiguration;
+import io.jmix.data.impl.JpqlQueryBuilder;
+import io.jmix.eclipselink.EclipselinkConfiguration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import test_support.DataTestConfiguration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput of {@link JpqlQueryBuilder} with the JPQL query cache disabled ({@code cacheSize = 0})
+ * and enabled.
+ * <p>
+ * Run with {@code ./gradlew :eclipselink:jmh -PjmhArgs="JpqlQueryBuilderBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JpqlQueryBuilderBenchmark {
+
+    @Param({"0", "1000"})
+    public int cacheSize;
+
+    protected AnnotationConfigApplicationContext context;
+
+    protected int counter;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Collections.singletonMap("jmix.data.jpql-query-cache-size", String.valueOf(cacheSize))));
+        context.register(CoreConfiguration.class, DataConfiguration.class, EclipselinkConfiguration.class,
+                DataTestConfiguration.class);
+        context.refresh();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void listQuery(Blackhole blackhole) {
+        JpqlQueryBuilder queryBuilder = createBuilder();
+        queryBuilder.setSort(Sort.by(Sort.Direction.DESC, "number"));
+        blackhole.consume(queryBuilder.getResultQueryString());
+        blackhole.consume(queryBuilder.getResultParameters());
+    }
+
+    @Benchmark
+    public void countQuery(Blackhole blackhole) {
+        JpqlQueryBuilder queryBuilder = createBuilder();
+        queryBuilder.setCountQuery();
+        blackhole.consume(queryBuilder.getResultQueryString());
+        blackhole.consume(queryBuilder.getResultParameters());
+    }
+
+    protected JpqlQueryBuilder createBuilder() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("number", "n" + (counter++ % 100));
+        parameters.put("customerName", "customer");
+
+        JpqlQueryBuilder queryBuilder = context.getBean(JpqlQueryBuilder.class);
+        queryBuilder.setQueryString("select e from sales_Order e where e.amount > 0")
+                .setEntityName("sales_Order")
+                .setCondition(LogicalCondition.and(
+                        PropertyCondition.createWithParameterName("number",
+                                PropertyCondition.Operation.EQUAL, "number"),
+                        PropertyCondition.createWithParameterName("customer.name",
+                                PropertyCondition.Operation.CONTAINS, "customerName")))
+                .setQueryParameters(parameters);
+        return queryBuilder;
+    }
+}
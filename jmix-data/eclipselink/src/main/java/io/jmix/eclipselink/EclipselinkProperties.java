@@ -25,11 +25,26 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public class EclipselinkProperties {
     boolean queryCacheEnabled;
 
-    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled) {
+    /**
+     * Maximum number of fetch group descriptions calculated from fetch plans and cached by
+     * {@link io.jmix.eclipselink.impl.FetchGroupManager}. Zero disables the cache.
+     */
+    int fetchGroupCacheSize;
+
+    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled,
+                                 @DefaultValue("1000") int fetchGroupCacheSize) {
         this.queryCacheEnabled = queryCacheEnabled;
+        this.fetchGroupCacheSize = fetchGroupCacheSize;
     }
 
     public boolean isQueryCacheEnabled() {
         return queryCacheEnabled;
     }
+
+    /**
+     * @see #fetchGroupCacheSize
+     */
+    public int getFetchGroupCacheSize() {
+        return fetchGroupCacheSize;
+    }
 }
@@ -16,14 +16,20 @@
 
 package io.jmix.eclipselink.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.event.FetchPlanRepositoryChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.data.QueryParser;
 import io.jmix.data.QueryTransformerFactory;
+import io.jmix.eclipselink.EclipselinkProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.jpa.JpaQuery;
@@ -33,10 +39,12 @@ import org.eclipse.persistence.queries.LoadGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
 import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -44,6 +52,8 @@ import java.util.stream.Collectors;
 @Component("eclipselink_FetchGroupManager")
 public class FetchGroupManager {
 
+    public static final String CACHE_NAME = "jmix.eclipselink.fetchGroupCache";
+
     private final Logger log = LoggerFactory.getLogger(FetchGroupManager.class);
 
     @Autowired
@@ -64,6 +74,41 @@ public class FetchGroupManager {
     @Autowired
     private FetchPlans fetchPlans;
 
+    @Autowired
+    private EclipselinkProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Nullable
+    private Cache<FetchGroupKey, FetchGroupDescription> descriptionCache;
+
+    @PostConstruct
+    protected void init() {
+        int cacheSize = properties.getFetchGroupCacheSize();
+        if (cacheSize > 0) {
+            descriptionCache = CacheBuilder.newBuilder()
+                    .maximumSize(cacheSize)
+                    .recordStats()
+                    .build();
+            GuavaCacheMetrics.monitor(meterRegistry, descriptionCache, CACHE_NAME);
+        }
+    }
+
+    /**
+     * Discards cached fetch group descriptions, as they can refer to named fetch plans of the repository.
+     */
+    @EventListener
+    protected void onFetchPlanRepositoryChanged(FetchPlanRepositoryChangedEvent event) {
+        invalidateCache();
+    }
+
+    public void invalidateCache() {
+        if (descriptionCache != null) {
+            descriptionCache.invalidateAll();
+        }
+    }
+
     public void setFetchPlan(JpaQuery query, String queryString, @Nullable FetchPlan fetchPlan, boolean singleResultExpected) {
         Preconditions.checkNotNullArgument(query, "query is null");
         if (fetchPlan != null) {
@@ -133,10 +178,33 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Calculates fetch group attributes and fetch hints for the query and the fetch plan.
+     * <p>
+     * Results are cached by the query string, the fetch plan contents and the flags, so the returned description
+     * can be shared between queries and must not be modified.
+     */
     public FetchGroupDescription calculateFetchGroup(String queryString,
                                                      FetchPlan fetchPlan,
                                                      boolean singleResultExpected,
                                                      boolean useFetchGroup) {
+        if (descriptionCache == null) {
+            return doCalculateFetchGroup(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+        }
+        FetchGroupKey key = new FetchGroupKey(queryString, metadata.getClass(fetchPlan.getEntityClass()), fetchPlan,
+                singleResultExpected, useFetchGroup);
+        FetchGroupDescription description = descriptionCache.getIfPresent(key);
+        if (description == null) {
+            description = doCalculateFetchGroup(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+            descriptionCache.put(key, description);
+        }
+        return description;
+    }
+
+    private FetchGroupDescription doCalculateFetchGroup(String queryString,
+                                                        FetchPlan fetchPlan,
+                                                        boolean singleResultExpected,
+                                                        boolean useFetchGroup) {
         Set<FetchGroupField> fetchGroupFields = new LinkedHashSet<>();
 
         fetchPlan = completeFetchPlan(fetchPlan);
@@ -663,6 +731,68 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Key of the cached {@link FetchGroupDescription}. Fetch plans are compared by contents, the hash code
+     * covering nested plans is calculated once.
+     */
+    protected static class FetchGroupKey {
+        private final String queryString;
+        private final MetaClass metaClass;
+        private final FetchPlan fetchPlan;
+        private final boolean singleResultExpected;
+        private final boolean useFetchGroup;
+        private final int hashCode;
+
+        public FetchGroupKey(String queryString, MetaClass metaClass, FetchPlan fetchPlan,
+                             boolean singleResultExpected, boolean useFetchGroup) {
+            this.queryString = queryString;
+            this.metaClass = metaClass;
+            this.fetchPlan = fetchPlan;
+            this.singleResultExpected = singleResultExpected;
+            this.useFetchGroup = useFetchGroup;
+
+            int result = queryString.hashCode();
+            result = 31 * result + metaClass.hashCode();
+            result = 31 * result + fetchPlanHashCode(fetchPlan);
+            result = 31 * result + (singleResultExpected ? 1 : 0);
+            result = 31 * result + (useFetchGroup ? 1 : 0);
+            this.hashCode = result;
+        }
+
+        private static int fetchPlanHashCode(FetchPlan fetchPlan) {
+            int result = fetchPlan.hashCode();
+            result = 31 * result + (fetchPlan.loadPartialEntities() ? 1 : 0);
+            for (FetchPlanProperty property : fetchPlan.getProperties()) {
+                result = 31 * result + property.getName().hashCode();
+                result = 31 * result + property.getFetchMode().hashCode();
+                if (property.getFetchPlan() != null) {
+                    result = 31 * result + fetchPlanHashCode(property.getFetchPlan());
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            FetchGroupKey that = (FetchGroupKey) o;
+
+            return hashCode == that.hashCode
+                    && singleResultExpected == that.singleResultExpected
+                    && useFetchGroup == that.useFetchGroup
+                    && queryString.equals(that.queryString)
+                    && metaClass.equals(that.metaClass)
+                    && fetchPlan.equals(that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     private static class OccurrenceDescription {
         private final FetchPlan fetchPlan;
         private final String path;
@@ -46,6 +46,7 @@ import org.eclipse.persistence.internal.jpa.EJBQueryImpl;
 import org.eclipse.persistence.jpa.JpaQuery;
 import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
+import org.eclipse.persistence.queries.ScrollableCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanFactory;
@@ -423,6 +424,39 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
         }
     }
 
+    /**
+     * Executes the query with a scrollable cursor which reads rows from the JDBC result set by {@code fetchSize}.
+     * The query cache is not used. Fetch plans are not applied to the returned entities, invoke
+     * {@link #applyFetchPlans(Object)} for each entity read from the cursor.
+     *
+     * @param fetchSize JDBC fetch size
+     * @return the cursor which must be closed after use
+     */
+    public ScrollableCursor getResultCursor(int fetchSize) {
+        logQueryString();
+
+        singleResultExpected = false;
+
+        JpaQuery<E> query = getQuery();
+        preExecute(query);
+
+        query.setHint(QueryHints.SCROLLABLE_CURSOR, HintValues.TRUE);
+        query.setHint(QueryHints.JDBC_FETCH_SIZE, fetchSize);
+
+        return (ScrollableCursor) query.getSingleResult();
+    }
+
+    /**
+     * Loads attributes of the fetch plans of this query which could not be loaded by the query itself.
+     */
+    public void applyFetchPlans(Object item) {
+        if (item instanceof Entity) {
+            for (FetchPlan fetchPlan : fetchPlans) {
+                entityFetcher.fetch((Entity) item, fetchPlan);
+            }
+        }
+    }
+
     public String getQueryString() {
         return queryString;
     }
@@ -813,6 +847,7 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
             String entityName = parser.getEntityName();
             useQueryCache = parser.isEntitySelect(entityName);
             QueryKey queryKey = null;
+            long cacheGeneration = queryCacheMgr.getGeneration();
             if (useQueryCache) {
                 queryKey = QueryKey.create(
                         transformedQueryString,
@@ -830,7 +865,7 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
                 result = singleResult ? jpaQuery.getSingleResult() : jpaQuery.getResultList();
             } catch (NoResultException | NonUniqueResultException ex) {
                 if (useQueryCache && singleResult) {
-                    queryCacheMgr.putResultToCache(queryKey, null, entityName, parser.getAllEntityNames(), ex);
+                    queryCacheMgr.putResultToCache(queryKey, null, entityName, parser.getAllEntityNames(), ex, cacheGeneration);
                 }
                 throw ex;
             }
@@ -838,7 +873,7 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
             if (useQueryCache) {
                 queryCacheMgr.putResultToCache(queryKey,
                         singleResult ? Collections.singletonList(result) : (List) result,
-                        entityName, parser.getAllEntityNames());
+                        entityName, parser.getAllEntityNames(), cacheGeneration);
             }
         } else {
             result = singleResult ? jpaQuery.getSingleResult() : jpaQuery.getResultList();
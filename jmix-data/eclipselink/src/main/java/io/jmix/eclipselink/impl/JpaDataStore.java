@@ -20,6 +20,7 @@ import com.google.common.collect.Lists;
 import io.jmix.core.Id;
 import io.jmix.core.*;
 import io.jmix.core.datastore.AbstractDataStore;
+import io.jmix.core.datastore.EntityCursor;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
@@ -30,14 +31,18 @@ import io.jmix.data.QueryTransformerFactory;
 import io.jmix.data.StoreAwareLocator;
 import io.jmix.data.accesscontext.ReadEntityQueryContext;
 import io.jmix.data.exception.UniqueConstraintViolationException;
+import io.jmix.data.impl.DefaultJpqlSortExpressionProvider;
 import io.jmix.data.impl.EntityChangedEventInfo;
 import io.jmix.data.impl.EntityEventManager;
+import io.jmix.data.impl.IdBatchPadding;
 import io.jmix.data.impl.JpqlQueryBuilder;
 import io.jmix.data.impl.QueryResultsManager;
 import io.jmix.data.persistence.DbmsSpecifics;
+import io.jmix.data.persistence.JpqlSortExpressionProvider;
 import io.jmix.eclipselink.impl.lazyloading.LazyLoadingContext;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.exceptions.QueryException;
+import org.eclipse.persistence.queries.ScrollableCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
@@ -118,10 +123,18 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     @Autowired
     protected FetchPlanRepository fetchPlanRepository;
 
+    @Autowired
+    protected IdBatchPadding idBatchPadding;
+
+    @Autowired
+    protected JpqlSortExpressionProvider sortExpressionProvider;
+
     protected String storeName;
 
     protected static final AtomicLong txCount = new AtomicLong();
 
+    protected static final int MAX_COMPOSITE_IDS_BATCH_SIZE = 100;
+
     @Override
     public String getName() {
         return storeName;
@@ -149,18 +162,16 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     @Override
     @SuppressWarnings("unchecked")
     protected List<Object> loadAll(LoadContext<?> context) {
-        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
-
         queryResultsManager.savePreviousQueryResults(context);
 
         EntityManager em = storeAwareLocator.getEntityManager(storeName);
         em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
 
         if (!context.getIds().isEmpty()) {
-            if (metadataTools.hasCompositePrimaryKey(metaClass)) {
-                return loadAllByIds(context, em);
-            } else {
+            if (isLoadableByIdBatches(context.getEntityMetaClass())) {
                 return loadAllByIdBatches(context, em);
+            } else {
+                return loadAllByIds(context, em);
             }
         } else {
             Query query = createQuery(em, context, false);
@@ -168,6 +179,63 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         }
     }
 
+    @Override
+    protected boolean isKeysetPaginationSupported() {
+        // a custom provider may sort by expressions, e.g. upper(e.name), which keyset conditions do not compare
+        return sortExpressionProvider.getClass() == DefaultJpqlSortExpressionProvider.class;
+    }
+
+    @Override
+    protected EntityCursor openCursor(LoadContext<?> context) {
+        queryResultsManager.savePreviousQueryResults(context);
+
+        EntityManager em = storeAwareLocator.getEntityManager(storeName);
+        em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
+
+        JmixEclipseLinkQuery<?> query = (JmixEclipseLinkQuery<?>) createQuery(em, context, false);
+        ScrollableCursor cursor = query.getResultCursor(getStreamFetchSize(context));
+        return new JpaEntityCursor(cursor, query::applyFetchPlans);
+    }
+
+    @Override
+    protected int getStreamFetchSize(LoadContext<?> context) {
+        LoadContext.Query query = context.getQuery();
+        return query != null && query.getFetchSize() > 0 ? query.getFetchSize() : properties.getStreamFetchSize();
+    }
+
+    @Override
+    protected void releaseStreamChunk(LoadContext<?> context, List<Object> entities) {
+        EntityManager em = storeAwareLocator.getEntityManager(storeName);
+        for (Object entity : entities) {
+            detachEntity(em, entity, context.getFetchPlan(), false);
+            if (context.isJoinTransaction()) {
+                entityEventManager.publishEntityLoadingEvent(entity);
+            }
+        }
+        if (!context.isJoinTransaction()) {
+            // the persistence context belongs to the own transaction of the stream
+            em.clear();
+        }
+    }
+
+    /**
+     * Returns false if the composite primary key of the entity has a component referencing an entity with
+     * a composite primary key. Such ids cannot be expanded into a batch query and are loaded one by one.
+     */
+    protected boolean isLoadableByIdBatches(MetaClass metaClass) {
+        if (!metadataTools.hasCompositePrimaryKey(metaClass)) {
+            return true;
+        }
+        MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
+        if (primaryKeyProperty == null || !primaryKeyProperty.getRange().isClass()) {
+            return false;
+        }
+        return primaryKeyProperty.getRange().asClass().getProperties().stream()
+                .filter(metadataTools::isJpa)
+                .noneMatch(property -> property.getRange().isClass()
+                        && metadataTools.hasCompositePrimaryKey(property.getRange().asClass()));
+    }
+
     protected List<Object> loadAllByIds(LoadContext<?> context, EntityManager em) {
         LoadContext<?> contextCopy = context.copy();
         contextCopy.setIds(Collections.emptyList());
@@ -187,6 +255,11 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     @SuppressWarnings("unchecked")
     protected List<Object> loadAllByIdBatches(LoadContext<?> context, EntityManager em) {
         Integer batchSize = dbmsSpecifics.getDbmsFeatures(storeName).getMaxIdsBatchSize();
+        boolean compositeKey = metadataTools.hasCompositePrimaryKey(context.getEntityMetaClass());
+        if (compositeKey) {
+            // each composite id is expanded into a separate condition with a parameter per key component
+            batchSize = batchSize == null ? MAX_COMPOSITE_IDS_BATCH_SIZE : Math.min(batchSize, MAX_COMPOSITE_IDS_BATCH_SIZE);
+        }
 
         List<Object> resultList = new ArrayList<>(context.getIds().size());
 
@@ -194,7 +267,10 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
                 batchSize == null ? Integer.MAX_VALUE : batchSize);
         for (List<Object> partition : partitions) {
             LoadContext<Object> contextCopy = (LoadContext<Object>) context.copy();
-            contextCopy.setIds(partition);
+            // composite ids are expanded into a condition per id, so padding would only add duplicate conditions
+            contextCopy.setIds(compositeKey
+                    ? partition
+                    : idBatchPadding.pad(context.getEntityMetaClass().getName(), partition, batchSize));
 
             Query query = createQuery(em, contextCopy, false);
             List<Object> list = executeQuery(query, false);
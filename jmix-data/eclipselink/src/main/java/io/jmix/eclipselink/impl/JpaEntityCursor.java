@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.eclipselink.impl;
+
+import io.jmix.core.datastore.EntityCursor;
+import org.eclipse.persistence.queries.ScrollableCursor;
+
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Reads entities from an EclipseLink {@link ScrollableCursor}.
+ */
+public class JpaEntityCursor implements EntityCursor {
+
+    protected final ScrollableCursor cursor;
+    protected final Consumer<Object> fetcher;
+
+    /**
+     * @param cursor  the cursor of the executed query
+     * @param fetcher invoked for each entity read from the cursor, e.g. to load fetch plan attributes
+     */
+    public JpaEntityCursor(ScrollableCursor cursor, Consumer<Object> fetcher) {
+        this.cursor = cursor;
+        this.fetcher = fetcher;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor.hasNext();
+    }
+
+    @Override
+    public Object next() {
+        if (!cursor.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object entity = cursor.next();
+        fetcher.accept(entity);
+        return entity;
+    }
+
+    @Override
+    public void release() {
+        // the cursor keeps read objects until cleared
+        cursor.clear();
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+}
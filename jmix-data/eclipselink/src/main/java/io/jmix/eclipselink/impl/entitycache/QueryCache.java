@@ -34,6 +34,28 @@ public interface QueryCache {
      */
     void put(QueryKey queryKey, QueryResult queryResult);
 
+    /**
+     * Associates {@code queryResult} with {@code queryKey} in this cache unless any of the result related types
+     * has been invalidated after the {@code generation} was obtained.
+     *
+     * The default implementation does not track invalidations and always puts the result.
+     *
+     * @param generation value of {@link #getGeneration()} obtained before the query execution
+     * @return true if the result has been put into the cache
+     */
+    default boolean put(QueryKey queryKey, QueryResult queryResult, long generation) {
+        put(queryKey, queryResult);
+        return true;
+    }
+
+    /**
+     * Returns the current invalidation generation of this cache. The generation grows on each invalidation.
+     * The default implementation does not track invalidations and returns zero.
+     */
+    default long getGeneration() {
+        return 0;
+    }
+
     /**
      * Discards cached query results for metaClass name {@code typeName}.
      */
@@ -53,4 +75,12 @@ public interface QueryCache {
      * Returns number of entries in this cache.
      */
     long size();
+
+    /**
+     * Returns usage counters of this cache. The default implementation does not collect statistics and returns
+     * empty counters.
+     */
+    default QueryCacheStatistics getStatistics() {
+        return new QueryCacheStatistics();
+    }
 }
@@ -40,6 +40,54 @@ public class QueryCacheManagementFacade {
         return queryCache.size();
     }
 
+    @ManagedAttribute(description = "Number of cache hits")
+    public long getHitCount() {
+        return queryCache.getStatistics().getHitCount();
+    }
+
+    @ManagedAttribute(description = "Number of cache misses")
+    public long getMissCount() {
+        return queryCache.getStatistics().getMissCount();
+    }
+
+    @ManagedAttribute(description = "Number of query results put into cache")
+    public long getPutCount() {
+        return queryCache.getStatistics().getPutCount();
+    }
+
+    @ManagedAttribute(description = "Number of query results rejected because related types were invalidated during query execution")
+    public long getRejectedPutCount() {
+        return queryCache.getStatistics().getRejectedPutCount();
+    }
+
+    @ManagedAttribute(description = "Number of cached queries discarded by invalidation of entity types")
+    public long getEvictionCount() {
+        return queryCache.getStatistics().getEvictionCount();
+    }
+
+    @ManagedAttribute(description = "Number of invalidations")
+    public long getInvalidationCount() {
+        return queryCache.getStatistics().getInvalidationCount();
+    }
+
+    @ManagedAttribute(description = "Average invalidation time in microseconds")
+    public double getAverageInvalidationTimeMicros() {
+        QueryCacheStatistics statistics = queryCache.getStatistics();
+        long count = statistics.getInvalidationCount();
+        return count == 0 ? 0 : statistics.getTotalInvalidationTimeNanos() / 1000.0 / count;
+    }
+
+    @ManagedAttribute(description = "Max invalidation time in microseconds")
+    public double getMaxInvalidationTimeMicros() {
+        return queryCache.getStatistics().getMaxInvalidationTimeNanos() / 1000.0;
+    }
+
+    @ManagedOperation(description = "Reset cache statistics")
+    public String resetStatistics() {
+        queryCache.getStatistics().reset();
+        return "Done";
+    }
+
     @ManagedOperation(description = "Discard all cached queries")
     public String evictAll() {
         queryCacheMgr.invalidateAll();
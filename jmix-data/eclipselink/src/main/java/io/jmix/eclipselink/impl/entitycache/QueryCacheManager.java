@@ -114,6 +114,15 @@ public class QueryCacheManager {
     }
 
 
+    /**
+     * Returns the current invalidation generation of the query cache.
+     * Obtain it before query execution and pass to {@code putResultToCache} methods, so the results
+     * are not cached if related types are invalidated while the query is executed.
+     */
+    public long getGeneration() {
+        return queryCache.getGeneration();
+    }
+
     /**
      * Put query results into query cache for specified query {@code queryKey}.
      * Results are extracted as identifiers from {@code resultList}
@@ -121,8 +130,20 @@ public class QueryCacheManager {
      * @param type         - result entity type (metaClass name)
      * @param relatedTypes - query dependent types (metaClass names). It's a list of entity types used in query
      */
-    @SuppressWarnings("unchecked")
     public void putResultToCache(QueryKey queryKey, List resultList, String type, Set<String> relatedTypes) {
+        putResultToCache(queryKey, resultList, type, relatedTypes, getGeneration());
+    }
+
+    /**
+     * Put query results into query cache for specified query {@code queryKey}.
+     * Results are extracted as identifiers from {@code resultList}
+     *
+     * @param type         - result entity type (metaClass name)
+     * @param relatedTypes - query dependent types (metaClass names). It's a list of entity types used in query
+     * @param generation   - cache generation obtained by {@link #getGeneration()} before the query execution
+     */
+    @SuppressWarnings("unchecked")
+    public void putResultToCache(QueryKey queryKey, List resultList, String type, Set<String> relatedTypes, long generation) {
         QueryResult queryResult;
         if (resultList.size() > 0) {
             List idList = (List) resultList.stream()
@@ -134,7 +155,7 @@ public class QueryCacheManager {
             queryResult = new QueryResult(Collections.emptyList(), type, getDescendants(relatedTypes));
         }
         log.debug("Put results into cache for query: {}, relatedTypes: {}", queryKey.printDescription(), relatedTypes);
-        queryCache.put(queryKey, queryResult);
+        queryCache.put(queryKey, queryResult, generation);
     }
 
     /**
@@ -145,8 +166,21 @@ public class QueryCacheManager {
      * @param relatedTypes - query dependent types (metaClass names). It's a list of entity types used in query
      * @param exception    - store exception in the query cache if {@link TypedQuery#getSingleResult()} throws exception
      */
-    @SuppressWarnings("unchecked")
     public <T> void putResultToCache(QueryKey queryKey, T result, String type, Set<String> relatedTypes, RuntimeException exception) {
+        putResultToCache(queryKey, result, type, relatedTypes, exception, getGeneration());
+    }
+
+    /**
+     * Put query results into query cache for specified query {@code queryKey}.
+     * Results are extracted as identifiers from entity {@code result}
+     *
+     * @param type         - result entity type (metaClass name)
+     * @param relatedTypes - query dependent types (metaClass names). It's a list of entity types used in query
+     * @param exception    - store exception in the query cache if {@link TypedQuery#getSingleResult()} throws exception
+     * @param generation   - cache generation obtained by {@link #getGeneration()} before the query execution
+     */
+    public <T> void putResultToCache(QueryKey queryKey, T result, String type, Set<String> relatedTypes,
+                                     RuntimeException exception, long generation) {
         QueryResult queryResult;
         if (exception == null) {
             queryResult = new QueryResult(Collections.singletonList(EntityValues.getId(((Entity) result))), type, relatedTypes);
@@ -154,7 +188,7 @@ public class QueryCacheManager {
             queryResult = new QueryResult(Collections.emptyList(), type, relatedTypes, exception);
         }
         log.debug("Put results into cache for query: {}, relatedTypes: {}", queryKey.printDescription(), relatedTypes);
-        queryCache.put(queryKey, queryResult);
+        queryCache.put(queryKey, queryResult, generation);
     }
 
     /**
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.eclipselink.impl.entitycache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the {@link QueryCache} usage.
+ */
+public class QueryCacheStatistics {
+
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+    protected final LongAdder puts = new LongAdder();
+    protected final LongAdder rejectedPuts = new LongAdder();
+    protected final LongAdder evictions = new LongAdder();
+    protected final LongAdder invalidations = new LongAdder();
+    protected final LongAdder invalidationTimeNanos = new LongAdder();
+    protected final AtomicLong maxInvalidationTimeNanos = new AtomicLong();
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordPut() {
+        puts.increment();
+    }
+
+    public void recordRejectedPut() {
+        rejectedPuts.increment();
+    }
+
+    public void recordEvictions(long count) {
+        evictions.add(count);
+    }
+
+    public void recordInvalidation(long timeNanos) {
+        invalidations.increment();
+        invalidationTimeNanos.add(timeNanos);
+        maxInvalidationTimeNanos.accumulateAndGet(timeNanos, Math::max);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getPutCount() {
+        return puts.sum();
+    }
+
+    /**
+     * Returns number of results which have not been put into the cache because related types
+     * were invalidated while the query was executed.
+     */
+    public long getRejectedPutCount() {
+        return rejectedPuts.sum();
+    }
+
+    /**
+     * Returns number of entries discarded by type invalidations.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public long getTotalInvalidationTimeNanos() {
+        return invalidationTimeNanos.sum();
+    }
+
+    public long getMaxInvalidationTimeNanos() {
+        return maxInvalidationTimeNanos.get();
+    }
+
+    public void reset() {
+        hits.reset();
+        misses.reset();
+        puts.reset();
+        rejectedPuts.reset();
+        evictions.reset();
+        invalidations.reset();
+        invalidationTimeNanos.reset();
+        maxInvalidationTimeNanos.set(0);
+    }
+}
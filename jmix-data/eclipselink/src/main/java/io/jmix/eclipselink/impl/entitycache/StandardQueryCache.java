@@ -24,13 +24,28 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
 import javax.annotation.PostConstruct;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Query cache backed by the Spring {@link Cache}.
+ * <p>
+ * Maintains a local index of cached keys by related types. If the cache is local (see {@link #isLocalCache()}),
+ * invalidation discards only indexed entries without iterating over the whole cache. Shared caches may contain
+ * entries put by other nodes, so they are iterated or cleared entirely as the index is not complete.
+ * <p>
+ * Each invalidation increments the cache generation and stamps invalidated types with it, so results of queries
+ * started before the invalidation are not put into the cache.
+ */
 @Component("eclipselink_QueryCache")
 public class StandardQueryCache implements QueryCache {
 
@@ -45,6 +60,24 @@ public class StandardQueryCache implements QueryCache {
 
     protected static final Logger log = LoggerFactory.getLogger(QueryCache.class);
 
+    /**
+     * Related type name -> keys of cached results depending on the type
+     */
+    protected final ConcurrentMap<String, Set<QueryKey>> keysByType = new ConcurrentHashMap<>();
+    /**
+     * Cached key -> related type names of the result, used to remove the key from all type buckets
+     */
+    protected final ConcurrentMap<QueryKey, Set<String>> typesByKey = new ConcurrentHashMap<>();
+    /**
+     * Related type name -> generation of the last invalidation of the type
+     */
+    protected final ConcurrentMap<String, Long> typeGenerations = new ConcurrentHashMap<>();
+
+    protected final AtomicLong generation = new AtomicLong();
+    protected volatile long invalidateAllGeneration;
+
+    protected final QueryCacheStatistics statistics = new QueryCacheStatistics();
+
     @PostConstruct
     protected void init() {
         queries = cacheManager.getCache(QUERY_CACHE_NAME);
@@ -55,12 +88,54 @@ public class StandardQueryCache implements QueryCache {
 
     @Override
     public QueryResult get(QueryKey queryKey) {
-        return queries.get(queryKey, QueryResult.class);
+        QueryResult queryResult = queries.get(queryKey, QueryResult.class);
+        if (queryResult != null) {
+            statistics.recordHit();
+            if (!typesByKey.containsKey(queryKey)) {
+                // the entry has been put by another node or before restart
+                index(queryKey, queryResult.getRelatedTypes());
+            }
+        } else {
+            statistics.recordMiss();
+            if (typesByKey.containsKey(queryKey)) {
+                // the entry has been evicted by the cache itself
+                unindex(queryKey);
+            }
+        }
+        return queryResult;
     }
 
     @Override
     public void put(QueryKey queryKey, QueryResult queryResult) {
+        put(queryKey, queryResult, generation.get());
+    }
+
+    @Override
+    public boolean put(QueryKey queryKey, QueryResult queryResult, long generation) {
+        Set<String> relatedTypes = queryResult.getRelatedTypes();
+        if (isInvalidatedAfter(relatedTypes, generation)) {
+            log.debug("Reject results of query {} as related types have been invalidated", queryKey.printDescription());
+            statistics.recordRejectedPut();
+            return false;
+        }
+
+        // index before putting, so a concurrent invalidation either finds the key or is detected below
+        index(queryKey, relatedTypes);
         queries.put(queryKey, queryResult);
+
+        if (isInvalidatedAfter(relatedTypes, generation)) {
+            queries.evictIfPresent(queryKey);
+            unindex(queryKey);
+            statistics.recordRejectedPut();
+            return false;
+        }
+        statistics.recordPut();
+        return true;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation.get();
     }
 
     @Override
@@ -76,28 +151,69 @@ public class StandardQueryCache implements QueryCache {
     }
 
     protected void invalidateByTypes(Set<String> typeNames) {
-        if (cacheOperations.isIterableCache(queries)) {
-            Set<QueryKey> evicted = new HashSet<>();
+        long start = System.nanoTime();
+
+        long newGeneration = generation.incrementAndGet();
+        for (String typeName : typeNames) {
+            typeGenerations.put(typeName, newGeneration);
+        }
 
+        long evicted = 0;
+        if (isLocalCache()) {
+            for (String typeName : typeNames) {
+                Set<QueryKey> keys = keysByType.remove(typeName);
+                if (keys == null) {
+                    continue;
+                }
+                for (QueryKey queryKey : keys) {
+                    if (queries.evictIfPresent(queryKey)) {
+                        evicted++;
+                    }
+                    unindex(queryKey);
+                }
+            }
+        } else if (cacheOperations.isIterableCache(queries)) {
+            Set<QueryKey> keys = new HashSet<>();
             cacheOperations.<QueryKey, QueryResult>forEach(queries, (queryKey, queryResult) -> {
                 if (CollectionUtils.containsAny(queryResult.getRelatedTypes(), typeNames)) {
-                    evicted.add(queryKey);
+                    keys.add(queryKey);
                 }
             });
-
-            for (QueryKey queryKey : evicted) {
-                queries.evictIfPresent(queryKey);
-
+            for (QueryKey queryKey : keys) {
+                if (queries.evictIfPresent(queryKey)) {
+                    evicted++;
+                }
+                unindex(queryKey);
             }
         } else {
             queries.invalidate();
+            keysByType.clear();
+            typesByKey.clear();
         }
+
+        statistics.recordEvictions(evicted);
+        statistics.recordInvalidation(System.nanoTime() - start);
+    }
+
+    /**
+     * Whether the cache contains only entries put by this node, so the local index of keys by related types
+     * is complete.
+     */
+    protected boolean isLocalCache() {
+        return queries instanceof ConcurrentMapCache;
     }
 
     @Override
     public void invalidateAll() {
         log.debug("Invalidate all cache");
+        long start = System.nanoTime();
+
+        invalidateAllGeneration = generation.incrementAndGet();
         queries.invalidate();
+        keysByType.clear();
+        typesByKey.clear();
+
+        statistics.recordInvalidation(System.nanoTime() - start);
     }
 
     @Override
@@ -107,7 +223,63 @@ public class StandardQueryCache implements QueryCache {
             cacheOperations.forEach(queries, (queryKey, queryResult) -> count.incrementAndGet());
             return count.get();
         } else {
-            return 0;
+            return typesByKey.size();
+        }
+    }
+
+    @Override
+    public QueryCacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    protected boolean isInvalidatedAfter(@Nullable Set<String> relatedTypes, long generation) {
+        if (invalidateAllGeneration > generation) {
+            return true;
+        }
+        if (relatedTypes != null) {
+            for (String relatedType : relatedTypes) {
+                Long typeGeneration = typeGenerations.get(relatedType);
+                if (typeGeneration != null && typeGeneration > generation) {
+                    return true;
+                }
+            }
         }
+        return false;
+    }
+
+    protected void index(QueryKey queryKey, @Nullable Set<String> relatedTypes) {
+        Set<String> types = relatedTypes != null ? relatedTypes : Collections.emptySet();
+        Set<String> previousTypes = typesByKey.put(queryKey, types);
+        if (previousTypes != null) {
+            for (String previousType : previousTypes) {
+                if (!types.contains(previousType)) {
+                    removeFromTypeBucket(previousType, queryKey);
+                }
+            }
+        }
+        for (String type : types) {
+            // add inside compute to not race with removal of the emptied bucket
+            keysByType.compute(type, (k, keys) -> {
+                Set<QueryKey> result = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                result.add(queryKey);
+                return result;
+            });
+        }
+    }
+
+    protected void unindex(QueryKey queryKey) {
+        Set<String> types = typesByKey.remove(queryKey);
+        if (types != null) {
+            for (String type : types) {
+                removeFromTypeBucket(type, queryKey);
+            }
+        }
+    }
+
+    protected void removeFromTypeBucket(String type, QueryKey queryKey) {
+        keysByType.computeIfPresent(type, (k, keys) -> {
+            keys.remove(queryKey);
+            return keys.isEmpty() ? null : keys;
+        });
     }
 }
@@ -132,6 +132,32 @@ class DataManagerCommitTest extends DataSpec {
         orderChangedEventListener.enabled = false
     }
 
+    def "save of many entities returns all of them reloaded with their fetch plans"() {
+        given:
+        def customers = (1..5).collect {
+            def customer = dataManager.create(Customer)
+            customer.name = "c$it"
+            customer
+        }
+        def order = dataManager.create(Order)
+        order.number = '1'
+        order.customer = customers[0]
+
+        def saveContext = new SaveContext()
+        customers.each { saveContext.saving(it) }
+        saveContext.saving(customers[4], fetchPlans.builder(Customer).add('name').build())
+        saveContext.saving(order, fetchPlans.builder(Order).addFetchPlan(FetchPlan.LOCAL).add('customer.name').build())
+
+        when:
+        def saved = dataManager.save(saveContext)
+
+        then:
+        saved.size() == 6
+        customers.every { saved.get(it).name == it.name }
+        saved.get(order).customer.name == 'c1'
+        entityStates.isLoaded(saved.get(order), 'customer')
+    }
+
     def "save entities with null id"() {
         def foo = dataManager.create(Foo)
         foo.name = 'foo'
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.EntityStates
+import io.jmix.core.FetchPlan
+import io.jmix.core.FetchPlans
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.Sort
+import io.jmix.data.DataProperties
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+
+import java.util.stream.Collectors
+
+class DataManagerStreamTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    EntityStates entityStates
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    FetchPlans fetchPlans
+
+    @Autowired
+    DataProperties dataProperties
+
+    List<Customer> customers
+
+    @Override
+    void setup() {
+        customers = (1..25).collect {
+            def customer = dataManager.create(Customer)
+            customer.name = String.format('cust%02d', it)
+            customer
+        }
+        dataManager.save(*customers)
+    }
+
+    def "stream returns all entities in detached state"() {
+        when:
+        def loaded = dataManager.load(Customer).all()
+                .sort(Sort.by('name'))
+                .fetchSize(10)
+                .stream()
+                .withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+        loaded*.name == customers*.name
+        loaded.every { entityStates.isDetached(it) }
+        !TransactionSynchronizationManager.isActualTransactionActive()
+    }
+
+    def "stream respects query condition and limits"() {
+        when:
+        def loaded = dataManager.load(Customer)
+                .query('e.name >= :name')
+                .parameter('name', 'cust10')
+                .sort(Sort.by('name'))
+                .maxResults(5)
+                .fetchSize(2)
+                .stream()
+                .withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+        loaded*.name == ['cust10', 'cust11', 'cust12', 'cust13', 'cust14']
+    }
+
+    def "stream loads references of the fetch plan"() {
+        def order = dataManager.create(Order)
+        order.number = '001'
+        order.customer = customers[0]
+        dataManager.save(order)
+
+        def context = new LoadContext<Order>(metadata.getClass(Order))
+                .setQuery(new LoadContext.Query('select e from sales_Order e').setFetchSize(1))
+                .setFetchPlan(fetchPlans.builder(Order).addFetchPlan(FetchPlan.BASE).add('customer', FetchPlan.BASE).build())
+
+        when:
+        def loaded = dataManager.streamList(context).withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+        loaded.size() == 1
+        entityStates.isLoaded(loaded[0], 'customer')
+        loaded[0].customer.name == customers[0].name
+    }
+
+    def "stream without fetch size is read by chunks of default fetch size"() {
+        def context = new LoadContext<Customer>(metadata.getClass(Customer))
+                .setQuery(new LoadContext.Query('select e from sales_Customer e'))
+
+        when:
+        def loaded = dataManager.streamList(context).withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+        loaded.size() == customers.size()
+        context.query.fetchSize == dataProperties.streamFetchSize
+    }
+}
@@ -128,6 +128,34 @@ class DataManagerTest extends DataSpec {
         list == [entity1, entity2]
     }
 
+    def "load by collection of composite ids returns entities in the order of ids"() {
+
+        def ids = (1..5).collect { new TestEntityKey(tenant: it % 2, entityId: it) }
+        def entities = ids.collect { new TestCompositeKeyEntity(id: it, name: "e$it.entityId") }
+
+        dataManager.save(*entities)
+
+        when:
+
+        def list = dataManager.load(TestCompositeKeyEntity)
+                .ids([ids[3], ids[0], ids[4], ids[2]])
+                .list()
+
+        then:
+
+        list == [entities[3], entities[0], entities[4], entities[2]]
+
+        when:
+
+        dataManager.load(TestCompositeKeyEntity)
+                .ids([ids[1], new TestEntityKey(tenant: 5, entityId: 5)])
+                .list()
+
+        then:
+
+        thrown(EntityAccessException)
+    }
+
     def "load by null id"() {
 
         when:
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.Metadata
+import io.jmix.core.Stores
+import io.jmix.core.datastore.*
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.core.metamodel.model.MetaClass
+import io.jmix.eclipselink.impl.JpaDataStore
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+
+class DataStoreListenerDispatchTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    @Autowired
+    Metadata metadata
+
+    JpaDataStore dataStore
+    CustomerLoadListener listener
+
+    @Override
+    void setup() {
+        dataStore = (JpaDataStore) dataStoreFactory.get(Stores.MAIN)
+        listener = new CustomerLoadListener(metaClass: metadata.getClass(Customer))
+        dataStore.registerInterceptor(listener)
+    }
+
+    @Override
+    void cleanup() {
+        dataStore.listeners.remove(listener)
+        dataStore.dispatchTables.clear()
+    }
+
+    def "listener receives events of supported meta-class only"() {
+        when:
+        dataManager.load(Customer).all().list()
+        dataManager.load(Order).all().list()
+
+        then:
+        listener.loadedMetaClasses == [metadata.getClass(Customer)]
+    }
+
+    def "listener does not receive events it does not handle"() {
+        def table = new DataStoreListenerDispatchTable([listener], metadata.getClass(Customer))
+
+        expect:
+        table.getListeners(DataStoreEntityLoadingEvent) == [listener]
+        table.getListeners(DataStoreBeforeEntitySaveEvent).isEmpty()
+        new DataStoreListenerDispatchTable([listener], null).getListeners(DataStoreEntityLoadingEvent).isEmpty()
+    }
+
+    static class CustomerLoadListener implements DataStoreEventListener {
+
+        MetaClass metaClass
+        List<MetaClass> loadedMetaClasses = []
+
+        @Override
+        void entityLoading(DataStoreEntityLoadingEvent event) {
+            loadedMetaClasses << event.loadContext.entityMetaClass
+        }
+
+        @Override
+        boolean supports(Class<? extends BaseDataStoreEvent> eventType, MetaClass metaClass) {
+            return metaClass == this.metaClass
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.Stores
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.data.DataProperties
+import io.jmix.data.impl.IdBatchPadding
+import io.jmix.eclipselink.impl.JpaDataStore
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.TestDataProperties
+import test_support.entity.sales.Customer
+
+class IdBatchPaddingTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    JpaDataStore dataStore
+    IdBatchPadding originalPadding
+    IdBatchPadding padding
+
+    @Override
+    void setup() {
+        dataStore = (JpaDataStore) dataStoreFactory.get(Stores.MAIN)
+        originalPadding = dataStore.idBatchPadding
+        padding = new IdBatchPadding(dataProperties(true), new SimpleMeterRegistry())
+        dataStore.idBatchPadding = padding
+    }
+
+    @Override
+    void cleanup() {
+        dataStore.idBatchPadding = originalPadding
+    }
+
+    def "padding to power of two"() {
+        expect:
+        padding.pad('e', ids, maxSize) == expected
+
+        where:
+        ids             | maxSize | expected
+        [1]             | null    | [1]
+        [1, 2]          | null    | [1, 2]
+        [1, 2, 3]       | null    | [1, 2, 3, 3]
+        [1, 2, 3, 4, 5] | null    | [1, 2, 3, 4, 5, 5, 5, 5]
+        [1, 2, 3, 4, 5] | 6       | [1, 2, 3, 4, 5, 5]
+        [1, 2, 3, 4]    | 4       | [1, 2, 3, 4]
+    }
+
+    def "disabled padding does not change ids but counts shapes"() {
+        def disabled = new IdBatchPadding(dataProperties(false), new SimpleMeterRegistry())
+
+        when:
+        def result1 = disabled.pad('e', [1, 2, 3], null)
+        def result2 = disabled.pad('e', [1, 2, 3, 4, 5], null)
+        def result3 = disabled.pad('e', [1, 2, 3, 4, 5, 6], null)
+
+        then:
+        result1 == [1, 2, 3]
+        result2 == [1, 2, 3, 4, 5]
+        result3 == [1, 2, 3, 4, 5, 6]
+        disabled.getShapeCount('e') == 3
+    }
+
+    def "load by ids with padding returns each entity once"() {
+        def customers = (1..7).collect {
+            def customer = dataManager.create(Customer)
+            customer.name = "cust$it"
+            customer
+        }
+        dataManager.save(*customers)
+
+        when:
+        def loaded = dataManager.load(Customer).ids(customers*.id).list()
+        dataManager.load(Customer).ids(customers.take(5)*.id).list()
+
+        then:
+        loaded.size() == 7
+        loaded*.id as Set == customers*.id as Set
+        padding.getShapeCount('sales_Customer') == 1
+    }
+
+    private static DataProperties dataProperties(boolean paddingEnabled) {
+        new TestDataProperties(idBatchPaddingEnabled: paddingEnabled).build()
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.Sort
+import io.jmix.core.Stores
+import io.jmix.core.datastore.BaseDataStoreEvent
+import io.jmix.core.datastore.DataStoreEntityLoadingEvent
+import io.jmix.core.datastore.DataStoreEventListener
+import io.jmix.core.datastore.KeysetPaginationSupport
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.core.metamodel.model.MetaClass
+import io.jmix.core.metamodel.model.MetaPropertyPath
+import io.jmix.data.persistence.JpqlSortExpressionProvider
+import io.jmix.eclipselink.impl.JpaDataStore
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+
+class KeysetPaginationTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    KeysetPaginationSupport keysetPaginationSupport
+
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    List<Customer> customers
+
+    @Override
+    void setup() {
+        customers = (1..10).collect {
+            def customer = dataManager.create(Customer)
+            // duplicate names check that the primary key breaks ties
+            customer.name = "cust${it.intdiv(2)}"
+            customer
+        }
+        dataManager.save(*customers)
+    }
+
+    def "pages loaded after the last entity are contiguous"() {
+        def expected = dataManager.load(Customer).all().sort(Sort.by('name', 'id')).list()
+
+        when:
+        def loaded = []
+        Customer last = null
+        while (true) {
+            def page = dataManager.load(Customer).all()
+                    .sort(Sort.by('name'))
+                    .after(last)
+                    .maxResults(3)
+                    .list()
+            if (page.isEmpty()) {
+                break
+            }
+            loaded.addAll(page)
+            last = page.last()
+        }
+
+        then:
+        loaded*.id == expected*.id
+    }
+
+    def "descending pages loaded after the last entity are contiguous"() {
+        def expected = dataManager.load(Customer).all().sort(Sort.by(Sort.Direction.DESC, 'name', 'id')).list()
+
+        when:
+        def page1 = dataManager.load(Customer).all()
+                .sort(Sort.by(Sort.Direction.DESC, 'name', 'id'))
+                .maxResults(4)
+                .list()
+        def page2 = dataManager.load(Customer).all()
+                .sort(Sort.by(Sort.Direction.DESC, 'name', 'id'))
+                .after(page1.last())
+                .maxResults(4)
+                .list()
+
+        then:
+        (page1 + page2)*.id == expected.take(8)*.id
+    }
+
+    def "entity with null sort values cannot be used as a cursor"() {
+        def customer = dataManager.create(Customer)
+        dataManager.save(customer)
+
+        when:
+        dataManager.load(Customer).all()
+                .sort(Sort.by('name'))
+                .after(customer)
+                .list()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "custom sort expression provider prevents keyset pagination"() {
+        def dataStore = (JpaDataStore) dataStoreFactory.get(Stores.MAIN)
+        def sortExpressionProvider = dataStore.sortExpressionProvider
+        dataStore.sortExpressionProvider = new UpperCaseSortExpressionProvider()
+        def first = dataManager.load(Customer).all().sort(Sort.by('name')).maxResults(1).one()
+
+        when:
+        dataManager.load(Customer).all()
+                .sort(Sort.by('name'))
+                .after(first)
+                .list()
+
+        then:
+        thrown(IllegalArgumentException)
+
+        cleanup:
+        dataStore.sortExpressionProvider = sortExpressionProvider
+    }
+
+    def "primary key is appended to the sort and order of the query string prevents keyset pagination"() {
+        def context = new LoadContext(metadata.getClass(Customer))
+        context.setQuery(new LoadContext.Query('select e from sales_Customer e'))
+
+        expect:
+        keysetPaginationSupport.isApplicable(context)
+        keysetPaginationSupport.getKeysetSort(context).orders*.property == ['id']
+
+        when:
+        context.query.sort = Sort.by('name')
+
+        then:
+        keysetPaginationSupport.isApplicable(context)
+        keysetPaginationSupport.getKeysetSort(context).orders*.property == ['name', 'id']
+
+        when:
+        context.query.queryString = 'select e from sales_Customer e order by e.name'
+        context.query.sort = null
+
+        then:
+        !keysetPaginationSupport.isApplicable(context)
+    }
+
+    def "loading by batches does not skip entities with null sort values"() {
+        def unnamed = (1..3).collect { dataManager.create(Customer) }
+        dataManager.save(*unnamed)
+
+        def dataStore = (JpaDataStore) dataStoreFactory.get(Stores.MAIN)
+        // exclude all named customers, so several batches are loaded to fill the page
+        def listener = new ExcludingListener(metaClass: metadata.getClass(Customer),
+                excludedIds: customers*.id as Set)
+        dataStore.registerInterceptor(listener)
+
+        def context = new LoadContext(metadata.getClass(Customer))
+        context.setQuery(new LoadContext.Query('select e from sales_Customer e')
+                .setSort(Sort.by(Sort.Direction.DESC, 'name')))
+
+        expect:
+        keysetPaginationSupport.isApplicable(context)
+        !keysetPaginationSupport.isApplicableToBatches(context)
+
+        when:
+        def loaded = dataManager.load(Customer).all()
+                .sort(Sort.by(Sort.Direction.DESC, 'name'))
+                .maxResults(3)
+                .list()
+
+        then:
+        loaded*.id as Set == unnamed*.id as Set
+
+        cleanup:
+        dataStore.listeners.remove(listener)
+        dataStore.dispatchTables.clear()
+    }
+
+    static class ExcludingListener implements DataStoreEventListener {
+
+        MetaClass metaClass
+        Set<Object> excludedIds
+
+        @Override
+        void entityLoading(DataStoreEntityLoadingEvent event) {
+            event.excludeEntities(event.entities.findAll { excludedIds.contains(it.id) })
+        }
+
+        @Override
+        boolean supports(Class<? extends BaseDataStoreEvent> eventType, MetaClass metaClass) {
+            return metaClass == this.metaClass
+        }
+    }
+
+    static class UpperCaseSortExpressionProvider implements JpqlSortExpressionProvider {
+
+        @Override
+        String getDatatypeSortExpression(MetaPropertyPath metaPropertyPath, boolean sortDirectionAsc) {
+            return "upper({E}.$metaPropertyPath)"
+        }
+
+        @Override
+        String getLobSortExpression(MetaPropertyPath metaPropertyPath, boolean sortDirectionAsc) {
+            return "{E}.$metaPropertyPath"
+        }
+    }
+}
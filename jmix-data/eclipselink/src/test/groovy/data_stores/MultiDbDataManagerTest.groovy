@@ -160,6 +160,34 @@ class MultiDbDataManagerTest extends DataSpec {
         loadedOrder.mem1Customer != null
     }
 
+    void testCrossDataStoreReferencesOfList() {
+        when:
+        Mem1Customer customer1 = metadata.create(Mem1Customer)
+        customer1.setName("John Doe")
+        Mem1Customer customer2 = metadata.create(Mem1Customer)
+        customer2.setName("Jane Doe")
+        dataManager.save(customer1, customer2)
+
+        def orderIds = (0..2).collect { i ->
+            Db1Order order = metadata.create(Db1Order.class)
+            order.setOrderDate(new Date())
+            order.setMem1Customer(i == 2 ? customer2 : customer1)
+            dataManager.save(order).id
+        }
+
+        List<Db1Order> orders = dataManager.load(Db1Order)
+                .query("e.id in :ids")
+                .parameter("ids", orderIds)
+                .fetchPlan({ builder -> builder.addAll("orderDate", "mem1Customer") })
+                .list()
+
+        then: "references of all entities are loaded, the same referenced entity is loaded once"
+        orders.size() == 3
+        orders.findAll { it.mem1Customer == customer1 }.size() == 2
+        orders.findAll { it.mem1Customer == customer2 }.size() == 1
+        orders.findAll { it.mem1Customer == customer1 }.collect { System.identityHashCode(it.mem1Customer) }.unique().size() == 1
+    }
+
     void testNestedCrossDatastoreEntitiesSaving() {
         when:
         Db1Order order = metadata.create(Db1Order)
@@ -17,9 +17,11 @@
 package fetch_groups
 
 import io.jmix.core.*
+import io.jmix.core.event.FetchPlanRepositoryChangedEvent
 import io.jmix.eclipselink.impl.FetchGroupManager
 import org.eclipse.persistence.config.QueryHints
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationEventPublisher
 import test_support.DataSpec
 import test_support.entity.sales.*
 
@@ -33,6 +35,10 @@ class FetchGroupManagerTest extends DataSpec {
     FetchPlans fetchPlans
     @Autowired
     FetchGroupManager fetchGroupManager
+    @Autowired
+    FetchPlanRepository fetchPlanRepository
+    @Autowired
+    ApplicationEventPublisher eventPublisher
 
     Customer customer
     Order order
@@ -212,4 +218,40 @@ class FetchGroupManagerTest extends DataSpec {
         entityStates.isLoaded(order.orderLines[0], 'product')
         entityStates.isLoaded(order.orderLines[0].product, 'quantity')
     }
+
+    def "fetch group description is cached by fetch plan contents and invalidated on fetch plan repository change"() {
+        def fetchPlan1 = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('customer', FetchPlan.BASE)
+                .build()
+        def fetchPlan2 = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('customer', FetchPlan.BASE)
+                .build()
+        def fetchPlan3 = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('customer', { it.addFetchPlan(FetchPlan.BASE) }, FetchMode.BATCH)
+                .build()
+
+        when:
+        def description1 = fetchGroupManager.calculateFetchGroup('select o from sales_Order o', fetchPlan1, false, true)
+        def description2 = fetchGroupManager.calculateFetchGroup('select o from sales_Order o', fetchPlan2, false, true)
+        def description3 = fetchGroupManager.calculateFetchGroup('select o from sales_Order o', fetchPlan3, false, true)
+        def description4 = fetchGroupManager.calculateFetchGroup('select o from sales_Order o', fetchPlan1, true, true)
+
+        then:
+        description1.is(description2)
+        !description1.is(description3)
+        description3.hints['o.customer'] == QueryHints.BATCH
+        !description1.is(description4)
+
+        when:
+        eventPublisher.publishEvent(new FetchPlanRepositoryChangedEvent(fetchPlanRepository))
+        def description5 = fetchGroupManager.calculateFetchGroup('select o from sales_Order o', fetchPlan1, false, true)
+
+        then:
+        !description1.is(description5)
+        description1.attributes == description5.attributes
+        description1.hints == description5.hints
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package import_export
+
+import io.jmix.core.DataManager
+import io.jmix.core.EntityImportExport
+import io.jmix.core.EntityImportPlans
+import io.jmix.core.FetchPlan
+import io.jmix.core.FetchPlans
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.ReferenceImportBehaviour
+import io.jmix.core.Sort
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+
+import java.nio.charset.StandardCharsets
+
+class EntityImportExportStreamTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    EntityImportExport entityImportExport
+
+    @Autowired
+    EntityImportPlans entityImportPlans
+
+    @Autowired
+    FetchPlans fetchPlans
+
+    @Autowired
+    Metadata metadata
+
+    List<Customer> customers
+
+    @Override
+    void setup() {
+        customers = (1..2).collect {
+            def customer = dataManager.create(Customer)
+            customer.name = "cust$it"
+            customer
+        }
+        def orders = (1..5).collect {
+            def order = dataManager.create(Order)
+            order.number = "00$it"
+            order.customer = customers[it % 2]
+            order
+        }
+        dataManager.save(*customers, *orders)
+    }
+
+    def "exported entities are imported in batches"() {
+        def context = new LoadContext<Order>(metadata.getClass(Order))
+                .setQuery(new LoadContext.Query('select e from sales_Order e')
+                        .setSort(Sort.by('number'))
+                        .setFetchSize(2))
+                .setFetchPlan(fetchPlans.builder(Order).addFetchPlan(FetchPlan.BASE).add('customer', FetchPlan.BASE).build())
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        entityImportExport.exportEntitiesToJSON(context, outputStream)
+        def json = new String(outputStream.toByteArray(), StandardCharsets.UTF_8)
+
+        then:
+        entityImportExport.importEntitiesFromJson(json, importPlan()).size() == 5
+
+        when:
+        jdbc.update('delete from SALES_ORDER')
+        def count = entityImportExport.importEntitiesFromJson(new ByteArrayInputStream(outputStream.toByteArray()),
+                importPlan(), 2)
+        def orders = dataManager.load(Order).all()
+                .sort(Sort.by('number'))
+                .fetchPlan { it.addFetchPlan(FetchPlan.BASE).add('customer', FetchPlan.BASE) }
+                .list()
+
+        then:
+        count == 5
+        orders*.number == ['001', '002', '003', '004', '005']
+        orders*.customer*.name == ['cust2', 'cust1', 'cust2', 'cust1', 'cust2']
+    }
+
+    def "entities with ids are imported into empty table"() {
+        jdbc.update('delete from SALES_ORDER')
+        def srcOrders = (1..3).collect {
+            def order = metadata.create(Order)
+            order.number = "10$it"
+            order.customer = customers[0]
+            order
+        }
+
+        when:
+        def imported = entityImportExport.importEntities(srcOrders, importPlan())
+        def orders = dataManager.load(Order).all()
+                .sort(Sort.by('number'))
+                .list()
+
+        then:
+        imported.size() == 3
+        orders*.id == srcOrders*.id
+        orders*.number == ['101', '102', '103']
+    }
+
+    private importPlan() {
+        entityImportPlans.builder(Order)
+                .addLocalProperties()
+                .addManyToOneProperty('customer', ReferenceImportBehaviour.ERROR_ON_MISSING)
+                .build()
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package import_export
+
+import io.jmix.core.*
+import io.jmix.core.datastore.BaseDataStoreEvent
+import io.jmix.core.datastore.DataStoreBeforeEntityLoadEvent
+import io.jmix.core.datastore.DataStoreEventListener
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.core.metamodel.model.MetaClass
+import io.jmix.eclipselink.impl.JpaDataStore
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+
+class EntityImportIntoSaveContextTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    EntityImportExport entityImportExport
+
+    @Autowired
+    EntityImportPlans entityImportPlans
+
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    @Autowired
+    Metadata metadata
+
+    List<Customer> customers
+    List<Order> orders
+
+    JpaDataStore dataStore
+    LoadCountingListener listener
+
+    @Override
+    void setup() {
+        customers = (1..2).collect {
+            def customer = dataManager.create(Customer)
+            customer.name = "cust$it"
+            customer
+        }
+        orders = (1..5).collect {
+            def order = dataManager.create(Order)
+            order.number = "00$it"
+            order.customer = customers[it % 2]
+            order
+        }
+        dataManager.save(*customers, *orders)
+
+        dataStore = (JpaDataStore) dataStoreFactory.get(Stores.MAIN)
+        listener = new LoadCountingListener(metaClass: metadata.getClass(Order))
+        dataStore.registerInterceptor(listener)
+    }
+
+    @Override
+    void cleanup() {
+        dataStore.listeners.remove(listener)
+        dataStore.dispatchTables.clear()
+    }
+
+    def "existing entities are loaded by one query and imported as by single imports"() {
+        def srcOrders = orders.collect { order ->
+            def srcOrder = metadata.create(Order)
+            srcOrder.id = order.id
+            srcOrder.number = order.number + '-upd'
+            srcOrder.customer = customers[0]
+            srcOrder
+        }
+        def newOrder = metadata.create(Order)
+        newOrder.number = '006'
+        newOrder.customer = customers[1]
+        srcOrders << newOrder
+
+        when:
+        def bulkContext = new SaveContext()
+        entityImportExport.importEntitiesIntoSaveContext(bulkContext,
+                srcOrders.collectEntries { [(it): importPlan()] }, true, false)
+
+        then:
+        listener.loadCount == 1
+
+        when:
+        listener.loadCount = 0
+        def singleContext = new SaveContext()
+        srcOrders.each {
+            entityImportExport.importEntityIntoSaveContext(singleContext, it, importPlan(), true, false)
+        }
+
+        then:
+        listener.loadCount == srcOrders.size()
+        savedOrders(bulkContext) == savedOrders(singleContext)
+
+        when:
+        dataManager.save(bulkContext)
+        def loaded = dataManager.load(Order).all()
+                .sort(Sort.by('number'))
+                .fetchPlan { it.addFetchPlan(FetchPlan.BASE).add('customer', FetchPlan.BASE) }
+                .list()
+
+        then:
+        loaded*.number == ['001-upd', '002-upd', '003-upd', '004-upd', '005-upd', '006']
+        loaded*.customer*.name == ['cust1', 'cust1', 'cust1', 'cust1', 'cust1', 'cust2']
+    }
+
+    private static List<String> savedOrders(SaveContext saveContext) {
+        saveContext.entitiesToSave
+                .findAll { it instanceof Order }
+                .collect { Order order -> "$order.id|$order.number|$order.customer.id".toString() }
+                .sort()
+    }
+
+    private importPlan() {
+        entityImportPlans.builder(Order)
+                .addLocalProperties()
+                .addManyToOneProperty('customer', ReferenceImportBehaviour.ERROR_ON_MISSING)
+                .build()
+    }
+
+    static class LoadCountingListener implements DataStoreEventListener {
+
+        MetaClass metaClass
+        int loadCount
+
+        @Override
+        void beforeEntityLoad(DataStoreBeforeEntityLoadEvent event) {
+            loadCount++
+        }
+
+        @Override
+        boolean supports(Class<? extends BaseDataStoreEvent> eventType, MetaClass metaClass) {
+            return metaClass == this.metaClass
+        }
+    }
+}
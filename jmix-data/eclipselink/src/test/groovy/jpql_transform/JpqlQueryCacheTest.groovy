@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jpql_transform
+
+import io.jmix.core.Sort
+import io.jmix.core.querycondition.LogicalCondition
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.data.impl.JpqlQueryBuilder
+import io.jmix.data.impl.JpqlQueryCache
+import org.springframework.beans.factory.BeanFactory
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+
+class JpqlQueryCacheTest extends DataSpec {
+
+    @Autowired
+    BeanFactory beanFactory
+
+    @Autowired
+    JpqlQueryCache queryCache
+
+    @Override
+    void setup() {
+        queryCache.invalidateAll()
+    }
+
+    def "query with the same structure and different parameter values is taken from cache"() {
+        when:
+        def first = build('001', 'cust1')
+        def hits = queryCache.stats.hitCount()
+        def second = build('002', 'cust2')
+
+        then:
+        queryCache.stats.hitCount() == hits + 1
+        first.resultQueryString == second.resultQueryString
+        second.resultParameters['number'] == '002'
+        second.resultParameters['customerName'] == '(?i)%cust2%'
+    }
+
+    def "null parameter changes actualized condition and query"() {
+        when:
+        def full = build('001', 'cust1')
+        def partial = build('001', null)
+
+        then:
+        full.resultQueryString != partial.resultQueryString
+        !partial.resultQueryString.contains('customerName')
+        !partial.resultParameters.containsKey('customerName')
+    }
+
+    def "is set condition value is a part of the key"() {
+        when:
+        def isSet = buildIsSet(true)
+        def isNotSet = buildIsSet(false)
+
+        then:
+        isSet.resultQueryString.contains('is not null')
+        isNotSet.resultQueryString.contains('is null')
+    }
+
+    def "count query is cached separately"() {
+        when:
+        def list = build('001', 'cust1')
+        def count = build('001', 'cust1', true)
+
+        then:
+        list.resultQueryString != count.resultQueryString
+        count.resultQueryString.startsWith('select count(e)')
+    }
+
+    private JpqlQueryBuilder build(String number, String customerName, boolean count = false) {
+        JpqlQueryBuilder queryBuilder = beanFactory.getBean(JpqlQueryBuilder)
+        queryBuilder.setQueryString('select e from sales_Order e')
+                .setEntityName('sales_Order')
+                .setCondition(LogicalCondition.and(
+                        PropertyCondition.createWithParameterName('number', PropertyCondition.Operation.EQUAL, 'number'),
+                        PropertyCondition.createWithParameterName('customer.name', PropertyCondition.Operation.CONTAINS, 'customerName')))
+                .setQueryParameters(new HashMap<>([number: number, customerName: customerName]))
+        if (count) {
+            queryBuilder.setCountQuery()
+        } else {
+            queryBuilder.setSort(Sort.by('number'))
+        }
+        queryBuilder.getResultQueryString()
+        queryBuilder
+    }
+
+    private JpqlQueryBuilder buildIsSet(boolean value) {
+        JpqlQueryBuilder queryBuilder = beanFactory.getBean(JpqlQueryBuilder)
+        queryBuilder.setQueryString('select e from sales_Order e')
+                .setEntityName('sales_Order')
+                .setCondition(PropertyCondition.isSet('number', value))
+                .setQueryParameters(new HashMap<>())
+        queryBuilder.getResultQueryString()
+        queryBuilder
+    }
+}
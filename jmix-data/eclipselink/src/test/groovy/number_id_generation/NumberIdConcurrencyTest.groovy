@@ -147,6 +147,35 @@ class NumberIdConcurrencyTest extends DataSpec {
         DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
     }
 
+    def "ids generated concurrently are unique"() {
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 20)
+
+        when:
+
+        Set<Long> ids = Collections.synchronizedSet(new HashSet<Long>())
+        ExecutorService executorService = Executors.newFixedThreadPool(10)
+        10.times {
+            executorService.submit({
+                100.times {
+                    ids.add(numberIdCache.createLongId('test$NumberIdSingleTableRoot'))
+                }
+            })
+        }
+        executorService.shutdown()
+        boolean terminated = executorService.awaitTermination(10, TimeUnit.SECONDS)
+
+        then:
+
+        terminated
+        ids.size() == 1000
+        ids.min() == 1
+        ids.max() <= 1000 + 20
+
+        cleanup:
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
+    }
+
     private void generateSomeEntities(int count) {
         long start = System.currentTimeMillis()
         ExecutorService executorService = Executors.newFixedThreadPool(10)
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package query_cache
+
+import io.jmix.core.CacheOperations
+import io.jmix.eclipselink.impl.entitycache.QueryCache
+import io.jmix.eclipselink.impl.entitycache.QueryKey
+import io.jmix.eclipselink.impl.entitycache.QueryResult
+import io.jmix.eclipselink.impl.entitycache.StandardQueryCache
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.cache.Cache
+import org.springframework.cache.concurrent.ConcurrentMapCache
+import test_support.DataSpec
+
+class QueryCacheInvalidationTest extends DataSpec {
+
+    @Autowired
+    QueryCache queryCache
+
+    @Autowired
+    CacheOperations cacheOperations
+
+    @Override
+    void setup() {
+        queryCache.invalidateAll()
+        queryCache.statistics.reset()
+    }
+
+    @Override
+    void cleanup() {
+        queryCache.invalidateAll()
+    }
+
+    def "invalidation discards only results related to the type"() {
+        def customerKey = key('select c from sales_Customer c')
+        def orderKey = key('select o from sales_Order o join o.customer c')
+
+        queryCache.put(customerKey, new QueryResult([1], 'sales_Customer', ['sales_Customer'] as Set))
+        queryCache.put(orderKey, new QueryResult([2], 'sales_Order', ['sales_Order', 'sales_Customer'] as Set))
+
+        when:
+        queryCache.invalidate('sales_Order')
+
+        then:
+        queryCache.get(customerKey) != null
+        queryCache.get(orderKey) == null
+        queryCache.statistics.evictionCount == 1
+        queryCache.statistics.invalidationCount == 1
+
+        when:
+        queryCache.invalidate('sales_Customer')
+
+        then:
+        queryCache.get(customerKey) == null
+        queryCache.statistics.evictionCount == 2
+    }
+
+    def "result of query started before invalidation is rejected"() {
+        def orderKey = key('select o from sales_Order o')
+        long generation = queryCache.generation
+
+        when:
+        queryCache.invalidate('sales_Order')
+        def accepted = queryCache.put(orderKey, new QueryResult([1], 'sales_Order', ['sales_Order'] as Set), generation)
+
+        then:
+        !accepted
+        queryCache.get(orderKey) == null
+        queryCache.statistics.rejectedPutCount == 1
+
+        when:
+        accepted = queryCache.put(orderKey, new QueryResult([1], 'sales_Order', ['sales_Order'] as Set), queryCache.generation)
+
+        then:
+        accepted
+        queryCache.get(orderKey) != null
+        queryCache.statistics.hitCount == 1
+        queryCache.statistics.missCount == 1
+    }
+
+    def "invalidation of unrelated type does not reject result"() {
+        def orderKey = key('select o from sales_Order o')
+        long generation = queryCache.generation
+
+        when:
+        queryCache.invalidate('sales_Product')
+        def accepted = queryCache.put(orderKey, new QueryResult([1], 'sales_Order', ['sales_Order'] as Set), generation)
+
+        then:
+        accepted
+        queryCache.get(orderKey) != null
+    }
+
+    def "entries put into a shared cache by other nodes are invalidated"() {
+        def sharedCache = new SharedCache(delegate: new ConcurrentMapCache('shared'))
+        def cache = new StandardQueryCache(queries: sharedCache, cacheOperations: cacheOperations)
+
+        def customerKey = key('select c from sales_Customer c')
+        def orderKey = key('select o from sales_Order o')
+        cache.put(customerKey, new QueryResult([1], 'sales_Customer', ['sales_Customer'] as Set))
+        // put by another node, so not indexed locally
+        sharedCache.put(orderKey, new QueryResult([2], 'sales_Order', ['sales_Order'] as Set))
+
+        when:
+        cache.invalidate('sales_Order')
+
+        then:
+        sharedCache.get(orderKey) == null
+    }
+
+    private static QueryKey key(String queryString) {
+        new QueryKey(queryString, 0, 0, true, false, null, null, [:])
+    }
+
+    /**
+     * Cache which is neither local nor iterable, like a distributed cache.
+     */
+    static class SharedCache implements Cache {
+        @Delegate
+        ConcurrentMapCache delegate
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package query_results
+
+import io.jmix.data.impl.QueryResultsManager
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+
+class QueryResultsManagerTest extends DataSpec {
+
+    @Autowired
+    QueryResultsManager queryResultsManager
+
+    void setup() {
+        jdbc.execute('''create table SYS_QUERY_RESULT (
+                ID bigint generated by default as identity primary key,
+                SESSION_ID varchar(36) not null,
+                QUERY_KEY integer not null,
+                ENTITY_ID varchar(36),
+                STRING_ENTITY_ID varchar(255),
+                INT_ENTITY_ID integer,
+                LONG_ENTITY_ID bigint)''')
+    }
+
+    void cleanup() {
+        jdbc.execute('drop table SYS_QUERY_RESULT')
+    }
+
+    def "ids are inserted by several batches for one session"() {
+        def ids = (1..2500).collect { UUID.randomUUID() }
+
+        when:
+        queryResultsManager.insert(1, ids)
+
+        then:
+        jdbc.queryForObject('select count(*) from SYS_QUERY_RESULT where QUERY_KEY = 1', Integer) == 2500
+        jdbc.queryForObject('select count(distinct SESSION_ID) from SYS_QUERY_RESULT', Integer) == 1
+        jdbc.queryForList('select ENTITY_ID from SYS_QUERY_RESULT', String) as Set == ids*.toString() as Set
+    }
+
+    def "results of inactive sessions are deleted"() {
+        queryResultsManager.insert(1, [UUID.randomUUID(), UUID.randomUUID()])
+        queryResultsManager.insert(2, [UUID.randomUUID()])
+
+        expect:
+        jdbc.queryForObject('select count(distinct SESSION_ID) from SYS_QUERY_RESULT', Integer) == 2
+
+        when:
+        queryResultsManager.deleteForInactiveSessions()
+
+        then:
+        jdbc.queryForObject('select count(*) from SYS_QUERY_RESULT', Integer) == 0
+    }
+}
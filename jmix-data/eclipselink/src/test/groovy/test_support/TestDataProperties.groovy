@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test_support
+
+import io.jmix.data.DataProperties
+
+/**
+ * Creates {@link DataProperties} for unit tests. Properties have the same defaults as in the application
+ * and can be overridden by named arguments:
+ * <pre>
+ * new TestDataProperties(idBatchPaddingEnabled: true).build()
+ * </pre>
+ */
+class TestDataProperties {
+
+    boolean useReadOnlyTransactionForLoad = true
+    int numberIdCacheSize = 100
+    boolean useEntityDataStoreForIdSequence = false
+    String uniqueConstraintViolationPattern = null
+    boolean useUserLocaleForRelativeDateTimeMoments = true
+    int jpqlQueryCacheSize = 1000
+    boolean idBatchPaddingEnabled = false
+    int streamFetchSize = 500
+    int inMemoryConstraintsParallelThreshold = 0
+
+    DataProperties build() {
+        new DataProperties(
+                useReadOnlyTransactionForLoad,
+                numberIdCacheSize,
+                useEntityDataStoreForIdSequence,
+                uniqueConstraintViolationPattern,
+                useUserLocaleForRelativeDateTimeMoments,
+                jpqlQueryCacheSize,
+                idBatchPaddingEnabled,
+                streamFetchSize,
+                inMemoryConstraintsParallelThreshold)
+    }
+}
@@ -17,9 +17,14 @@
 package io.jmix.gradle
 
 
+import groovy.io.FileType
 import javassist.ClassPool
 import javassist.CtClass
 import javassist.NotFoundException
+import javassist.bytecode.AccessFlag
+import javassist.bytecode.AnnotationsAttribute
+import javassist.bytecode.ClassFile
+import javassist.bytecode.InnerClassesAttribute
 import org.gradle.api.Action
 import org.gradle.api.Project
 import org.gradle.api.Task
@@ -36,6 +41,10 @@ class EnhancingAction implements Action<Task> {
 
     static final String MAIN_STORE_NAME = "main"
 
+    // must be equal to ClasspathScanIndex.INDEX_FILE_NAME and ClasspathScanIndex.HEADER of jmix-core
+    static final String SCAN_INDEX_FILE_NAME = "jmix-scan-index.txt"
+    static final String SCAN_INDEX_HEADER = "# jmix-scan-index 1"
+
     private String sourceSetName
 
     EnhancingAction(String sourceSetName) {
@@ -55,6 +64,8 @@ class EnhancingAction implements Action<Task> {
         persistenceProviderEnhancing().run(project, sourceSet, classesInfo.allStores())
 
         runJmixEnhancing(project, sourceSet, classesInfo)
+
+        writeScanIndex(project, sourceSet, classesInfo)
     }
 
     protected ClassesInfo collectClasses(Project project, SourceSet sourceSet) {
@@ -241,6 +252,79 @@ class EnhancingAction implements Action<Task> {
         }
     }
 
+    /**
+     * Writes the index of classes of each module into its base package, so the classpath scanner of the application
+     * does not have to read all class files at startup. Must run after enhancing because the enhancer adds interfaces.
+     * The format is described in {@code io.jmix.core.impl.scanning.ClasspathScanIndex}.
+     */
+    protected void writeScanIndex(Project project, sourceSet, ClassesInfo classesInfo) {
+        File javaOutputDir = sourceSet.java.outputDir
+
+        for (String modulePath : classesInfo.modulePaths) {
+            File moduleDir = new File(javaOutputDir, modulePath)
+            if (!moduleDir.isDirectory()) {
+                continue
+            }
+
+            int count = writeModuleScanIndex(moduleDir)
+            project.logger.info("Written scan index of $count classes to ${new File(moduleDir, SCAN_INDEX_FILE_NAME)}")
+        }
+    }
+
+    /**
+     * Writes the index of all class files located in the module directory.
+     *
+     * @return number of indexed classes
+     */
+    protected static int writeModuleScanIndex(File moduleDir) {
+        List<String> lines = []
+        moduleDir.eachFileRecurse(FileType.FILES) { File file ->
+            if (file.name.endsWith('.class')) {
+                ClassFile classFile = file.withDataInputStream { new ClassFile(it) }
+                lines.add(scanIndexLine(classFile))
+            }
+        }
+        lines.sort()
+
+        File indexFile = new File(moduleDir, SCAN_INDEX_FILE_NAME)
+        indexFile.withWriter('UTF-8') { writer ->
+            writer.write(SCAN_INDEX_HEADER)
+            writer.write('\n')
+            lines.each {
+                writer.write(it)
+                writer.write('\n')
+            }
+        }
+        return lines.size()
+    }
+
+    protected static String scanIndexLine(ClassFile classFile) {
+        String className = classFile.getName()
+
+        boolean independent = true
+        InnerClassesAttribute innerClasses = (InnerClassesAttribute) classFile.getAttribute(InnerClassesAttribute.tag)
+        if (innerClasses != null) {
+            for (int i = 0; i < innerClasses.tableLength(); i++) {
+                if (innerClasses.innerClass(i) == className) {
+                    independent = innerClasses.outerClass(i) != null &&
+                            (innerClasses.accessFlags(i) & AccessFlag.STATIC) != 0
+                }
+            }
+        }
+
+        List<String> annotations = []
+        AnnotationsAttribute visibleAnnotations =
+                (AnnotationsAttribute) classFile.getAttribute(AnnotationsAttribute.visibleTag)
+        visibleAnnotations?.getAnnotations()?.each { annotations.add(it.getTypeName()) }
+
+        return [className,
+                classFile.getSuperclass() ?: '',
+                String.valueOf(classFile.getAccessFlags()),
+                String.valueOf(independent),
+                classFile.getInterfaces().join(','),
+                annotations.join(',')].join('\t')
+    }
+
     static ClassPool createClassPool(Project project, sourceSet) {
         ClassPool classPool = new ClassPool(null)
         classPool.appendSystemPath()
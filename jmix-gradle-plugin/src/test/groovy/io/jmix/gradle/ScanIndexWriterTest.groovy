@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.gradle
+
+import javassist.ClassPool
+import javassist.CtClass
+import javassist.bytecode.AccessFlag
+import javassist.bytecode.AnnotationsAttribute
+import javassist.bytecode.annotation.Annotation
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+
+import static org.junit.jupiter.api.Assertions.assertEquals
+import static org.junit.jupiter.api.Assertions.assertTrue
+
+class ScanIndexWriterTest {
+
+    @TempDir
+    File outputDir
+
+    @Test
+    void "index lists classes of module with their metadata"() {
+        ClassPool pool = new ClassPool(true)
+
+        CtClass base = pool.makeClass('com.company.app.entity.Base')
+        base.writeFile(outputDir.path)
+
+        CtClass customer = pool.makeClass('com.company.app.entity.Customer', base)
+        customer.addInterface(pool.get(Serializable.name))
+        def constPool = customer.classFile.constPool
+        def annotations = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag)
+        annotations.addAnnotation(new Annotation('io.jmix.core.metamodel.annotation.JmixEntity', constPool))
+        customer.classFile.addAttribute(annotations)
+        customer.writeFile(outputDir.path)
+
+        File moduleDir = new File(outputDir, 'com/company/app')
+
+        int count = EnhancingAction.writeModuleScanIndex(moduleDir)
+
+        assertEquals(2, count)
+        List<String> lines = new File(moduleDir, EnhancingAction.SCAN_INDEX_FILE_NAME).readLines('UTF-8')
+        assertEquals(3, lines.size())
+        assertEquals(EnhancingAction.SCAN_INDEX_HEADER, lines[0])
+
+        String[] fields = lines[2].split('\t', -1)
+        assertEquals(6, fields.length)
+        assertEquals('com.company.app.entity.Customer', fields[0])
+        assertEquals('com.company.app.entity.Base', fields[1])
+        assertTrue((Integer.parseInt(fields[2]) & AccessFlag.PUBLIC) != 0)
+        assertEquals('true', fields[3])
+        assertEquals(Serializable.name, fields[4])
+        assertEquals('io.jmix.core.metamodel.annotation.JmixEntity', fields[5])
+
+        assertEquals('com.company.app.entity.Base', lines[1].split('\t', -1)[0])
+    }
+}
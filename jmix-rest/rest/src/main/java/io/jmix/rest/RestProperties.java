@@ -53,6 +53,32 @@ public class RestProperties {
     private final int defaultMaxFetchSize;
     private final Map<String, Integer> entityMaxFetchSize;
 
+    /**
+     * Whether entities returned by the entities list and search endpoints are read from a database cursor while
+     * they are written to the response. Otherwise, a page of entities is loaded before writing. The load transaction
+     * of a cursor is kept open until the response is written, and entities filtered out by in-memory constraints
+     * are not replaced by the following ones, so a page may contain fewer entities than the limit.
+     */
+    private final boolean cursorLoadingEnabled;
+
+    /**
+     * Whether ETags are returned for entities, metadata and messages, and conditional GET requests with the
+     * If-None-Match header are answered with 304 Not Modified.
+     */
+    private final boolean etagEnabled;
+
+    /**
+     * Maximum number of parsed search filters and sort expressions cached by
+     * {@link io.jmix.rest.impl.service.filter.RestFilterCache}. Zero disables the cache.
+     */
+    private final int filterCacheSize;
+
+    /**
+     * Whether the detailed OpenAPI documentation is generated in background after the application startup.
+     * Otherwise, it is generated on the first request.
+     */
+    private final boolean openApiBackgroundGenerationEnabled;
+
     public RestProperties(
             @DefaultValue("*") String[] allowedOrigins,
             //todo DataSize type
@@ -60,13 +86,21 @@ public class RestProperties {
             @DefaultValue("false") boolean optimisticLockingEnabled,
             @DefaultValue("true") boolean responseFetchPlanEnabled,
             @DefaultValue("10000") int defaultMaxFetchSize,
-            @Nullable Map<String, Integer> entityMaxFetchSize) {
+            @Nullable Map<String, Integer> entityMaxFetchSize,
+            @DefaultValue("false") boolean cursorLoadingEnabled,
+            @DefaultValue("true") boolean etagEnabled,
+            @DefaultValue("1000") int filterCacheSize,
+            @DefaultValue("true") boolean openApiBackgroundGenerationEnabled) {
         this.allowedOrigins = allowedOrigins;
         this.maxUploadSize = maxUploadSize;
         this.optimisticLockingEnabled = optimisticLockingEnabled;
         this.responseFetchPlanEnabled = responseFetchPlanEnabled;
         this.defaultMaxFetchSize = defaultMaxFetchSize;
         this.entityMaxFetchSize = entityMaxFetchSize == null ? Collections.emptyMap() : entityMaxFetchSize;
+        this.cursorLoadingEnabled = cursorLoadingEnabled;
+        this.etagEnabled = etagEnabled;
+        this.filterCacheSize = filterCacheSize;
+        this.openApiBackgroundGenerationEnabled = openApiBackgroundGenerationEnabled;
     }
 
     /**
@@ -103,4 +137,32 @@ public class RestProperties {
     public int getEntityMaxFetchSize(String entityName) {
         return entityMaxFetchSize.getOrDefault(entityName, defaultMaxFetchSize);
     }
+
+    /**
+     * @see #cursorLoadingEnabled
+     */
+    public boolean isCursorLoadingEnabled() {
+        return cursorLoadingEnabled;
+    }
+
+    /**
+     * @see #etagEnabled
+     */
+    public boolean isEtagEnabled() {
+        return etagEnabled;
+    }
+
+    /**
+     * @see #filterCacheSize
+     */
+    public int getFilterCacheSize() {
+        return filterCacheSize;
+    }
+
+    /**
+     * @see #openApiBackgroundGenerationEnabled
+     */
+    public boolean isOpenApiBackgroundGenerationEnabled() {
+        return openApiBackgroundGenerationEnabled;
+    }
 }
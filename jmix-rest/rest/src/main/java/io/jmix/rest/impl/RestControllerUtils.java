@@ -24,6 +24,7 @@ import io.jmix.core.Metadata;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.rest.impl.config.RestJsonTransformations;
 import io.jmix.rest.exception.RestAPIException;
+import io.jmix.rest.transform.EntityJsonTransformer;
 import io.jmix.rest.transform.JsonTransformationDirection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -83,5 +84,15 @@ public class RestControllerUtils {
         return Strings.isNullOrEmpty(modelVersion) ? json :
                 restJsonTransformations.getTransformer(entityName, modelVersion, direction).transformJson(json);
     }
+
+    /**
+     * Returns a transformer for the entity JSON or null if no model version is requested.
+     */
+    @Nullable
+    public EntityJsonTransformer getJsonTransformerIfRequired(String entityName, @Nullable String modelVersion,
+                                                              JsonTransformationDirection direction) {
+        return Strings.isNullOrEmpty(modelVersion) ? null :
+                restJsonTransformations.getTransformer(entityName, modelVersion, direction);
+    }
 }
 
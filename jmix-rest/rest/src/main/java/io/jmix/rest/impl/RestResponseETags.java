@@ -0,0 +1,273 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.rest.impl;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.jmix.core.EntityAttributeVisitor;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.FetchPlanRepositoryChangedEvent;
+import io.jmix.core.event.MessagesChangedEvent;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.rest.RestProperties;
+import io.jmix.rest.impl.service.EntitiesMetadataControllerManager;
+import io.jmix.rest.impl.service.MessagesControllerManager;
+import io.jmix.rest.impl.service.filter.data.MetaClassInfo;
+import io.jmix.rest.impl.service.filter.data.MetaPropertyInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Calculates ETags of REST API responses and checks conditional requests.
+ * <p>
+ * An ETag of entities is calculated from the versions of all loaded instances of the entity graphs: the value of the
+ * {@code @Version} attribute or, if the entity is not versioned, its last modified date. If an instance has none of
+ * them, the ETag is not calculated. The ETag also depends on the current user and locale, and on the passed
+ * parameters of the response representation.
+ * <p>
+ * ETags of metadata and messages are based on a hash of all metadata or messages of the locale. The hash is
+ * calculated on the first request and is recalculated after fetch plans are redeployed or messages are reloaded,
+ * so such requests can be checked before doing any work. As the hash depends only on the content, all instances of
+ * the application with the same metadata and messages return the same ETags.
+ */
+@Component("rest_RestResponseETags")
+public class RestResponseETags {
+
+    @Autowired
+    protected RestProperties restProperties;
+
+    @Autowired
+    protected Metadata metadata;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
+    @Autowired
+    protected EntitiesMetadataControllerManager metadataControllerManager;
+
+    @Autowired
+    protected MessagesControllerManager messagesControllerManager;
+
+    protected final AtomicLong generation = new AtomicLong();
+
+    // content hashes by resources, locale and generation
+    protected final Map<String, String> contentHashes = new ConcurrentHashMap<>();
+
+    /**
+     * Checks the If-None-Match header of the request against the ETag of metadata. If the ETag matches, the
+     * response status is set to 304 Not Modified.
+     *
+     * @return true if the request is not modified and no further processing is required
+     */
+    public boolean checkMetadataNotModified(WebRequest request) {
+        return restProperties.isEtagEnabled()
+                && request.checkNotModified(getStaticResourcesETag("metadata", this::putMetadata, request));
+    }
+
+    /**
+     * Checks the If-None-Match header of the request against the ETag of messages. If the ETag matches, the
+     * response status is set to 304 Not Modified.
+     *
+     * @return true if the request is not modified and no further processing is required
+     */
+    public boolean checkMessagesNotModified(WebRequest request) {
+        return restProperties.isEtagEnabled()
+                && request.checkNotModified(getStaticResourcesETag("messages", this::putMessages, request));
+    }
+
+    /**
+     * Checks the If-None-Match header of the request against the ETag of loaded entities. If the ETag matches, the
+     * response status is set to 304 Not Modified.
+     *
+     * @param entities   loaded entities in the order of the response
+     * @param parameters parameters affecting the JSON of entities
+     * @return true if the request is not modified and the entities must not be serialized
+     */
+    public boolean checkEntitiesNotModified(WebRequest request, Collection<?> entities, Object... parameters) {
+        if (!restProperties.isEtagEnabled()) {
+            return false;
+        }
+        String eTag = getEntitiesETag(entities, parameters);
+        return eTag != null && request.checkNotModified(eTag);
+    }
+
+    /**
+     * Returns an ETag of entities or null if some loaded instance has neither version nor last modified date.
+     */
+    @Nullable
+    public String getEntitiesETag(Collection<?> entities, Object... parameters) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        putRequestContext(hasher);
+        for (Object parameter : parameters) {
+            hasher.putString(String.valueOf(parameter), StandardCharsets.UTF_8).putChar('|');
+        }
+
+        EntityVersionVisitor visitor = new EntityVersionVisitor(hasher);
+        for (Object entity : entities) {
+            visitor.putEntity(entity);
+            metadataTools.traverseAttributes(entity, visitor);
+            if (!visitor.versioned) {
+                return null;
+            }
+        }
+        return "\"" + hasher.hash() + "\"";
+    }
+
+    protected String getStaticResourcesETag(String resources, Consumer<Hasher> contentWriter, WebRequest request) {
+        String locale = currentAuthentication.getLocale().toString();
+        String contentHash = getContentHash(resources, locale, contentWriter);
+        Hasher hasher = Hashing.murmur3_128().newHasher()
+                .putString(resources, StandardCharsets.UTF_8).putChar('|')
+                .putString(contentHash, StandardCharsets.UTF_8).putChar('|')
+                // the ETag of one resource must not match another one
+                .putString(request.getDescription(false), StandardCharsets.UTF_8).putChar('|')
+                .putString(locale, StandardCharsets.UTF_8);
+        return "\"" + hasher.hash() + "\"";
+    }
+
+    protected String getContentHash(String resources, String locale, Consumer<Hasher> contentWriter) {
+        String key = resources + '|' + locale + '|' + generation.get();
+        return contentHashes.computeIfAbsent(key, k -> {
+            Hasher hasher = Hashing.murmur3_128().newHasher();
+            contentWriter.accept(hasher);
+            return hasher.hash().toString();
+        });
+    }
+
+    /**
+     * Puts the information and fetch plans of all entities returned by the metadata endpoints.
+     */
+    protected void putMetadata(Hasher hasher) {
+        List<MetaClass> metaClasses = new ArrayList<>(metadata.getSession().getClasses());
+        metaClasses.sort(Comparator.comparing(MetaClass::getName));
+        for (MetaClass metaClass : metaClasses) {
+            MetaClassInfo info = metadataControllerManager.getMetaClassInfo(metaClass.getName());
+            hasher.putString(info.getEntityName(), StandardCharsets.UTF_8).putChar('|')
+                    .putString(String.valueOf(info.getAncestor()), StandardCharsets.UTF_8).putChar('|');
+            for (MetaPropertyInfo property : info.getProperties()) {
+                hasher.putString(property.getName(), StandardCharsets.UTF_8).putChar('|')
+                        .putString(String.valueOf(property.getAttributeType()), StandardCharsets.UTF_8).putChar('|')
+                        .putString(String.valueOf(property.getType()), StandardCharsets.UTF_8).putChar('|')
+                        .putString(String.valueOf(property.getCardinality()), StandardCharsets.UTF_8).putChar('|')
+                        .putBoolean(property.isMandatory())
+                        .putBoolean(property.isReadOnly())
+                        .putBoolean(property.isPersistent())
+                        .putString(String.valueOf(property.getDescription()), StandardCharsets.UTF_8).putChar('|');
+            }
+            hasher.putString(metadataControllerManager.getAllFetchPlansForMetaClass(metaClass.getName()),
+                    StandardCharsets.UTF_8).putChar('|');
+        }
+    }
+
+    /**
+     * Puts all messages returned by the messages endpoints.
+     */
+    protected void putMessages(Hasher hasher) {
+        putMessages(hasher, messagesControllerManager.getLocalizationForAllEntities());
+        putMessages(hasher, messagesControllerManager.getLocalizationForAllEnums());
+    }
+
+    protected void putMessages(Hasher hasher, Map<String, String> messages) {
+        for (Map.Entry<String, String> entry : new TreeMap<>(messages).entrySet()) {
+            hasher.putString(entry.getKey(), StandardCharsets.UTF_8).putChar('=')
+                    .putString(String.valueOf(entry.getValue()), StandardCharsets.UTF_8).putChar('|');
+        }
+    }
+
+    protected void putRequestContext(Hasher hasher) {
+        if (currentAuthentication.isSet()) {
+            hasher.putString(currentAuthentication.getUser().getUsername(), StandardCharsets.UTF_8);
+        }
+        hasher.putChar('|')
+                .putString(currentAuthentication.getLocale().toString(), StandardCharsets.UTF_8)
+                .putChar('|');
+    }
+
+    @EventListener
+    protected void onFetchPlanRepositoryChanged(FetchPlanRepositoryChangedEvent event) {
+        generation.incrementAndGet();
+        contentHashes.clear();
+    }
+
+    @EventListener
+    protected void onMessagesChanged(MessagesChangedEvent event) {
+        generation.incrementAndGet();
+        contentHashes.clear();
+    }
+
+    /**
+     * Puts the name, id and version of each instance of the graph to the hasher once.
+     */
+    protected class EntityVersionVisitor implements EntityAttributeVisitor {
+
+        protected final Hasher hasher;
+        protected final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        protected boolean versioned = true;
+
+        protected EntityVersionVisitor(Hasher hasher) {
+            this.hasher = hasher;
+        }
+
+        @Override
+        public void visit(Object entity, MetaProperty property) {
+            putEntity(entity);
+        }
+
+        protected void putEntity(Object entity) {
+            if (!visited.add(entity)) {
+                return;
+            }
+            MetaClass metaClass = metadata.getClass(entity);
+            if (metadataTools.isJpaEmbeddable(metaClass)) {
+                // embedded instances are versioned together with the owning entity
+                return;
+            }
+
+            Object version = EntityValues.isVersionSupported(entity) ? EntityValues.getVersion(entity) : null;
+            if (version == null) {
+                version = EntityValues.getLastModifiedDate(entity);
+            }
+            if (version == null) {
+                versioned = false;
+                return;
+            }
+            if (version instanceof Date) {
+                version = ((Date) version).getTime();
+            }
+
+            hasher.putString(metaClass.getName(), StandardCharsets.UTF_8).putChar('|')
+                    .putString(String.valueOf(EntityValues.getId(entity)), StandardCharsets.UTF_8).putChar('|')
+                    .putString(version.toString(), StandardCharsets.UTF_8).putChar('|');
+        }
+    }
+}
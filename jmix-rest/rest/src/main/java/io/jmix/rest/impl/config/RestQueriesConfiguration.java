@@ -27,6 +27,7 @@ import org.dom4j.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
@@ -65,6 +66,9 @@ public class RestQueriesConfiguration {
     @Autowired
     protected Environment environment;
 
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+
     protected List<QueryInfo> queries = new ArrayList<>();
 
     public static final String ALL_ENTITIES_QUERY_NAME = "all";
@@ -117,6 +121,30 @@ public class RestQueriesConfiguration {
         }
     }
 
+    /**
+     * Reloads the configuration files and sends {@link RestQueriesConfigurationChangedEvent}.
+     * <p>
+     * Can be invoked on a running application by the {@code io.jmix.rest.impl.config.RestQueriesConfiguration#reload}
+     * trigger file, see {@link io.jmix.core.impl.TriggerFilesProcessor}.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        List<QueryInfo> previousQueries = queries;
+        try {
+            // readers keep the previously returned list
+            queries = new ArrayList<>();
+            init();
+            initialized = true;
+        } catch (RuntimeException e) {
+            // the previous queries stay in use if the configuration cannot be loaded
+            queries = previousQueries;
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        eventPublisher.publishEvent(new RestQueriesConfigurationChangedEvent(this));
+    }
+
     protected void checkInitialized() {
         if (!initialized) {
             lock.readLock().unlock();
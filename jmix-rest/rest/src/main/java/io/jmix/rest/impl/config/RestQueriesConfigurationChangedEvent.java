@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.rest.impl.config;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * A Spring application event which is sent when the REST API predefined queries are reloaded from the configuration files
+ * by {@link RestQueriesConfiguration#reload()}.
+ */
+public class RestQueriesConfigurationChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 8153071964402135582L;
+
+    public RestQueriesConfigurationChangedEvent(RestQueriesConfiguration source) {
+        super(source);
+    }
+
+    @Override
+    public RestQueriesConfiguration getSource() {
+        return (RestQueriesConfiguration) super.getSource();
+    }
+}
@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
@@ -79,6 +80,9 @@ public class RestServicesConfiguration {
     @Autowired
     protected BeanFactory beanFactory;
 
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+
     @Nullable
     public RestMethodInfo getRestMethodInfo(String serviceName, String methodName, String httpMethod, List<String> methodParamNames) {
         lock.readLock().lock();
@@ -118,6 +122,30 @@ public class RestServicesConfiguration {
                 .noneMatch(paramInfo -> paramInfo.required && !paramNames.contains(paramInfo.name));
     }
 
+    /**
+     * Reloads the configuration files and sends {@link RestServicesConfigurationChangedEvent}.
+     * <p>
+     * Can be invoked on a running application by the {@code io.jmix.rest.impl.config.RestServicesConfiguration#reload}
+     * trigger file, see {@link io.jmix.core.impl.TriggerFilesProcessor}.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        Map<String, RestServiceInfo> previousServiceInfosMap = serviceInfosMap;
+        try {
+            // readers keep the previously returned collection
+            serviceInfosMap = new ConcurrentHashMap<>();
+            init();
+            initialized = true;
+        } catch (RuntimeException e) {
+            // the previous services stay in use if the configuration cannot be loaded
+            serviceInfosMap = previousServiceInfosMap;
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        eventPublisher.publishEvent(new RestServicesConfigurationChangedEvent(this));
+    }
+
     protected void checkInitialized() {
         if (!initialized) {
             lock.readLock().unlock();
@@ -16,21 +16,22 @@
 
 package io.jmix.rest.impl.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.jmix.core.Resources;
 import io.jmix.rest.exception.RestAPIException;
+import io.jmix.rest.impl.openapi.OpenAPIDocument;
 import io.jmix.rest.impl.openapi.OpenAPIGenerator;
-import io.swagger.v3.core.util.Json;
-import io.swagger.v3.core.util.Yaml;
-import io.swagger.v3.oas.models.OpenAPI;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -65,26 +66,68 @@ public class DocumentationController {
     }
 
     @RequestMapping(value = "/openapiDetailed.yaml", method = RequestMethod.GET, produces = "application/yaml")
-    public String getProjectOpenApiYaml() {
-        try {
-            OpenAPI openAPI = openAPIGenerator.generateOpenAPI();
+    public ResponseEntity<byte[]> getProjectOpenApiYaml(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        OpenAPIDocument document = openAPIGenerator.getOpenAPIDocument();
+        return createDocumentResponse(document.getYaml(), document.getYamlGzip(), acceptEncoding);
+    }
 
-            return Yaml.pretty().writeValueAsString(openAPI);
-        } catch (IOException e) {
-            throw new RestAPIException("An error occurred while generating Swagger documentation", e.getMessage(),
-                    HttpStatus.INTERNAL_SERVER_ERROR, e);
+    @RequestMapping(value = "/openapiDetailed.json", method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getProjectOpenApiJson(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        OpenAPIDocument document = openAPIGenerator.getOpenAPIDocument();
+        return createDocumentResponse(document.getJson(), document.getJsonGzip(), acceptEncoding);
+    }
+
+    /**
+     * Returns the pre-serialized document, compressed if the client accepts gzip.
+     */
+    protected ResponseEntity<byte[]> createDocumentResponse(byte[] content, byte[] gzipContent,
+                                                            @Nullable String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (isGzipAccepted(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipContent);
         }
+        return builder.body(content);
     }
 
-    @RequestMapping(value = "/openapiDetailed.json", method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
-    public String getProjectOpenApiJson() {
-        try {
-            OpenAPI openAPI = openAPIGenerator.generateOpenAPI();
+    /**
+     * Checks whether the Accept-Encoding header allows gzip, taking into account quality values, e.g.
+     * {@code gzip;q=0} forbids it and {@code *} allows it if gzip is not listed explicitly.
+     */
+    protected boolean isGzipAccepted(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase();
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = getQuality(parts);
+            } else if (name.equals("*")) {
+                anyQuality = getQuality(parts);
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return anyQuality != null && anyQuality > 0;
+    }
 
-            return Json.pretty().writeValueAsString(openAPI);
-        } catch (JsonProcessingException e) {
-            throw new RestAPIException("An error occurred while generating Swagger documentation", e.getMessage(),
-                    HttpStatus.INTERNAL_SERVER_ERROR, e);
+    protected double getQuality(String[] codingParts) {
+        for (int i = 1; i < codingParts.length; i++) {
+            String parameter = codingParts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
         }
+        return 1;
     }
 }
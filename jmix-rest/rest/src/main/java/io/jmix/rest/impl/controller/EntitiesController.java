@@ -30,8 +30,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 /**
  * Controller that performs CRUD entity operations
@@ -50,50 +53,54 @@ public class EntitiesController {
                              @RequestParam(required = false) String fetchPlan,
                              @RequestParam(required = false) Boolean returnNulls,
                              @RequestParam(required = false) Boolean dynamicAttributes,
-                             @RequestParam(required = false) String modelVersion) {
+                             @RequestParam(required = false) String modelVersion,
+                             WebRequest webRequest) {
         return entitiesControllerManager.loadEntity(entityName, entityId, StringUtils.defaultString(fetchPlan, view),
-                returnNulls, dynamicAttributes, modelVersion);
+                returnNulls, dynamicAttributes, modelVersion, webRequest);
     }
 
     @GetMapping("/{entityName}")
-    public ResponseEntity<String> loadEntitiesList(@PathVariable String entityName,
-                                                   @RequestParam(required = false) String view,
-                                                   @RequestParam(required = false) String fetchPlan,
-                                                   @RequestParam(required = false) Integer limit,
-                                                   @RequestParam(required = false) Integer offset,
-                                                   @RequestParam(required = false) String sort,
-                                                   @RequestParam(required = false) Boolean returnNulls,
-                                                   @RequestParam(required = false) Boolean returnCount,
-                                                   @RequestParam(required = false) Boolean dynamicAttributes,
-                                                   @RequestParam(required = false) String modelVersion) {
+    public void loadEntitiesList(@PathVariable String entityName,
+                                 @RequestParam(required = false) String view,
+                                 @RequestParam(required = false) String fetchPlan,
+                                 @RequestParam(required = false) Integer limit,
+                                 @RequestParam(required = false) Integer offset,
+                                 @RequestParam(required = false) String sort,
+                                 @RequestParam(required = false) Boolean returnNulls,
+                                 @RequestParam(required = false) Boolean returnCount,
+                                 @RequestParam(required = false) Boolean dynamicAttributes,
+                                 @RequestParam(required = false) String modelVersion,
+                                 WebRequest webRequest,
+                                 HttpServletResponse response) throws IOException {
         EntitiesSearchResult entitiesSearchResult = entitiesControllerManager.loadEntitiesList(entityName, StringUtils.defaultString(fetchPlan, view), limit,
-                offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion);
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
-        if (BooleanUtils.isTrue(returnCount)) {
-            responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
+                offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion, webRequest);
+        if (entitiesSearchResult == null) {
+            return;
         }
-        return responseBuilder.body(entitiesSearchResult.getJson());
+        writeEntitiesSearchResult(entitiesSearchResult, BooleanUtils.isTrue(returnCount), response);
     }
 
     @GetMapping("/{entityName}/search")
-    public ResponseEntity<String> searchEntitiesListGet(@PathVariable String entityName,
-                                                        @RequestParam String filter,
-                                                        @RequestParam(required = false) String view,
-                                                        @RequestParam(required = false) String fetchPlan,
-                                                        @RequestParam(required = false) Integer limit,
-                                                        @RequestParam(required = false) Integer offset,
-                                                        @RequestParam(required = false) String sort,
-                                                        @RequestParam(required = false) Boolean returnNulls,
-                                                        @RequestParam(required = false) Boolean returnCount,
-                                                        @RequestParam(required = false) Boolean dynamicAttributes,
-                                                        @RequestParam(required = false) String modelVersion) {
+    public void searchEntitiesListGet(@PathVariable String entityName,
+                                      @RequestParam String filter,
+                                      @RequestParam(required = false) String view,
+                                      @RequestParam(required = false) String fetchPlan,
+                                      @RequestParam(required = false) Integer limit,
+                                      @RequestParam(required = false) Integer offset,
+                                      @RequestParam(required = false) String sort,
+                                      @RequestParam(required = false) Boolean returnNulls,
+                                      @RequestParam(required = false) Boolean returnCount,
+                                      @RequestParam(required = false) Boolean dynamicAttributes,
+                                      @RequestParam(required = false) String modelVersion,
+                                      WebRequest webRequest,
+                                      HttpServletResponse response) throws IOException {
         EntitiesSearchResult entitiesSearchResult = entitiesControllerManager.searchEntities(entityName, filter,
-                StringUtils.defaultString(fetchPlan, view), limit, offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion);
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
-        if (BooleanUtils.isTrue(returnCount)) {
-            responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
+                StringUtils.defaultString(fetchPlan, view), limit, offset, sort, returnNulls, returnCount, dynamicAttributes,
+                modelVersion, webRequest);
+        if (entitiesSearchResult == null) {
+            return;
         }
-        return responseBuilder.body(entitiesSearchResult.getJson());
+        writeEntitiesSearchResult(entitiesSearchResult, BooleanUtils.isTrue(returnCount), response);
     }
 
     @GetMapping("/{entityName}/search/count")
@@ -104,16 +111,13 @@ public class EntitiesController {
     }
 
     @PostMapping("/{entityName}/search")
-    public ResponseEntity<String> searchEntitiesListPost(@PathVariable String entityName,
-                                                         @RequestBody String requestBodyJson) {
+    public void searchEntitiesListPost(@PathVariable String entityName,
+                                       @RequestBody String requestBodyJson,
+                                       HttpServletResponse response) throws IOException {
         EntitiesSearchResult entitiesSearchResult = entitiesControllerManager.searchEntities(entityName, requestBodyJson);
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
         JsonObject requestJsonObject = new JsonParser().parse(requestBodyJson).getAsJsonObject();
         JsonPrimitive returnCount = requestJsonObject.getAsJsonPrimitive("returnCount");
-        if (returnCount != null && returnCount.getAsBoolean()) {
-            responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
-        }
-        return responseBuilder.body(entitiesSearchResult.getJson());
+        writeEntitiesSearchResult(entitiesSearchResult, returnCount != null && returnCount.getAsBoolean(), response);
     }
 
     @PostMapping("/{entityName}/search/count")
@@ -172,4 +176,18 @@ public class EntitiesController {
         entitiesControllerManager.deleteEntities(entityName, entitiesIdJson, modelVersion);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Writes found entities directly to the response output stream, so the JSON of the whole list is not built
+     * in memory.
+     */
+    protected void writeEntitiesSearchResult(EntitiesSearchResult entitiesSearchResult, boolean returnCount,
+                                             HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        if (returnCount) {
+            response.setHeader("X-Total-Count", entitiesSearchResult.getCount().toString());
+        }
+        entitiesSearchResult.writeJson(response.getOutputStream());
+    }
 }
@@ -16,6 +16,7 @@
 
 package io.jmix.rest.impl.controller;
 
+import io.jmix.rest.impl.RestResponseETags;
 import io.jmix.rest.impl.service.EntitiesMetadataControllerManager;
 import io.jmix.rest.impl.service.filter.data.MetaClassInfo;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Collection;
 
@@ -37,35 +39,61 @@ public class EntitiesMetadataController {
     @Autowired
     protected EntitiesMetadataControllerManager controllerManager;
 
+    @Autowired
+    protected RestResponseETags restResponseETags;
+
     @GetMapping("/entities/{entityName}")
-    public MetaClassInfo getMetaClassInfo(@PathVariable String entityName) {
+    public MetaClassInfo getMetaClassInfo(@PathVariable String entityName,
+                                          WebRequest webRequest) {
+        if (restResponseETags.checkMetadataNotModified(webRequest)) {
+            return null;
+        }
         return controllerManager.getMetaClassInfo(entityName);
     }
 
     @GetMapping("/entities")
-    public Collection<MetaClassInfo> getAllMetaClassesInfo() {
+    public Collection<MetaClassInfo> getAllMetaClassesInfo(WebRequest webRequest) {
+        if (restResponseETags.checkMetadataNotModified(webRequest)) {
+            return null;
+        }
         return controllerManager.getAllMetaClassesInfo();
     }
 
     @GetMapping("/entities/{entityName}/views/{viewName}")
     public String getView(@PathVariable String entityName,
-                          @PathVariable String viewName) {
+                          @PathVariable String viewName,
+                          WebRequest webRequest) {
+        if (restResponseETags.checkMetadataNotModified(webRequest)) {
+            return null;
+        }
         return controllerManager.getFetchPlan(entityName, viewName);
     }
 
     @GetMapping("/entities/{entityName}/fetchPlans/{fetchPlanName}")
     public String getFetchPlan(@PathVariable String entityName,
-                               @PathVariable String fetchPlanName) {
+                               @PathVariable String fetchPlanName,
+                               WebRequest webRequest) {
+        if (restResponseETags.checkMetadataNotModified(webRequest)) {
+            return null;
+        }
         return controllerManager.getFetchPlan(entityName, fetchPlanName);
     }
 
     @GetMapping("/entities/{entityName}/views")
-    public String getAllViewsForMetaClass(@PathVariable String entityName) {
+    public String getAllViewsForMetaClass(@PathVariable String entityName,
+                                          WebRequest webRequest) {
+        if (restResponseETags.checkMetadataNotModified(webRequest)) {
+            return null;
+        }
         return controllerManager.getAllFetchPlansForMetaClass(entityName);
     }
 
     @GetMapping("/entities/{entityName}/fetchPlans")
-    public String getAllFetchPlansForMetaClass(@PathVariable String entityName) {
+    public String getAllFetchPlansForMetaClass(@PathVariable String entityName,
+                                               WebRequest webRequest) {
+        if (restResponseETags.checkMetadataNotModified(webRequest)) {
+            return null;
+        }
         return controllerManager.getAllFetchPlansForMetaClass(entityName);
     }
 }
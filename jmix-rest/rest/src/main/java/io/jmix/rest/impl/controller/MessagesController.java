@@ -16,12 +16,14 @@
 
 package io.jmix.rest.impl.controller;
 
+import io.jmix.rest.impl.RestResponseETags;
 import io.jmix.rest.impl.service.MessagesControllerManager;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import java.util.Map;
@@ -36,23 +38,40 @@ public class MessagesController {
     @Autowired
     protected MessagesControllerManager messagesControllerManager;
 
+    @Autowired
+    protected RestResponseETags restResponseETags;
+
     @GetMapping("/entities/{entityName}")
-    public Map<String, String> getLocalizationForEntity(@PathVariable String entityName) {
+    public Map<String, String> getLocalizationForEntity(@PathVariable String entityName,
+                                                        WebRequest webRequest) {
+        if (restResponseETags.checkMessagesNotModified(webRequest)) {
+            return null;
+        }
         return messagesControllerManager.getLocalizationForEntity(entityName);
     }
 
     @GetMapping("/entities")
-    public Map<String, String> getLocalizationForAllEntities() {
+    public Map<String, String> getLocalizationForAllEntities(WebRequest webRequest) {
+        if (restResponseETags.checkMessagesNotModified(webRequest)) {
+            return null;
+        }
         return messagesControllerManager.getLocalizationForAllEntities();
     }
 
     @GetMapping("/enums/{enumClassName:.+}")
-    public Map<String, String> getLocalizationForEnum(@PathVariable String enumClassName) {
+    public Map<String, String> getLocalizationForEnum(@PathVariable String enumClassName,
+                                                      WebRequest webRequest) {
+        if (restResponseETags.checkMessagesNotModified(webRequest)) {
+            return null;
+        }
         return messagesControllerManager.getLocalizationForEnum(enumClassName);
     }
 
     @GetMapping("/enums")
-    public Map<String, String> getLocalizationForAllEnums() {
+    public Map<String, String> getLocalizationForAllEnums(WebRequest webRequest) {
+        if (restResponseETags.checkMessagesNotModified(webRequest)) {
+            return null;
+        }
         return messagesControllerManager.getLocalizationForAllEnums();
     }
 }
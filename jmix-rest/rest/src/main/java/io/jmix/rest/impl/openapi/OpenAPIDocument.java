@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.rest.impl.openapi;
+
+/**
+ * Serialized OpenAPI documentation in JSON and YAML formats, as is and compressed by gzip.
+ * Byte arrays are shared and must not be modified.
+ */
+public class OpenAPIDocument {
+
+    protected final byte[] json;
+    protected final byte[] jsonGzip;
+    protected final byte[] yaml;
+    protected final byte[] yamlGzip;
+
+    public OpenAPIDocument(byte[] json, byte[] jsonGzip, byte[] yaml, byte[] yamlGzip) {
+        this.json = json;
+        this.jsonGzip = jsonGzip;
+        this.yaml = yaml;
+        this.yamlGzip = yamlGzip;
+    }
+
+    /**
+     * @return UTF-8 encoded JSON
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getJsonGzip() {
+        return jsonGzip;
+    }
+
+    /**
+     * @return UTF-8 encoded YAML
+     */
+    public byte[] getYaml() {
+        return yaml;
+    }
+
+    public byte[] getYamlGzip() {
+        return yamlGzip;
+    }
+}
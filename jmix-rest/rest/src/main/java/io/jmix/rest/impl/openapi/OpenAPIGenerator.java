@@ -29,4 +29,10 @@ public interface OpenAPIGenerator {
      * @return a {@code OpenAPI} object that can be transformed to JSON or YAML version of documentation
      */
     OpenAPI generateOpenAPI();
+
+    /**
+     * @return serialized documentation, generated once and then updated when predefined queries or services
+     * are reloaded
+     */
+    OpenAPIDocument getOpenAPIDocument();
 }
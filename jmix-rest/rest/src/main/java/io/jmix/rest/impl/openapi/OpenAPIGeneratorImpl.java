@@ -25,11 +25,17 @@ import io.jmix.core.common.util.ReflectionHelper;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetadataObject;
+import io.jmix.rest.RestProperties;
+import io.jmix.rest.exception.RestAPIException;
 import io.jmix.rest.impl.config.RestQueriesConfiguration;
 import io.jmix.rest.impl.config.RestQueriesConfiguration.QueryInfo;
+import io.jmix.rest.impl.config.RestQueriesConfigurationChangedEvent;
 import io.jmix.rest.impl.config.RestServicesConfiguration;
 import io.jmix.rest.impl.config.RestServicesConfiguration.RestMethodInfo;
 import io.jmix.rest.impl.config.RestServicesConfiguration.RestServiceInfo;
+import io.jmix.rest.impl.config.RestServicesConfigurationChangedEvent;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
@@ -46,13 +52,21 @@ import io.swagger.v3.oas.models.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 import javax.annotation.Nullable;
 import javax.servlet.ServletContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import static io.jmix.core.impl.serialization.EntitySerializationImpl.ENTITY_NAME_PROP;
 import static io.jmix.core.impl.serialization.EntitySerializationImpl.INSTANCE_NAME_PROP;
@@ -89,8 +103,20 @@ public class OpenAPIGeneratorImpl implements OpenAPIGenerator {
     protected RestQueriesConfiguration queriesConfiguration;
     @Autowired
     protected RestServicesConfiguration servicesConfiguration;
+    @Autowired
+    protected RestProperties restProperties;
+    @Autowired
+    @Qualifier("core_ThreadPoolTaskScheduler")
+    protected TaskScheduler taskScheduler;
+
+    protected volatile OpenAPI openAPI = null;
 
-    protected OpenAPI openAPI = null;
+    protected volatile OpenAPIDocument document;
+
+    // parts of the documentation which are generated separately
+    protected OpenAPI entitiesPart;
+    protected OpenAPI queriesPart;
+    protected OpenAPI servicesPart;
 
     private volatile boolean initialized = false;
 
@@ -100,6 +126,51 @@ public class OpenAPIGeneratorImpl implements OpenAPIGenerator {
         return openAPI;
     }
 
+    @Override
+    public OpenAPIDocument getOpenAPIDocument() {
+        checkInitialized();
+        return document;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (restProperties.isOpenApiBackgroundGenerationEnabled()) {
+            taskScheduler.schedule(this::generateInBackground, new Date());
+        }
+    }
+
+    @EventListener
+    public void onQueriesConfigurationChanged(RestQueriesConfigurationChangedEvent event) {
+        synchronized (this) {
+            // not generated documentation will be generated with the new queries
+            if (initialized) {
+                log.info("Regenerating OpenAPI documentation of predefined queries");
+                queriesPart = createQueriesPart();
+                publish();
+            }
+        }
+    }
+
+    @EventListener
+    public void onServicesConfigurationChanged(RestServicesConfigurationChangedEvent event) {
+        synchronized (this) {
+            if (initialized) {
+                log.info("Regenerating OpenAPI documentation of services");
+                servicesPart = createServicesPart();
+                publish();
+            }
+        }
+    }
+
+    protected void generateInBackground() {
+        try {
+            checkInitialized();
+        } catch (RuntimeException e) {
+            // the documentation is generated again on request
+            log.error("Error generating OpenAPI documentation", e);
+        }
+    }
+
     protected void checkInitialized() {
         if (!initialized) {
             synchronized (this) {
@@ -113,17 +184,75 @@ public class OpenAPIGeneratorImpl implements OpenAPIGenerator {
     }
 
     protected void init() {
-        openAPI = new OpenAPI();
+        entitiesPart = new OpenAPI();
+        buildErrorSchema(entitiesPart);
+        buildEntitiesPaths(entitiesPart);
+
+        queriesPart = createQueriesPart();
+        servicesPart = createServicesPart();
+
+        publish();
+    }
+
+    protected OpenAPI createQueriesPart() {
+        OpenAPI part = new OpenAPI();
+        buildQueriesPaths(part);
+        return part;
+    }
+
+    protected OpenAPI createServicesPart() {
+        OpenAPI part = new OpenAPI();
+        buildServicesPaths(part);
+        return part;
+    }
+
+    /**
+     * Assembles the documentation from the generated parts and serializes it.
+     */
+    protected void publish() {
+        OpenAPI openAPI = new OpenAPI();
 
         buildServer(openAPI);
         buildInfo(openAPI);
         buildTags(openAPI);
-        buildErrorSchema(openAPI);
 
+        addPart(openAPI, entitiesPart);
+        addPart(openAPI, queriesPart);
+        addPart(openAPI, servicesPart);
+
+        document = createDocument(openAPI);
+        this.openAPI = openAPI;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected void addPart(OpenAPI openAPI, OpenAPI part) {
+        if (part.getComponents() != null && part.getComponents().getSchemas() != null) {
+            for (Map.Entry<String, Schema> entry : part.getComponents().getSchemas().entrySet()) {
+                openAPI.schema(entry.getKey(), entry.getValue());
+            }
+        }
+        if (part.getPaths() != null) {
+            part.getPaths().forEach(openAPI::path);
+        }
+    }
 
-        buildEntitiesPaths(openAPI);
-        buildQueriesPaths(openAPI);
-        buildServicesPaths(openAPI);
+    protected OpenAPIDocument createDocument(OpenAPI openAPI) {
+        try {
+            byte[] json = Json.pretty().writeValueAsBytes(openAPI);
+            byte[] yaml = Yaml.pretty().writeValueAsBytes(openAPI);
+            return new OpenAPIDocument(json, gzip(json), yaml, gzip(yaml));
+        } catch (IOException e) {
+            throw new RestAPIException("An error occurred while generating Swagger documentation", e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    protected byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(bytes);
+        }
+        return outputStream.toByteArray();
     }
 
     protected void buildServer(OpenAPI openAPI) {
@@ -18,6 +18,7 @@ package io.jmix.rest.impl.service;
 
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import com.google.gson.*;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.CrudEntityContext;
@@ -35,11 +36,14 @@ import io.jmix.core.validation.group.RestApiChecks;
 import io.jmix.rest.RestProperties;
 import io.jmix.rest.exception.RestAPIException;
 import io.jmix.rest.impl.RestControllerUtils;
+import io.jmix.rest.impl.RestResponseETags;
+import io.jmix.rest.impl.service.filter.RestFilterCache;
 import io.jmix.rest.impl.service.filter.RestFilterParseException;
 import io.jmix.rest.impl.service.filter.RestFilterParseResult;
 import io.jmix.rest.impl.service.filter.RestFilterParser;
 import io.jmix.rest.impl.service.filter.data.EntitiesSearchResult;
 import io.jmix.rest.impl.service.filter.data.ResponseInfo;
+import io.jmix.rest.transform.EntityJsonTransformer;
 import io.jmix.rest.transform.JsonTransformationDirection;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -47,6 +51,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -56,9 +61,15 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
 import javax.validation.Validator;
 import javax.validation.groups.Default;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.jmix.core.EntitySerializationOption.*;
 
@@ -75,6 +86,9 @@ public class EntitiesControllerManager {
     @Autowired
     protected Metadata metadata;
 
+    @Autowired
+    protected CoreProperties coreProperties;
+
     @Autowired
     protected EntitySerialization entitySerialization;
 
@@ -93,6 +107,9 @@ public class EntitiesControllerManager {
     @Autowired
     protected RestFilterParser restFilterParser;
 
+    @Autowired
+    protected RestFilterCache restFilterCache;
+
     @Autowired
     protected RestProperties restProperties;
 
@@ -111,12 +128,32 @@ public class EntitiesControllerManager {
     @Autowired
     protected Validator validator;
 
+    @Autowired
+    protected RestResponseETags restResponseETags;
+
     public String loadEntity(String entityName,
                              String entityId,
                              @Nullable String viewName,
                              @Nullable Boolean returnNulls,
                              @Nullable Boolean dynamicAttributes,
                              @Nullable String modelVersion) {
+        return loadEntity(entityName, entityId, viewName, returnNulls, dynamicAttributes, modelVersion, null);
+    }
+
+    /**
+     * Loads the entity and returns its JSON. If the request is passed, its If-None-Match header is checked
+     * against the ETag of the loaded entity graph before serialization.
+     *
+     * @return JSON of the entity or null if the request is not modified
+     */
+    @Nullable
+    public String loadEntity(String entityName,
+                             String entityId,
+                             @Nullable String viewName,
+                             @Nullable Boolean returnNulls,
+                             @Nullable Boolean dynamicAttributes,
+                             @Nullable String modelVersion,
+                             @Nullable WebRequest webRequest) {
 
         entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
         MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
@@ -136,6 +173,12 @@ public class EntitiesControllerManager {
         Object entity = dataManager.load(ctx);
         checkEntityIsNotNull(entityName, entityId, entity);
 
+        if (webRequest != null && !BooleanUtils.isTrue(dynamicAttributes)
+                && restResponseETags.checkEntitiesNotModified(webRequest, Collections.singletonList(entity),
+                viewName, returnNulls, modelVersion)) {
+            return null;
+        }
+
         List<EntitySerializationOption> serializationOptions = new ArrayList<>();
         serializationOptions.add(SERIALIZE_INSTANCE_NAME);
         serializationOptions.add(DO_NOT_SERIALIZE_DENIED_PROPERTY);
@@ -155,15 +198,32 @@ public class EntitiesControllerManager {
                                                  @Nullable Boolean returnCount,
                                                  @Nullable Boolean dynamicAttributes,
                                                  @Nullable String modelVersion) {
+        return loadEntitiesList(entityName, viewName, limit, offset, sort, returnNulls, returnCount, dynamicAttributes,
+                modelVersion, null);
+    }
+
+    /**
+     * Loads a page of entities. If the request is passed, its If-None-Match header is checked against the ETag
+     * of the loaded entities before serialization.
+     *
+     * @return found entities or null if the request is not modified
+     */
+    @Nullable
+    public EntitiesSearchResult loadEntitiesList(String entityName,
+                                                 @Nullable String viewName,
+                                                 @Nullable Integer limit,
+                                                 @Nullable Integer offset,
+                                                 @Nullable String sort,
+                                                 @Nullable Boolean returnNulls,
+                                                 @Nullable Boolean returnCount,
+                                                 @Nullable Boolean dynamicAttributes,
+                                                 @Nullable String modelVersion,
+                                                 @Nullable WebRequest webRequest) {
         entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
         MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
         checkCanReadEntity(metaClass);
 
         String queryString = "select e from " + entityName + " e";
-        String json = _loadEntitiesList(queryString, viewName, limit, offset, sort, returnNulls, dynamicAttributes, modelVersion,
-                metaClass, new HashMap<>());
-
-        json = restControllerUtils.transformJsonIfRequired(entityName, modelVersion, JsonTransformationDirection.TO_VERSION, json);
 
         Long count = null;
         if (BooleanUtils.isTrue(returnCount)) {
@@ -171,7 +231,10 @@ public class EntitiesControllerManager {
                     .setQuery(new LoadContext.Query(queryString));
             count = dataManager.getCount(ctx);
         }
-        return new EntitiesSearchResult(json, count);
+
+        EntitiesSearchResult.JsonBodyWriter jsonWriter = _loadEntitiesList(queryString, viewName, limit, offset, sort,
+                returnNulls, dynamicAttributes, modelVersion, metaClass, new HashMap<>(), count, webRequest);
+        return jsonWriter == null ? null : new EntitiesSearchResult(jsonWriter, count);
 
     }
 
@@ -185,6 +248,28 @@ public class EntitiesControllerManager {
                                                @Nullable Boolean returnCount,
                                                @Nullable Boolean dynamicAttributes,
                                                @Nullable String modelVersion) {
+        return searchEntities(entityName, filterJson, viewName, limit, offset, sort, returnNulls, returnCount,
+                dynamicAttributes, modelVersion, null);
+    }
+
+    /**
+     * Searches entities by the filter. If the request is passed, its If-None-Match header is checked against the
+     * ETag of the loaded entities before serialization.
+     *
+     * @return found entities or null if the request is not modified
+     */
+    @Nullable
+    public EntitiesSearchResult searchEntities(String entityName,
+                                               String filterJson,
+                                               @Nullable String viewName,
+                                               @Nullable Integer limit,
+                                               @Nullable Integer offset,
+                                               @Nullable String sort,
+                                               @Nullable Boolean returnNulls,
+                                               @Nullable Boolean returnCount,
+                                               @Nullable Boolean dynamicAttributes,
+                                               @Nullable String modelVersion,
+                                               @Nullable WebRequest webRequest) {
         if (filterJson == null) {
             throw new RestAPIException("Cannot parse entities filter", "Entities filter cannot be null", HttpStatus.BAD_REQUEST);
         }
@@ -209,8 +294,6 @@ public class EntitiesControllerManager {
             queryString += " where " + jpqlWhere.replace("{E}", "e");
         }
 
-        String json = _loadEntitiesList(queryString, viewName, limit, offset, sort, returnNulls,
-                dynamicAttributes, modelVersion, metaClass, queryParameters);
         Long count = null;
         if (BooleanUtils.isTrue(returnCount)) {
             LoadContext ctx = new LoadContext(metadata.getClass(metaClass.getJavaClass()))
@@ -221,7 +304,9 @@ public class EntitiesControllerManager {
             count = dataManager.getCount(ctx);
         }
 
-        return new EntitiesSearchResult(json, count);
+        EntitiesSearchResult.JsonBodyWriter jsonWriter = _loadEntitiesList(queryString, viewName, limit, offset, sort,
+                returnNulls, dynamicAttributes, modelVersion, metaClass, queryParameters, count, webRequest);
+        return jsonWriter == null ? null : new EntitiesSearchResult(jsonWriter, count);
     }
 
     public Long countSearchEntities(String entityName,
@@ -295,16 +380,27 @@ public class EntitiesControllerManager {
         return countSearchEntities(entityName, searchEntitiesRequest.getFilter().toString(), searchEntitiesRequest.getModelVersion());
     }
 
-    protected String _loadEntitiesList(String queryString,
-                                       @Nullable String viewName,
-                                       @Nullable Integer limit,
-                                       @Nullable Integer offset,
-                                       @Nullable String sort,
-                                       @Nullable Boolean returnNulls,
-                                       @Nullable Boolean dynamicAttributes,
-                                       @Nullable String modelVersion,
-                                       MetaClass metaClass,
-                                       Map<String, Object> queryParameters) {
+    /**
+     * Validates the request and returns a writer that loads entities and writes them to the response one by one.
+     * The transformation to the requested model version is applied to each entity separately.
+     * <p>
+     * If the request is passed, entities are loaded before writing to check the If-None-Match header against their
+     * ETag, and null is returned if the request is not modified. The ETag is not checked for entities read from a
+     * cursor and for entities with dynamic attributes.
+     */
+    @Nullable
+    protected EntitiesSearchResult.JsonBodyWriter _loadEntitiesList(String queryString,
+                                                                     @Nullable String viewName,
+                                                                     @Nullable Integer limit,
+                                                                     @Nullable Integer offset,
+                                                                     @Nullable String sort,
+                                                                     @Nullable Boolean returnNulls,
+                                                                     @Nullable Boolean dynamicAttributes,
+                                                                     @Nullable String modelVersion,
+                                                                     MetaClass metaClass,
+                                                                     Map<String, Object> queryParameters,
+                                                                     @Nullable Long count,
+                                                                     @Nullable WebRequest webRequest) {
         LoadContext<Object> ctx = new LoadContext<>(metaClass);
         String orderedQueryString = addOrderBy(queryString, sort, metaClass);
         LoadContext.Query query = new LoadContext.Query(orderedQueryString);
@@ -334,23 +430,77 @@ public class EntitiesControllerManager {
 
         ctx.setHint("jmix.dynattr", BooleanUtils.isTrue(dynamicAttributes));
 
-        List<Object> entities = dataManager.loadList(ctx);
-
         List<EntitySerializationOption> serializationOptions = new ArrayList<>();
         serializationOptions.add(SERIALIZE_INSTANCE_NAME);
         serializationOptions.add(DO_NOT_SERIALIZE_DENIED_PROPERTY);
         if (BooleanUtils.isTrue(returnNulls)) serializationOptions.add(EntitySerializationOption.SERIALIZE_NULLS);
 
-        String json = entitySerialization.toJson(entities, view, serializationOptions.toArray(new EntitySerializationOption[0]));
-        json = restControllerUtils.transformJsonIfRequired(metaClass.getName(), modelVersion, JsonTransformationDirection.TO_VERSION, json);
-        return json;
+        EntityJsonTransformer transformer = restControllerUtils.getJsonTransformerIfRequired(metaClass.getName(),
+                modelVersion, JsonTransformationDirection.TO_VERSION);
+
+        FetchPlan fetchPlan = view;
+        EntitySerializationOption[] options = serializationOptions.toArray(new EntitySerializationOption[0]);
+
+        if (webRequest != null && !restProperties.isCursorLoadingEnabled() && !BooleanUtils.isTrue(dynamicAttributes)) {
+            List<Object> entities = dataManager.loadList(ctx);
+            if (restResponseETags.checkEntitiesNotModified(webRequest, entities,
+                    viewName, returnNulls, modelVersion, count)) {
+                return null;
+            }
+            return outputStream -> writeEntitiesList(entities.stream(), fetchPlan, transformer, outputStream, options);
+        }
+        return outputStream -> writeEntitiesList(streamEntities(ctx), fetchPlan, transformer, outputStream, options);
+    }
+
+    /**
+     * Writes entities to the stream and closes the entities stream.
+     */
+    protected void writeEntitiesList(Stream<Object> entities,
+                                     @Nullable FetchPlan fetchPlan,
+                                     @Nullable EntityJsonTransformer transformer,
+                                     OutputStream outputStream,
+                                     EntitySerializationOption... options) throws IOException {
+        // the writer buffers the beginning of the response, so if loading fails, an error response can still be sent
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            writer.write('[');
+            Iterator<Object> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                Object entity = iterator.next();
+                if (transformer == null) {
+                    entitySerialization.toJson(entity, fetchPlan, writer, options);
+                } else {
+                    writer.write(transformer.transformJson(entitySerialization.toJson(entity, fetchPlan, options)));
+                }
+                if (iterator.hasNext()) {
+                    writer.write(',');
+                }
+            }
+            writer.write(']');
+            writer.flush();
+        } finally {
+            entities.close();
+        }
+    }
+
+    /**
+     * Reads entities from a cursor if {@link RestProperties#isCursorLoadingEnabled()}, otherwise loads them as a list.
+     */
+    protected Stream<Object> streamEntities(LoadContext<Object> ctx) {
+        return restProperties.isCursorLoadingEnabled()
+                ? dataManager.streamList(ctx)
+                : dataManager.loadList(ctx).stream();
     }
 
     protected String addOrderBy(String queryString, @Nullable String sort, MetaClass metaClass) {
         if (Strings.isNullOrEmpty(sort)) {
             return queryString;
         }
-        StringBuilder orderBy = new StringBuilder(queryString).append(" order by ");
+        return queryString + restFilterCache.getOrderBy(metaClass, sort, () -> createOrderBy(sort, metaClass));
+    }
+
+    protected String createOrderBy(String sort, MetaClass metaClass) {
+        StringBuilder orderBy = new StringBuilder(" order by ");
         Iterable<String> iterableColumns = Splitter.on(",").trimResults().omitEmptyStrings().split(sort);
         for (String column : iterableColumns) {
             String order = "";
@@ -478,16 +628,10 @@ public class EntitiesControllerManager {
 
         JsonArray entitiesJsonArray = new JsonParser().parse(entitiesJson).getAsJsonArray();
 
-        List<Object> mainCollectionEntity = new ArrayList<>(createEntitiesFromJson(metaClass, entitiesJsonArray));
+        List<Object> mainCollectionEntity = createEntitiesFromJson(metaClass, entitiesJsonArray);
 
         if (restProperties.isResponseFetchPlanEnabled() && responseFetchPlan != null) {
-            for (Object entity : mainCollectionEntity) {
-                if (!entityStates.isLoadedWithFetchPlan(entity, responseFetchPlan)) {
-                    LoadContext loadContext = new LoadContext<>(metaClass).setFetchPlan(responseFetchPlan);
-                    loadContext.setId(EntityValues.getId(entity));
-                    mainCollectionEntity.set(mainCollectionEntity.indexOf(entity), dataManager.load(loadContext));
-                }
-            }
+            mainCollectionEntity = reloadWithFetchPlan(mainCollectionEntity, metaClass, responseFetchPlan);
         }
 
         UriComponents uriComponents = UriComponentsBuilder.fromHttpUrl(request.getRequestURL().toString()).buildAndExpand();
@@ -581,9 +725,7 @@ public class EntitiesControllerManager {
         SaveContext saveContext = new SaveContext();
 
         try {
-            for (Map.Entry<Object, EntityImportPlan> entry : objectEntityImportPlanMap.entrySet()) {
-                entityImportExport.importEntityIntoSaveContext(saveContext, entry.getKey(), entry.getValue(), false);
-            }
+            entityImportExport.importEntitiesIntoSaveContext(saveContext, objectEntityImportPlanMap, false, false);
 
             validateEntities(mainEntities, new LinkedHashSet<>(saveContext.getEntitiesToSave()));
             mainEntities = CollectionUtils.retainAll(dataManager.save(saveContext), mainEntities);
@@ -642,15 +784,7 @@ public class EntitiesControllerManager {
         Collection<Object> updatedEntities = getUpdatedEntities(entityName, modelVersion, transformedEntityName,
                 metaClass, entitiesJsonArray);
         if (restProperties.isResponseFetchPlanEnabled() && responseFetchPlan != null) {
-            updatedEntities = updatedEntities.stream().map(entity -> {
-                if (!entityStates.isLoadedWithFetchPlan(entity, responseFetchPlan)) {
-                    LoadContext<?> loadContext = new LoadContext<>(metaClass).setFetchPlan(responseFetchPlan);
-                    loadContext.setId(EntityValues.getId(entity));
-                    return dataManager.load(loadContext);
-                } else {
-                    return entity;
-                }
-            }).collect(Collectors.toList());
+            updatedEntities = reloadWithFetchPlan(updatedEntities, metaClass, responseFetchPlan);
         }
         String bodyJson = createEntitiesJson(updatedEntities, metaClass, responseView, modelVersion);
         return new ResponseInfo(null, bodyJson);
@@ -661,6 +795,17 @@ public class EntitiesControllerManager {
                                                     String transformedEntityName,
                                                     MetaClass metaClass,
                                                     JsonArray entitiesJsonArray) {
+        Map<String, Object> idsByStrings = new LinkedHashMap<>();
+        for (JsonElement element : entitiesJsonArray) {
+            String idString = element.getAsJsonObject()
+                    .get(Objects.requireNonNull(metadataTools.getPrimaryKeyName(metaClass)))
+                    .getAsString();
+            idsByStrings.put(idString, getIdFromString(idString, metaClass));
+        }
+
+        // existing entities are checked by a single query
+        Map<Object, Object> existingEntities = loadEntitiesByIds(metaClass, idsByStrings.values(), null);
+
         Map<Object, EntityImportPlan> objectEntityImportPlanMap = new LinkedHashMap<>();
         Object entity;
         EntityImportPlan entityImportPlan;
@@ -669,11 +814,9 @@ public class EntitiesControllerManager {
             String idString = element.getAsJsonObject()
                     .get(Objects.requireNonNull(metadataTools.getPrimaryKeyName(metaClass)))
                     .getAsString();
-            Object id = getIdFromString(idString, metaClass);
-            LoadContext<Object> loadContext = new LoadContext<>(metaClass).setId(id);
-            Object existingEntity = dataManager.load(loadContext);
+            Object id = idsByStrings.get(idString);
 
-            checkEntityIsNotNull(transformedEntityName, idString, existingEntity);
+            checkEntityIsNotNull(transformedEntityName, idString, existingEntities.get(id));
             entityJson = restControllerUtils.transformJsonIfRequired(entityName, modelVersion,
                     JsonTransformationDirection.FROM_VERSION, entityJson);
             try {
@@ -690,10 +833,8 @@ public class EntitiesControllerManager {
         Collection<Object> mainEntities = objectEntityImportPlanMap.keySet();
         SaveContext saveContext = new SaveContext();
         try {
-            for (Map.Entry<Object, EntityImportPlan> entry : objectEntityImportPlanMap.entrySet()) {
-                entityImportExport.importEntityIntoSaveContext(saveContext, entry.getKey(), entry.getValue(),
-                        false, restProperties.isOptimisticLockingEnabled());
-            }
+            entityImportExport.importEntitiesIntoSaveContext(saveContext, objectEntityImportPlanMap,
+                    false, restProperties.isOptimisticLockingEnabled());
 
             validateEntities(mainEntities, new LinkedHashSet<>(saveContext.getEntitiesToSave()));
             mainEntities = CollectionUtils.retainAll(dataManager.save(saveContext), mainEntities);
@@ -742,6 +883,76 @@ public class EntitiesControllerManager {
         return getMainEntity(importedEntities, metaClass);
     }
 
+    /**
+     * Replaces entities not loaded with the fetch plan by instances reloaded with it. All entities are reloaded
+     * by batch queries, an entity which cannot be reloaded is replaced by null as in a single entity reload.
+     */
+    protected List<Object> reloadWithFetchPlan(Collection<Object> entities, MetaClass metaClass, FetchPlan fetchPlan) {
+        List<Object> ids = new ArrayList<>();
+        for (Object entity : entities) {
+            if (!entityStates.isLoadedWithFetchPlan(entity, fetchPlan)) {
+                ids.add(EntityValues.getId(entity));
+            }
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>(entities);
+        }
+
+        Map<Object, Object> reloadedEntities = loadEntitiesByIds(metaClass, ids, fetchPlan);
+        List<Object> result = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            if (entityStates.isLoadedWithFetchPlan(entity, fetchPlan)) {
+                result.add(entity);
+            } else {
+                result.add(reloadedEntities.get(EntityValues.getId(entity)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads entities by {@code in} queries in batches of {@link CoreProperties#getEntityImportBatchSize()}.
+     * Ids which are not found or filtered by access constraints are absent in the result. Entities with composite
+     * keys are loaded one by one.
+     *
+     * @return loaded entities by ids
+     */
+    protected Map<Object, Object> loadEntitiesByIds(MetaClass metaClass, Collection<Object> ids, @Nullable FetchPlan fetchPlan) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Object, Object> result = new HashMap<>();
+        List<Object> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+
+        if (metadataTools.hasCompositePrimaryKey(metaClass)) {
+            for (Object id : distinctIds) {
+                LoadContext<Object> loadContext = new LoadContext<>(metaClass).setId(id);
+                if (fetchPlan != null) {
+                    loadContext.setFetchPlan(fetchPlan);
+                }
+                Object entity = dataManager.load(loadContext);
+                if (entity != null) {
+                    result.put(id, entity);
+                }
+            }
+            return result;
+        }
+
+        String queryString = String.format("select e from %s e where e.%s in :ids",
+                metaClass.getName(), metadataTools.getPrimaryKeyName(metaClass));
+        for (List<Object> batch : Lists.partition(distinctIds, Math.max(coreProperties.getEntityImportBatchSize(), 1))) {
+            LoadContext<Object> loadContext = new LoadContext<>(metaClass)
+                    .setQuery(new LoadContext.Query(queryString).setParameter("ids", new ArrayList<>(batch)));
+            if (fetchPlan != null) {
+                loadContext.setFetchPlan(fetchPlan);
+            }
+            for (Object entity : dataManager.loadList(loadContext)) {
+                result.put(EntityValues.getId(entity), entity);
+            }
+        }
+        return result;
+    }
+
     public void deleteEntity(String entityName,
                              String entityId,
                              String modelVersion) {
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.rest.impl.service.filter;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.rest.RestProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Caches search filters parsed by {@link RestFilterParser} and order-by clauses built for the {@code sort}
+ * parameter of entity lists. Filters are keyed by their structure: groups, properties and operators of the
+ * conditions, so filters which differ only by condition values are not parsed again.
+ * <p>
+ * The cache size is defined by the {@code jmix.rest.filter-cache-size} property, zero disables the cache.
+ * Cache statistics, including hits and misses, are published to the {@link MeterRegistry} as {@code cache.*}
+ * meters with the {@code cache=jmix.rest.filterCache} and {@code cache=jmix.rest.orderByCache} tags.
+ */
+@Component("rest_RestFilterCache")
+public class RestFilterCache {
+
+    public static final String FILTER_CACHE_NAME = "jmix.rest.filterCache";
+    public static final String ORDER_BY_CACHE_NAME = "jmix.rest.orderByCache";
+
+    protected final Cache<String, RestFilterTemplate> filterCache;
+    protected final Cache<String, String> orderByCache;
+    protected final boolean enabled;
+
+    @Autowired
+    public RestFilterCache(RestProperties properties, MeterRegistry meterRegistry) {
+        int cacheSize = properties.getFilterCacheSize();
+        enabled = cacheSize > 0;
+        filterCache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(cacheSize, 0))
+                .recordStats()
+                .build();
+        orderByCache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(cacheSize, 0))
+                .recordStats()
+                .build();
+        if (enabled) {
+            GuavaCacheMetrics.monitor(meterRegistry, filterCache, FILTER_CACHE_NAME);
+            GuavaCacheMetrics.monitor(meterRegistry, orderByCache, ORDER_BY_CACHE_NAME);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param signature structure of the filter conditions without values
+     */
+    @Nullable
+    public RestFilterTemplate getFilterTemplate(MetaClass metaClass, String signature) {
+        return filterCache.getIfPresent(createKey(metaClass, signature));
+    }
+
+    public void putFilterTemplate(MetaClass metaClass, String signature, RestFilterTemplate template) {
+        if (enabled) {
+            filterCache.put(createKey(metaClass, signature), template);
+        }
+    }
+
+    /**
+     * Returns the cached order-by clause for the sort expression or builds and caches it.
+     */
+    public String getOrderBy(MetaClass metaClass, String sort, Supplier<String> orderByBuilder) {
+        if (!enabled) {
+            return orderByBuilder.get();
+        }
+        // the builder is invoked once for concurrent requests of the same sort
+        try {
+            return orderByCache.get(createKey(metaClass, sort), orderByBuilder::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    public CacheStats getFilterCacheStats() {
+        return filterCache.stats();
+    }
+
+    public CacheStats getOrderByCacheStats() {
+        return orderByCache.stats();
+    }
+
+    public void invalidateAll() {
+        filterCache.invalidateAll();
+        orderByCache.invalidateAll();
+    }
+
+    protected String createKey(MetaClass metaClass, String value) {
+        return metaClass.getName() + '|' + value;
+    }
+}
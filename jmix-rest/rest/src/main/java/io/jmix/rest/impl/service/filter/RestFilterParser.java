@@ -49,6 +49,9 @@ public class RestFilterParser {
     @Autowired
     protected RestFilterOpManager restFilterOpManager;
 
+    @Autowired
+    protected RestFilterCache restFilterCache;
+
     /**
      * Parses the JSON with entities filter and returns an object with JPQL query string and query parameters. The
      * method expects a JSON object like this:
@@ -82,11 +85,11 @@ public class RestFilterParser {
      * <p>
      * Conditions here may be of two types: property condition and group condition (AND and OR) . Root conditions are
      * automatically placed to the group condition of type AND.
+     * <p>
+     * Parsed filters are cached by the {@link RestFilterCache}, so for a filter with the same conditions structure
+     * only the values are parsed.
      */
     public RestFilterParseResult parse(String filterJson, MetaClass metaClass) throws RestFilterParseException {
-        RestFilterGroupCondition rootCondition = new RestFilterGroupCondition();
-        rootCondition.setType(RestFilterGroupCondition.Type.AND);
-
         JsonObject filterObject = new JsonParser().parse(filterJson).getAsJsonObject();
         JsonElement conditions = filterObject.get("conditions");
 
@@ -94,29 +97,146 @@ public class RestFilterParser {
             JsonArray conditionsJsonArray = conditions.getAsJsonArray();
 
             if (conditionsJsonArray.size() != 0) {
-                for (JsonElement conditionElement : conditionsJsonArray) {
-                    JsonObject conditionObject;
-                    try {
-                        conditionObject = conditionElement.getAsJsonObject();
-                    } catch (IllegalStateException e) {
-                        throw new RestAPIException("Malformed request JSON data structure",
-                                "JSON array element " + conditionElement +
-                                        " is not a valid JSON object literal",
-                                HttpStatus.BAD_REQUEST);
+                List<JsonObject> propertyConditions = new ArrayList<>();
+                String signature = null;
+                if (restFilterCache.isEnabled()) {
+                    StringBuilder sb = new StringBuilder();
+                    if (appendSignature(sb, conditionsJsonArray, propertyConditions)) {
+                        signature = sb.toString();
+                        RestFilterTemplate template = restFilterCache.getFilterTemplate(metaClass, signature);
+                        if (template != null) {
+                            return new RestFilterParseResult(template.getJpqlWhere(),
+                                    bindQueryParameters(template, propertyConditions));
+                        }
                     }
-                    RestFilterCondition restFilterCondition = parseConditionObject(conditionObject, metaClass);
-                    rootCondition.getConditions().add(restFilterCondition);
                 }
+
+                RestFilterGroupCondition rootCondition = parseRootCondition(conditionsJsonArray, metaClass);
                 Map<String, Object> queryParameters = new HashMap<>();
                 collectQueryParameters(rootCondition, queryParameters);
 
-                return new RestFilterParseResult(rootCondition.toJpql(), queryParameters);
+                String jpqlWhere = rootCondition.toJpql();
+                if (signature != null) {
+                    restFilterCache.putFilterTemplate(metaClass, signature,
+                            createTemplate(rootCondition, jpqlWhere, metaClass));
+                }
+                return new RestFilterParseResult(jpqlWhere, queryParameters);
             }
         }
 
         return new RestFilterParseResult(null, null);
     }
 
+    protected RestFilterGroupCondition parseRootCondition(JsonArray conditionsJsonArray,
+                                                          MetaClass metaClass) throws RestFilterParseException {
+        RestFilterGroupCondition rootCondition = new RestFilterGroupCondition();
+        rootCondition.setType(RestFilterGroupCondition.Type.AND);
+        for (JsonElement conditionElement : conditionsJsonArray) {
+            JsonObject conditionObject;
+            try {
+                conditionObject = conditionElement.getAsJsonObject();
+            } catch (IllegalStateException e) {
+                throw new RestAPIException("Malformed request JSON data structure",
+                        "JSON array element " + conditionElement +
+                                " is not a valid JSON object literal",
+                        HttpStatus.BAD_REQUEST);
+            }
+            RestFilterCondition restFilterCondition = parseConditionObject(conditionObject, metaClass);
+            rootCondition.getConditions().add(restFilterCondition);
+        }
+        return rootCondition;
+    }
+
+    /**
+     * Appends the structure of the conditions without values and collects property condition objects in
+     * depth-first order.
+     *
+     * @return false if the conditions are malformed, such filter is parsed without the cache to report the error
+     */
+    protected boolean appendSignature(StringBuilder sb, JsonArray conditionsJsonArray,
+                                      List<JsonObject> propertyConditions) {
+        for (JsonElement conditionElement : conditionsJsonArray) {
+            if (!conditionElement.isJsonObject()) {
+                return false;
+            }
+            JsonObject conditionObject = conditionElement.getAsJsonObject();
+            JsonElement group = conditionObject.get("group");
+            if (group != null) {
+                if (!group.isJsonPrimitive()) {
+                    return false;
+                }
+                // strings are quoted, so property names cannot break the structure
+                sb.append("G[").append(group);
+                JsonElement conditions = conditionObject.get("conditions");
+                if (conditions != null) {
+                    if (!conditions.isJsonArray()) {
+                        return false;
+                    }
+                    sb.append(',');
+                    if (!appendSignature(sb, conditions.getAsJsonArray(), propertyConditions)) {
+                        return false;
+                    }
+                }
+            } else {
+                JsonElement property = conditionObject.get("property");
+                JsonElement operator = conditionObject.get("operator");
+                if (property == null || !property.isJsonPrimitive() || operator == null || !operator.isJsonPrimitive()) {
+                    return false;
+                }
+                sb.append("P[").append(property).append(',').append(operator);
+                propertyConditions.add(conditionObject);
+            }
+            sb.append("],");
+        }
+        return true;
+    }
+
+    protected RestFilterTemplate createTemplate(RestFilterGroupCondition rootCondition, String jpqlWhere,
+                                                MetaClass metaClass) {
+        List<RestFilterPropertyCondition> propertyConditions = new ArrayList<>();
+        collectPropertyConditions(rootCondition, propertyConditions);
+
+        List<RestFilterTemplate.Parameter> parameters = new ArrayList<>();
+        for (int i = 0; i < propertyConditions.size(); i++) {
+            RestFilterPropertyCondition condition = propertyConditions.get(i);
+            if (!Strings.isNullOrEmpty(condition.getQueryParamName())) {
+                MetaPropertyPath propertyPath = metaClass.getPropertyPath(condition.getPropertyName());
+                parameters.add(new RestFilterTemplate.Parameter(condition.getQueryParamName(), i,
+                        Objects.requireNonNull(propertyPath).getMetaProperty(), condition.getOperator()));
+            }
+        }
+        return new RestFilterTemplate(jpqlWhere, parameters);
+    }
+
+    protected void collectPropertyConditions(RestFilterCondition condition,
+                                             List<RestFilterPropertyCondition> propertyConditions) {
+        if (condition instanceof RestFilterPropertyCondition) {
+            propertyConditions.add((RestFilterPropertyCondition) condition);
+        } else if (condition instanceof RestFilterGroupCondition) {
+            for (RestFilterCondition childCondition : ((RestFilterGroupCondition) condition).getConditions()) {
+                collectPropertyConditions(childCondition, propertyConditions);
+            }
+        }
+    }
+
+    /**
+     * Parses values of the property conditions for the query parameters of the template.
+     */
+    protected Map<String, Object> bindQueryParameters(RestFilterTemplate template,
+                                                      List<JsonObject> propertyConditions) throws RestFilterParseException {
+        Map<String, Object> queryParameters = new HashMap<>();
+        for (RestFilterTemplate.Parameter parameter : template.getParameters()) {
+            JsonObject conditionObject = propertyConditions.get(parameter.getConditionIndex());
+            JsonElement valueJsonElem = conditionObject.get("value");
+            if (valueJsonElem == null) {
+                throw new RestFilterParseException("Field 'value' is not defined for filter condition");
+            }
+            queryParameters.put(parameter.getQueryParamName(), parseConditionValue(valueJsonElem,
+                    parameter.getMetaProperty(), parameter.getOperator(), conditionObject.get("operator").getAsString()));
+        }
+        return queryParameters;
+    }
+
     protected void collectQueryParameters(RestFilterCondition condition, Map<String, Object> queryParameters) {
         if (condition instanceof RestFilterPropertyCondition) {
             //queryParamName can be empty, e.g. for notEmpty operator
@@ -213,20 +333,7 @@ public class RestFilterParser {
         }
 
         if (isValueRequired) {
-            Object value = null;
-            if (op == RestFilterOp.IN || op == RestFilterOp.NOT_IN) {
-                if (!valueJsonElem.isJsonArray()) {
-                    throw new RestFilterParseException("JSON array was expected as a value for condition with operator " + operator);
-                }
-                List<Object> parsedArrayValues = new ArrayList<>();
-                for (JsonElement arrayItemElem : valueJsonElem.getAsJsonArray()) {
-                    parsedArrayValues.add(parseValue(metaProperty, arrayItemElem.getAsString()));
-                }
-                value = parsedArrayValues;
-            } else {
-                value = parseValue(metaProperty, valueJsonElem.getAsString());
-            }
-            condition.setValue(transformValue(value, op));
+            condition.setValue(parseConditionValue(valueJsonElem, metaProperty, op, operator));
             condition.setQueryParamName(generateQueryParamName());
         }
 
@@ -236,6 +343,24 @@ public class RestFilterParser {
         return condition;
     }
 
+    protected Object parseConditionValue(JsonElement valueJsonElem, MetaProperty metaProperty, RestFilterOp op,
+                                         String operator) throws RestFilterParseException {
+        Object value;
+        if (op == RestFilterOp.IN || op == RestFilterOp.NOT_IN) {
+            if (!valueJsonElem.isJsonArray()) {
+                throw new RestFilterParseException("JSON array was expected as a value for condition with operator " + operator);
+            }
+            List<Object> parsedArrayValues = new ArrayList<>();
+            for (JsonElement arrayItemElem : valueJsonElem.getAsJsonArray()) {
+                parsedArrayValues.add(parseValue(metaProperty, arrayItemElem.getAsString()));
+            }
+            value = parsedArrayValues;
+        } else {
+            value = parseValue(metaProperty, valueJsonElem.getAsString());
+        }
+        return transformValue(value, op);
+    }
+
     protected Object parseValue(MetaProperty metaProperty, String stringValue) throws RestFilterParseException {
         if (metaProperty.getRange().isDatatype()) {
             try {
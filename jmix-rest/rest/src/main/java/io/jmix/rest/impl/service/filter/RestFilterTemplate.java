@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.rest.impl.service.filter;
+
+import io.jmix.core.metamodel.model.MetaProperty;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed search filter without condition values. It is created by the {@link RestFilterParser} and cached by the
+ * {@link RestFilterCache}, so filters of the same structure are bound to the prepared JPQL by their values only.
+ */
+public class RestFilterTemplate {
+
+    protected final String jpqlWhere;
+
+    protected final List<Parameter> parameters;
+
+    public RestFilterTemplate(@Nullable String jpqlWhere, List<Parameter> parameters) {
+        this.jpqlWhere = jpqlWhere;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    @Nullable
+    public String getJpqlWhere() {
+        return jpqlWhere;
+    }
+
+    public List<Parameter> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Query parameter bound to the value of a property condition.
+     */
+    public static class Parameter {
+
+        protected final String queryParamName;
+        protected final int conditionIndex;
+        protected final MetaProperty metaProperty;
+        protected final RestFilterOp operator;
+
+        /**
+         * @param queryParamName name of the query parameter in the JPQL
+         * @param conditionIndex index of the property condition in the filter, in depth-first order
+         * @param metaProperty   property the condition value is parsed for
+         * @param operator       condition operator
+         */
+        public Parameter(String queryParamName, int conditionIndex, MetaProperty metaProperty, RestFilterOp operator) {
+            this.queryParamName = queryParamName;
+            this.conditionIndex = conditionIndex;
+            this.metaProperty = metaProperty;
+            this.operator = operator;
+        }
+
+        public String getQueryParamName() {
+            return queryParamName;
+        }
+
+        public int getConditionIndex() {
+            return conditionIndex;
+        }
+
+        public MetaProperty getMetaProperty() {
+            return metaProperty;
+        }
+
+        public RestFilterOp getOperator() {
+            return operator;
+        }
+    }
+}
@@ -16,8 +16,20 @@
 
 package io.jmix.rest.impl.service.filter.data;
 
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entities found by the REST API. The JSON is either built in advance or written by a {@link JsonBodyWriter} that
+ * loads and serializes entities straight to the response stream.
+ */
 public class EntitiesSearchResult {
     protected String json;
+    protected JsonBodyWriter jsonWriter;
     protected Long count;
 
     public EntitiesSearchResult(String json, Long count) {
@@ -25,11 +37,50 @@ public class EntitiesSearchResult {
         this.count = count;
     }
 
+    public EntitiesSearchResult(JsonBodyWriter jsonWriter, @Nullable Long count) {
+        this.jsonWriter = jsonWriter;
+        this.count = count;
+    }
+
+    /**
+     * Returns the JSON of found entities. If the result is created with a {@link JsonBodyWriter}, the whole JSON
+     * is written to a string, use {@link #writeJson(OutputStream)} to avoid it.
+     */
     public String getJson() {
+        if (json == null) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try {
+                jsonWriter.write(outputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            json = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        }
         return json;
     }
 
+    /**
+     * Writes the UTF-8 encoded JSON of found entities to the stream. The stream is not closed by the method.
+     */
+    public void writeJson(OutputStream outputStream) throws IOException {
+        if (json == null) {
+            jsonWriter.write(outputStream);
+        } else {
+            outputStream.write(json.getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+        }
+    }
+
     public Long getCount() {
         return count;
     }
+
+    /**
+     * Writes the JSON of entities to a stream.
+     */
+    @FunctionalInterface
+    public interface JsonBodyWriter {
+
+        void write(OutputStream outputStream) throws IOException;
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package documentation;
+
+import io.jmix.core.CoreProperties;
+import io.jmix.core.impl.TriggerFilesProcessor;
+import io.jmix.rest.impl.config.RestQueriesConfiguration;
+import io.jmix.rest.impl.controller.DocumentationController;
+import io.jmix.rest.impl.openapi.OpenAPIDocument;
+import io.jmix.rest.impl.openapi.OpenAPIGenerator;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import test_support.AbstractRestControllerFT;
+
+import javax.annotation.Nullable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DocumentationControllerFT extends AbstractRestControllerFT {
+
+    @Autowired
+    DocumentationController documentationController;
+
+    @Autowired
+    OpenAPIGenerator openAPIGenerator;
+
+    @Autowired
+    RestQueriesConfiguration queriesConfiguration;
+
+    @Autowired
+    TriggerFilesProcessor triggerFilesProcessor;
+
+    @Autowired
+    CoreProperties coreProperties;
+
+    @Test
+    public void documentIsCompressedIfGzipIsAccepted() {
+        assertGzip(true, "gzip");
+        assertGzip(true, "deflate, gzip;q=0.5");
+        assertGzip(true, "*");
+        assertGzip(false, null);
+        assertGzip(false, "identity");
+        assertGzip(false, "gzip;q=0");
+        assertGzip(false, "gzip; q=0.0, deflate");
+        assertGzip(false, "*, gzip;q=0");
+    }
+
+    @Test
+    public void onlyQueriesAreRegeneratedOnQueriesReload() {
+        OpenAPI openAPI = openAPIGenerator.generateOpenAPI();
+        OpenAPIDocument document = openAPIGenerator.getOpenAPIDocument();
+        String queryPath = openAPI.getPaths().keySet().stream()
+                .filter(path -> path.startsWith("/queries/"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No query paths"));
+
+        queriesConfiguration.reload();
+
+        OpenAPI reloadedOpenAPI = openAPIGenerator.generateOpenAPI();
+        assertNotSame(document, openAPIGenerator.getOpenAPIDocument());
+        assertSame(openAPI.getComponents().getSchemas().get("error"),
+                reloadedOpenAPI.getComponents().getSchemas().get("error"));
+        assertNotSame(openAPI.getPaths().get(queryPath), reloadedOpenAPI.getPaths().get(queryPath));
+        assertEquals(openAPI.getPaths().keySet(), reloadedOpenAPI.getPaths().keySet());
+    }
+
+    @Test
+    public void queriesAreReloadedByTriggerFile() throws Exception {
+        OpenAPIDocument document = openAPIGenerator.getOpenAPIDocument();
+
+        Path triggersDir = Paths.get(coreProperties.getTempDir(), "triggers");
+        Files.createDirectories(triggersDir);
+        Path triggerFile = triggersDir.resolve(RestQueriesConfiguration.class.getName() + "#reload");
+        Files.createFile(triggerFile);
+
+        triggerFilesProcessor.process();
+
+        assertFalse(Files.exists(triggerFile));
+        assertNotSame(document, openAPIGenerator.getOpenAPIDocument());
+    }
+
+    private void assertGzip(boolean expected, @Nullable String acceptEncoding) {
+        ResponseEntity<byte[]> response = documentationController.getProjectOpenApiJson(acceptEncoding);
+        OpenAPIDocument document = openAPIGenerator.getOpenAPIDocument();
+
+        assertEquals(expected, "gzip".equals(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)),
+                String.valueOf(acceptEncoding));
+        assertSame(expected ? document.getJsonGzip() : document.getJson(), response.getBody());
+    }
+}
@@ -343,6 +343,59 @@ class EntitiesControllerFT extends AbstractRestControllerFT {
         }
     }
 
+    @Test
+    void loadEntityWithETag() throws Exception {
+        String url = baseUrl + "/entities/ref_Car/" + carUuidString;
+        String eTag;
+        try (CloseableHttpResponse response = sendGet(url, oauthToken, null)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            Header eTagHeader = response.getFirstHeader("ETag");
+            assertNotNull(eTagHeader);
+            eTag = eTagHeader.getValue();
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept-Language", "en");
+        headers.put("If-None-Match", eTag);
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, null, headers)) {
+            assertEquals(HttpStatus.SC_NOT_MODIFIED, statusCode(response));
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement("update REF_CAR set VERSION = VERSION + 1 where ID = ?")) {
+            stmt.setObject(1, UUID.fromString(carUuidString));
+            stmt.executeUpdate();
+        }
+
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, null, headers)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            assertNotEquals(eTag, response.getFirstHeader("ETag").getValue());
+        }
+    }
+
+    @Test
+    void loadEntitiesListWithETag() throws Exception {
+        String url = baseUrl + "/entities/ref_Car";
+        Map<String, String> params = new HashMap<>();
+        params.put("returnCount", "true");
+        String eTag;
+        try (CloseableHttpResponse response = sendGet(url, oauthToken, params)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            eTag = response.getFirstHeader("ETag").getValue();
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept-Language", "en");
+        headers.put("If-None-Match", eTag);
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, params, headers)) {
+            assertEquals(HttpStatus.SC_NOT_MODIFIED, statusCode(response));
+        }
+
+        params.put("returnNulls", "true");
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, params, headers)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+        }
+    }
+
     @Test
     void loadEntityWithNonExistingId() throws Exception {
         UUID randomId = UUID.randomUUID();
@@ -558,6 +611,28 @@ class EntitiesControllerFT extends AbstractRestControllerFT {
         }
     }
 
+    @Test
+    void loadEntitiesListWithSameFilterStructureGet() throws Exception {
+        String url = baseUrl + "/entities/ref$Colour/search";
+        String filter = "{\"conditions\": [{\"property\": \"name\", \"operator\": \"=\", \"value\": \"%s\"}]}";
+        Map<String, String> params = new HashMap<>();
+        params.put("filter", String.format(filter, "Colour 1"));
+        try (CloseableHttpResponse response = sendGet(url, oauthToken, params)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            ReadContext ctx = parseResponse(response);
+            assertEquals(1, ctx.<Collection>read("$").size());
+            assertEquals("Colour 1", ctx.read("$[0].name"));
+        }
+
+        // the parsed filter is taken from the cache and bound to the new value
+        params.put("filter", String.format(filter, "Unknown colour"));
+        try (CloseableHttpResponse response = sendGet(url, oauthToken, params)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            ReadContext ctx = parseResponse(response);
+            assertEquals(0, ctx.<Collection>read("$").size());
+        }
+    }
+
     @Test
     void loadEntitiesListWithFilterPost() throws Exception {
         String url = baseUrl + "/entities/ref$Colour/search";
@@ -1727,6 +1802,22 @@ class EntitiesControllerFT extends AbstractRestControllerFT {
         }
     }
 
+    @Test
+    void updateExistingAndNonExistingCars() throws Exception {
+        Map<String, String> replacements = new HashMap<>();
+        replacements.put("$CAR_ID$", carUuidString);
+        replacements.put("$MODEL_ID$", model2UuidString);
+        String existingCarJson = getFileContent("updateCar.json", replacements);
+        replacements.put("$CAR_ID$", UUID.randomUUID().toString());
+        String nonExistingCarJson = getFileContent("updateCar.json", replacements);
+
+        String url = baseUrl + "/entities/ref_Car";
+        String json = "[" + existingCarJson + "," + nonExistingCarJson + "]";
+        try (CloseableHttpResponse response = sendPut(url, oauthToken, json, null)) {
+            assertEquals(HttpStatus.SC_NOT_FOUND, statusCode(response));
+        }
+    }
+
     @Test
     void updateEntityWithInvalidJson() throws Exception {
         Map<String, String> replacements = new HashMap<>();
@@ -2367,6 +2458,24 @@ class EntitiesControllerFT extends AbstractRestControllerFT {
         }
     }
 
+    @Test
+    void loadEntitiesListWithCustomTransform() throws Exception {
+        String url = baseUrl + "/entities/ref$Repair";
+        Map<String, String> params = new HashMap<>();
+        params.put("modelVersion", "1.0");
+
+        try (CloseableHttpResponse response = sendGet(url, oauthToken, params)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            ReadContext ctx = parseResponse(response);
+
+            Map<String, Object> repairFields = (Map<String, Object>) ctx.read("$[?(@.id=='" + repairUuidString + "')]", List.class).get(0);
+            assertEquals("ref$OldRepair", repairFields.get("_entityName"));
+            //the transformation must be applied once
+            assertEquals("2012-01-13 00:00:00.000", repairFields.get("date"));
+            assertNull(repairFields.get("name"));
+        }
+    }
+
     @Test
     void createNewEntityWithCustomTransformAndFetchPlan() throws Exception {
         Map<String, String> replacements = new HashMap<>();
@@ -17,19 +17,20 @@
 package metadata;
 
 import com.jayway.jsonpath.ReadContext;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.junit.jupiter.api.Test;
 import test_support.AbstractRestControllerFT;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static test_support.RestTestUtils.parseResponse;
-import static test_support.RestTestUtils.sendGet;
+import static test_support.RestTestUtils.*;
 
 /**
  *
@@ -92,6 +93,27 @@ public class MetadataControllerFT extends AbstractRestControllerFT {
         }
     }
 
+    @Test
+    public void getAllEntitiesMetadataWithETag() throws Exception {
+        String url = baseUrl + "/metadata/entities";
+        String eTag;
+        try (CloseableHttpResponse response = sendGet(url, oauthToken, null)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            eTag = response.getFirstHeader("ETag").getValue();
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept-Language", "en");
+        headers.put("If-None-Match", eTag);
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, null, headers)) {
+            assertEquals(HttpStatus.SC_NOT_MODIFIED, statusCode(response));
+        }
+
+        try (CloseableHttpResponse response = sendGetWithHeaders(url + "/ref_Car", oauthToken, null, headers)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+        }
+    }
+
     @Test
     public void getView() throws Exception {
         String url = baseUrl + "/metadata/entities/ref_Car/views/carEdit";
@@ -20,6 +20,7 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import io.jmix.core.*;
 import io.jmix.core.datastore.AbstractDataStore;
+import io.jmix.core.datastore.BaseDataStoreEvent;
 import io.jmix.core.datastore.DataStoreBeforeEntitySaveEvent;
 import io.jmix.core.datastore.DataStoreCustomizer;
 import io.jmix.core.datastore.DataStoreEventListener;
@@ -41,6 +42,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import java.util.*;
@@ -85,6 +87,12 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
         }
     }
 
+    @Override
+    public boolean supports(Class<? extends BaseDataStoreEvent> eventType, @Nullable MetaClass metaClass) {
+        // both the property and index configurations are fixed at startup
+        return isChangeTrackingEnabled() && !indexConfigurationManager.getAllIndexConfigurations().isEmpty();
+    }
+
     @Override
     public void beforeEntitySave(DataStoreBeforeEntitySaveEvent event) {
         /*
@@ -22,18 +22,21 @@ import io.jmix.core.security.event.UserRemovedEvent;
 import io.jmix.security.role.assignment.RoleAssignment;
 import io.jmix.security.role.assignment.RoleAssignmentProvider;
 import io.jmix.securitydata.entity.RoleAssignmentEntity;
+import io.jmix.securitydata.impl.role.cache.DatabaseRoleCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Role assignment provider that gets role assignments from the database.
+ * Role assignment provider that gets role assignments from the database. Loaded assignments are kept in
+ * {@link DatabaseRoleCache}.
  */
 @Component("sec_DatabaseRoleAssignmentProvider")
 public class DatabaseRoleAssignmentProvider implements RoleAssignmentProvider {
@@ -41,8 +44,31 @@ public class DatabaseRoleAssignmentProvider implements RoleAssignmentProvider {
     @Autowired
     protected UnconstrainedDataManager dataManager;
 
+    @Autowired
+    protected DatabaseRoleCache roleCache;
+
     @Override
     public Collection<RoleAssignment> getAllAssignments() {
+        return new ArrayList<>(roleCache.get("roleAssignments.all", "", this::loadAllAssignments));
+    }
+
+    @Override
+    public Collection<RoleAssignment> getAssignmentsByUsername(String username) {
+        return new ArrayList<>(roleCache.get("roleAssignments.byUsername", username,
+                () -> loadAssignmentsByUsername(username)));
+    }
+
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    private void onUserRemove(UserRemovedEvent event) {
+        List<RoleAssignmentEntity> assignments = dataManager.load(RoleAssignmentEntity.class)
+                .query("e.username = :username")
+                .parameter("username", event.getUsername())
+                .list();
+        dataManager.remove(assignments.toArray());
+    }
+
+    protected List<RoleAssignment> loadAllAssignments() {
         return dataManager.load(RoleAssignmentEntity.class)
                 .all()
                 .fetchPlan(FetchPlan.BASE)
@@ -52,8 +78,7 @@ public class DatabaseRoleAssignmentProvider implements RoleAssignmentProvider {
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public Collection<RoleAssignment> getAssignmentsByUsername(String username) {
+    protected List<RoleAssignment> loadAssignmentsByUsername(String username) {
         return dataManager.load(RoleAssignmentEntity.class)
                 .query("e.username = :username")
                 .parameter("username", username)
@@ -63,16 +88,6 @@ public class DatabaseRoleAssignmentProvider implements RoleAssignmentProvider {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
-    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
-    private void onUserRemove(UserRemovedEvent event) {
-        List<RoleAssignmentEntity> assignments = dataManager.load(RoleAssignmentEntity.class)
-                .query("e.username = :username")
-                .parameter("username", event.getUsername())
-                .list();
-        dataManager.remove(assignments.toArray());
-    }
-
     protected RoleAssignment buildRoleAssignment(RoleAssignmentEntity roleAssignmentEntity) {
         return new RoleAssignment(roleAssignmentEntity.getUsername(), roleAssignmentEntity.getRoleCode(), roleAssignmentEntity.getRoleType());
     }
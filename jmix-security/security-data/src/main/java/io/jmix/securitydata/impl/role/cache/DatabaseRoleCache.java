@@ -0,0 +1,175 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmix.securitydata.impl.role.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.security.SecurityProperties;
+import io.jmix.securitydata.entity.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps roles and role assignments built from the database by the database providers in memory.
+ * <p>
+ * The cache is cleared after commit of a transaction changing {@link ResourceRoleEntity}, {@link RowLevelRoleEntity},
+ * their policies or {@link RoleAssignmentEntity}, and when {@link DatabaseRoleCacheChannel} reports a change made
+ * on another node. Values loaded concurrently with a change are not cached.
+ * <p>
+ * Entries are partitioned by the current user, because the loaded data may depend on the user, e.g. on its tenant.
+ * The cache is configured by the {@code jmix.security.database-role-cache-enabled} and
+ * {@code jmix.security.database-role-cache-max-size} properties. Cache statistics are published to the
+ * {@link MeterRegistry} as {@code cache.*} meters with the {@code cache=jmix.security.databaseRoles} tag.
+ */
+@Component("sec_DatabaseRoleCache")
+public class DatabaseRoleCache {
+
+    public static final String CACHE_NAME = "jmix.security.databaseRoles";
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseRoleCache.class);
+
+    protected static final Set<Class<?>> ROLE_ENTITY_CLASSES = ImmutableSet.of(
+            ResourceRoleEntity.class, ResourcePolicyEntity.class,
+            RowLevelRoleEntity.class, RowLevelPolicyEntity.class,
+            RoleAssignmentEntity.class);
+
+    protected final boolean enabled;
+    protected final Cache<CacheKey, Optional<Object>> cache;
+    protected final AtomicLong generation = new AtomicLong();
+
+    protected final CurrentAuthentication currentAuthentication;
+    protected final DatabaseRoleCacheChannel channel;
+
+    @Autowired
+    public DatabaseRoleCache(SecurityProperties properties,
+                             CurrentAuthentication currentAuthentication,
+                             DatabaseRoleCacheChannel channel,
+                             MeterRegistry meterRegistry) {
+        this.enabled = properties.isDatabaseRoleCacheEnabled();
+        this.currentAuthentication = currentAuthentication;
+        this.channel = channel;
+
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(properties.getDatabaseRoleCacheMaxSize(), 0))
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        channel.setInvalidationListener(this::invalidateLocally);
+    }
+
+    /**
+     * Returns the cached value or loads it and puts to the cache.
+     *
+     * @param region name of the value kind, e.g. {@code "resourceRoles"}
+     * @param key    key of the value within the region
+     * @param loader function loading the value from the database, may return null
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <V> V get(String region, Object key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CacheKey cacheKey = new CacheKey(region, getCachePartition(), key);
+        Optional<Object> value = cache.getIfPresent(cacheKey);
+        if (value != null) {
+            return (V) value.orElse(null);
+        }
+
+        long loadGeneration = generation.get();
+        V loaded = loader.get();
+        // do not cache the value if the data have been changed while loading
+        if (generation.get() == loadGeneration) {
+            cache.put(cacheKey, Optional.ofNullable(loaded));
+        }
+        return loaded;
+    }
+
+    /**
+     * Clears the cache on this node and notifies other nodes.
+     */
+    public void invalidate() {
+        invalidateLocally();
+        channel.publishInvalidation();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    protected void onEntityChanged(EntityChangedEvent<?> event) {
+        if (ROLE_ENTITY_CLASSES.contains(event.getEntityId().getEntityClass())) {
+            log.debug("Invalidating database roles on {}", event);
+            invalidate();
+        }
+    }
+
+    protected void invalidateLocally() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns an object identifying the set of data available to the current user.
+     */
+    protected Object getCachePartition() {
+        return currentAuthentication.isSet() ? currentAuthentication.getAuthentication().getName() : "";
+    }
+
+    protected static class CacheKey {
+        protected final String region;
+        protected final Object partition;
+        protected final Object key;
+
+        protected CacheKey(String region, Object partition, Object key) {
+            this.region = region;
+            this.partition = partition;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey that = (CacheKey) o;
+            return region.equals(that.region) && partition.equals(that.partition) && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(region, partition, key);
+        }
+    }
+}
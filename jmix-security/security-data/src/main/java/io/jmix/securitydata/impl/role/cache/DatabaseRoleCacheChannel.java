@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmix.securitydata.impl.role.cache;
+
+/**
+ * Channel notifying {@link DatabaseRoleCache} instances on other cluster nodes about changes of roles and role
+ * assignments stored in the database.
+ * <p>
+ * The default implementation is {@link PollingDatabaseRoleCacheChannel}. To use another transport, register
+ * a bean implementing this interface with the {@code sec_DatabaseRoleCacheChannel} name or mark it as
+ * {@code @Primary}.
+ */
+public interface DatabaseRoleCacheChannel {
+
+    /**
+     * Notifies other nodes that roles or role assignments have been changed on this node.
+     */
+    void publishInvalidation();
+
+    /**
+     * Sets the listener to be invoked when roles or role assignments have been changed on another node.
+     */
+    void setInvalidationListener(Runnable listener);
+}
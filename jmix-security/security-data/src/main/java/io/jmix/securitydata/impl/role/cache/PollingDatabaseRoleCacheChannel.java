@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmix.securitydata.impl.role.cache;
+
+import io.jmix.core.Metadata;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.security.SecurityProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Default {@link DatabaseRoleCacheChannel} that detects changes made on other nodes by polling the database.
+ * <p>
+ * Each {@code jmix.security.database-role-cache-polling-interval} it loads the number of rows, the sum of versions
+ * and the last creation and modification timestamps of the role, policy and role assignment tables, and notifies
+ * the cache when any of them differs from the previous check. Changes made on this node are handled by the cache
+ * itself, so {@link #publishInvalidation()} does nothing.
+ */
+@Component("sec_DatabaseRoleCacheChannel")
+public class PollingDatabaseRoleCacheChannel implements DatabaseRoleCacheChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(PollingDatabaseRoleCacheChannel.class);
+
+    @Autowired
+    protected UnconstrainedDataManager dataManager;
+
+    @Autowired
+    protected Metadata metadata;
+
+    @Autowired
+    protected SystemAuthenticator systemAuthenticator;
+
+    @Autowired
+    protected SecurityProperties properties;
+
+    @Autowired
+    @Qualifier("core_ThreadPoolTaskScheduler")
+    protected TaskScheduler taskScheduler;
+
+    protected volatile Runnable listener;
+
+    protected volatile List<Object> lastState;
+
+    protected ScheduledFuture<?> pollingTask;
+
+    @Override
+    public void publishInvalidation() {
+    }
+
+    @Override
+    public void setInvalidationListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    @EventListener
+    protected synchronized void onContextRefreshedEvent(ContextRefreshedEvent event) {
+        Duration interval = properties.getDatabaseRoleCachePollingInterval();
+        if (pollingTask == null && properties.isDatabaseRoleCacheEnabled() && !interval.isZero()) {
+            pollingTask = taskScheduler.scheduleWithFixedDelay(this::poll, interval.toMillis());
+        }
+    }
+
+    /**
+     * Compares the current state of the role tables with the state of the previous check and invokes the listener
+     * if it has changed.
+     */
+    public void poll() {
+        List<Object> state;
+        try {
+            state = systemAuthenticator.withSystem(this::loadState);
+        } catch (RuntimeException e) {
+            log.warn("Unable to check database roles for changes", e);
+            return;
+        }
+
+        List<Object> previousState = lastState;
+        lastState = state;
+        if (previousState != null && !previousState.equals(state)) {
+            log.debug("Database roles have been changed");
+            Runnable currentListener = listener;
+            if (currentListener != null) {
+                currentListener.run();
+            }
+        }
+    }
+
+    protected List<Object> loadState() {
+        List<Object> state = new ArrayList<>();
+        for (Class<?> entityClass : DatabaseRoleCache.ROLE_ENTITY_CLASSES) {
+            String entityName = metadata.getClass(entityClass).getName();
+            KeyValueEntity values = dataManager.loadValues(
+                            "select count(e), sum(e.version), max(e.createTs), max(e.updateTs) from " + entityName + " e")
+                    .properties("count", "version", "createTs", "updateTs")
+                    .one();
+            state.add(values.getValue("count"));
+            state.add(values.getValue("version"));
+            state.add(values.getValue("createTs"));
+            state.add(values.getValue("updateTs"));
+        }
+        return state;
+    }
+}
@@ -24,43 +24,42 @@ import io.jmix.core.UnconstrainedDataManager;
 import io.jmix.core.accesscontext.CrudEntityContext;
 import io.jmix.security.model.BaseRole;
 import io.jmix.security.role.RoleProvider;
+import io.jmix.securitydata.impl.role.cache.DatabaseRoleCache;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Base role provider that gets resource roles/row level roles from the database.
+ * <p>
+ * Built roles are kept in {@link DatabaseRoleCache}, callers receive copies of them.
  */
 public abstract class BaseDatabaseRoleProvider<T extends BaseRole> implements RoleProvider<T> {
 
     protected UnconstrainedDataManager dataManager;
     protected Metadata metadata;
     protected AccessManager accessManager;
+    protected DatabaseRoleCache roleCache;
 
     @Override
     public Collection<T> getAllRoles() {
-        return dataManager.load(getRoleClass())
-                .all()
-                .fetchPlan(this::buildFetchPlan)
-                .list()
-                .stream()
-                .map(this::buildRole)
+        List<T> roles = roleCache.get(getRoleClass().getName() + ".all", "", this::loadAllRoles);
+        return roles.stream()
+                .map(this::copyRole)
                 .collect(Collectors.toList());
     }
 
     @Nullable
     @Override
     public T findRoleByCode(String code) {
-        return dataManager.load(getRoleClass())
-                .query(buildFindByCodeQuery())
-                .parameter("code", code)
-                .fetchPlan(this::buildFetchPlan)
-                .optional()
-                .map(this::buildRole)
-                .orElse(null);
+        T role = roleCache.get(getRoleClass().getName() + ".byCode", code, () -> loadRoleByCode(code));
+        return role == null ? null : copyRole(role);
     }
 
     @Override
@@ -98,8 +97,49 @@ public abstract class BaseDatabaseRoleProvider<T extends BaseRole> implements Ro
         this.accessManager = accessManager;
     }
 
+    @Autowired
+    public void setRoleCache(DatabaseRoleCache roleCache) {
+        this.roleCache = roleCache;
+    }
+
+    protected List<T> loadAllRoles() {
+        return dataManager.load(getRoleClass())
+                .all()
+                .fetchPlan(this::buildFetchPlan)
+                .list()
+                .stream()
+                .map(this::buildRole)
+                .collect(Collectors.toList());
+    }
+
+    @Nullable
+    protected T loadRoleByCode(String code) {
+        return dataManager.load(getRoleClass())
+                .query(buildFindByCodeQuery())
+                .parameter("code", code)
+                .fetchPlan(this::buildFetchPlan)
+                .optional()
+                .map(this::buildRole)
+                .orElse(null);
+    }
+
     protected abstract T buildRole(Object entity);
 
+    /**
+     * Creates a copy of the cached role, so the role repository can modify it without affecting the cache.
+     */
+    protected abstract T copyRole(T role);
+
+    protected void copyBaseRole(BaseRole source, BaseRole target) {
+        target.setName(source.getName());
+        target.setCode(source.getCode());
+        target.setDescription(source.getDescription());
+        target.setSource(source.getSource());
+        target.setChildRoles(source.getChildRoles() == null ? null : new HashSet<>(source.getChildRoles()));
+        target.setCustomProperties(new HashMap<>(source.getCustomProperties()));
+        target.setTenantId(source.getTenantId());
+    }
+
     protected abstract Class<?> getRoleClass();
 
     protected abstract void buildFetchPlan(FetchPlanBuilder fetchPlanBuilder);
@@ -26,6 +26,7 @@ import io.jmix.securitydata.entity.ResourcePolicyEntity;
 import io.jmix.securitydata.entity.ResourceRoleEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -83,5 +84,14 @@ public class DatabaseResourceRoleProvider extends BaseDatabaseRoleProvider<Resou
 
         return role;
     }
+
+    @Override
+    protected ResourceRole copyRole(ResourceRole role) {
+        ResourceRole copy = new ResourceRole();
+        copyBaseRole(role, copy);
+        copy.setScopes(role.getScopes());
+        copy.setResourcePolicies(new ArrayList<>(role.getResourcePolicies()));
+        return copy;
+    }
 }
 
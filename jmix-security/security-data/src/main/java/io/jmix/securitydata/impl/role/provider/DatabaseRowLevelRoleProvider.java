@@ -22,11 +22,15 @@ import io.jmix.security.model.*;
 import io.jmix.security.role.RowLevelRoleProvider;
 import io.jmix.securitydata.entity.RowLevelPolicyEntity;
 import io.jmix.securitydata.entity.RowLevelRoleEntity;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.scripting.ScriptEvaluator;
+import org.springframework.scripting.groovy.GroovyScriptEvaluator;
 import org.springframework.scripting.support.StaticScriptSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +47,9 @@ public class DatabaseRowLevelRoleProvider extends BaseDatabaseRoleProvider<RowLe
     private final ScriptEvaluator scriptEvaluator;
     private final ApplicationContext applicationContext;
 
+    @Autowired
+    protected RowLevelPredicateScriptCache predicateScriptCache;
+
     public DatabaseRowLevelRoleProvider(ScriptEvaluator scriptEvaluator, ApplicationContext applicationContext) {
         this.scriptEvaluator = scriptEvaluator;
         this.applicationContext = applicationContext;
@@ -102,13 +109,39 @@ public class DatabaseRowLevelRoleProvider extends BaseDatabaseRoleProvider<RowLe
         return role;
     }
 
+    @Override
+    protected RowLevelRole copyRole(RowLevelRole role) {
+        RowLevelRole copy = new RowLevelRole();
+        copyBaseRole(role, copy);
+        copy.setRowLevelPolicies(new ArrayList<>(role.getRowLevelPolicies()));
+        return copy;
+    }
+
+    /**
+     * Creates a predicate evaluating the Groovy script. If the default {@link GroovyScriptEvaluator} is used,
+     * the script is compiled once with the compiler configuration of the evaluator and cached by
+     * {@link RowLevelPredicateScriptCache}.
+     */
     public RowLevelBiPredicate<Object, ApplicationContext> createPredicateFromScript(String script) {
+        String modifiedScript = script.replace("{E}", "__entity__");
+        boolean compiled = scriptEvaluator.getClass() == GroovyScriptEvaluator.class;
         return (entity, applicationContext) -> {
-            String modifiedScript = script.replace("{E}", "__entity__");
             Map<String, Object> arguments = new HashMap<>();
             arguments.put("__entity__", entity);
             arguments.put("applicationContext", applicationContext);
-            return Boolean.TRUE.equals(scriptEvaluator.evaluate(new StaticScriptSource(modifiedScript), arguments));
+            Object result = compiled
+                    ? evaluateCompiled(modifiedScript, arguments)
+                    : scriptEvaluator.evaluate(new StaticScriptSource(modifiedScript), arguments);
+            return Boolean.TRUE.equals(result);
         };
     }
-}
\ No newline at end of file
+
+    protected Object evaluateCompiled(String script, Map<String, Object> arguments) {
+        // the evaluator bean gets the class loader of the application context as BeanClassLoaderAware
+        ClassLoader classLoader = applicationContext.getClassLoader() != null
+                ? applicationContext.getClassLoader()
+                : ClassUtils.getDefaultClassLoader();
+        return predicateScriptCache.evaluate(script, arguments, classLoader,
+                ((GroovyScriptEvaluator) scriptEvaluator).getCompilerConfiguration());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.securitydata.impl.role.provider;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyRuntimeException;
+import groovy.lang.Script;
+import io.jmix.security.SecurityProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scripting.ScriptCompilationException;
+import org.springframework.scripting.support.StaticScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiles Groovy scripts of predicate row level policies into classes and keeps them in memory, so a script is
+ * parsed once and then evaluated for each entity with its own bindings.
+ * <p>
+ * The cache size is defined by the {@code jmix.security.row-level-predicate-script-cache-size} property.
+ * Cache statistics are published to the {@link MeterRegistry} as {@code cache.*} meters with the
+ * {@code cache=jmix.security.rowLevelPredicateScripts} tag, compilation and evaluation times are published
+ * as the {@code jmix.security.rowLevelPredicateScript} timer with the {@code phase} tag.
+ */
+@Component("sec_RowLevelPredicateScriptCache")
+public class RowLevelPredicateScriptCache {
+
+    public static final String CACHE_NAME = "jmix.security.rowLevelPredicateScripts";
+
+    protected final Cache<List<Object>, Class<? extends Script>> cache;
+
+    protected final Timer compileTimer;
+    protected final Timer evaluateTimer;
+
+    @Autowired
+    public RowLevelPredicateScriptCache(SecurityProperties properties, MeterRegistry meterRegistry) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(properties.getRowLevelPredicateScriptCacheSize(), 0))
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        compileTimer = Timer.builder("jmix.security.rowLevelPredicateScript")
+                .tag("phase", "compile")
+                .description("Time spent compiling scripts of predicate row level policies")
+                .register(meterRegistry);
+        evaluateTimer = Timer.builder("jmix.security.rowLevelPredicateScript")
+                .tag("phase", "evaluate")
+                .description("Time spent evaluating scripts of predicate row level policies")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Evaluates the script with the given variables, compiling it if it is not in the cache.
+     *
+     * @param classLoader   parent class loader of the script class
+     * @param configuration compiler configuration, for example with customizers restricting the script
+     * @throws ScriptCompilationException if the script cannot be compiled or fails
+     */
+    public Object evaluate(String script, Map<String, Object> arguments,
+                           ClassLoader classLoader, CompilerConfiguration configuration) {
+        Class<? extends Script> scriptClass = getScriptClass(script, classLoader, configuration);
+
+        long start = System.nanoTime();
+        try {
+            return InvokerHelper.createScript(scriptClass, new Binding(arguments)).run();
+        } catch (GroovyRuntimeException e) {
+            throw new ScriptCompilationException(new StaticScriptSource(script), e);
+        } finally {
+            evaluateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    protected Class<? extends Script> getScriptClass(String script, ClassLoader classLoader,
+                                                     CompilerConfiguration configuration) {
+        // a script compiled with other settings must not be reused, so they are a part of the key
+        List<Object> key = Arrays.asList(script, classLoader, configuration);
+        // the loader is invoked once for concurrent requests of the same script
+        try {
+            return cache.get(key, () -> compile(script, classLoader, configuration));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Class<? extends Script> compile(String script, ClassLoader classLoader,
+                                              CompilerConfiguration configuration) {
+        long start = System.nanoTime();
+        // a class loader per script lets the class be unloaded when it is evicted from the cache
+        GroovyClassLoader scriptClassLoader = new GroovyClassLoader(classLoader, configuration);
+        try {
+            return (Class<? extends Script>) scriptClassLoader.parseClass(script);
+        } catch (GroovyRuntimeException e) {
+            throw new ScriptCompilationException(new StaticScriptSource(script), e);
+        } finally {
+            compileTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
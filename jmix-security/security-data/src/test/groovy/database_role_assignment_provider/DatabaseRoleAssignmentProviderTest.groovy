@@ -23,6 +23,7 @@ import io.jmix.core.UnconstrainedDataManager
 import io.jmix.security.role.assignment.RoleAssignmentRoleType
 import io.jmix.securitydata.entity.RoleAssignmentEntity
 import io.jmix.securitydata.impl.role.assignment.DatabaseRoleAssignmentProvider
+import io.jmix.securitydata.impl.role.cache.DatabaseRoleCache
 import org.springframework.beans.factory.annotation.Autowired
 import test_support.SecurityDataSpecification
 
@@ -31,6 +32,9 @@ class DatabaseRoleAssignmentProviderTest extends SecurityDataSpecification {
     @Autowired
     DatabaseRoleAssignmentProvider databaseRoleAssignmentProvider
 
+    @Autowired
+    DatabaseRoleCache roleCache
+
     @Autowired
     Metadata metadata
 
@@ -82,4 +86,27 @@ class DatabaseRoleAssignmentProviderTest extends SecurityDataSpecification {
         assignments2.find { it.roleCode == 'role2' } != null
         assignments2.find { it.roleCode == 'role3' } != null
     }
+
+    def "assignments are cached until role assignment is saved"() {
+        when:
+        databaseRoleAssignmentProvider.getAssignmentsByUsername("user1")
+
+        then:
+        roleCache.size() == 1
+
+        when:
+        def assignments = databaseRoleAssignmentProvider.getAssignmentsByUsername("user1")
+        assignments.clear()
+
+        then:
+        roleCache.size() == 1
+        databaseRoleAssignmentProvider.getAssignmentsByUsername("user1").size() == 1
+
+        when:
+        dataManager.save(createRoleAssignmentEntity('role4', 'user1'))
+
+        then:
+        roleCache.size() == 0
+        databaseRoleAssignmentProvider.getAssignmentsByUsername("user1").size() == 2
+    }
 }
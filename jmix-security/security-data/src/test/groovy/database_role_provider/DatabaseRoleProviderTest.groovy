@@ -27,11 +27,21 @@ import io.jmix.securitydata.entity.RowLevelPolicyEntity
 import io.jmix.securitydata.entity.RowLevelRoleEntity
 import io.jmix.securitydata.impl.role.provider.DatabaseResourceRoleProvider
 import io.jmix.securitydata.impl.role.provider.DatabaseRowLevelRoleProvider
+import io.jmix.securitydata.impl.role.provider.RowLevelPredicateScriptCache
+import io.micrometer.core.instrument.MeterRegistry
+import org.codehaus.groovy.control.customizers.SecureASTCustomizer
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.ApplicationContext
+import org.springframework.scripting.ScriptCompilationException
+import org.springframework.scripting.ScriptEvaluator
+import org.springframework.scripting.groovy.GroovyScriptEvaluator
 import test_support.SecurityDataSpecification
 import test_support.entity.TestOrder
 
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 class DatabaseRoleProviderTest extends SecurityDataSpecification {
 
     @Autowired
@@ -49,6 +59,15 @@ class DatabaseRoleProviderTest extends SecurityDataSpecification {
     @Autowired
     ApplicationContext applicationContext
 
+    @Autowired
+    RowLevelPredicateScriptCache predicateScriptCache
+
+    @Autowired
+    MeterRegistry meterRegistry
+
+    @Autowired
+    ScriptEvaluator scriptEvaluator
+
     def setup() {
         prepareTestData()
     }
@@ -153,6 +172,74 @@ class DatabaseRoleProviderTest extends SecurityDataSpecification {
 
     }
 
+    def "script of predicate is compiled once"() {
+        def predicate = databaseRowLevelRoleProvider.createPredicateFromScript("return {E}.number == 'cached'")
+        def compileTimer = meterRegistry.get('jmix.security.rowLevelPredicateScript').tag('phase', 'compile').timer()
+        def compileCount = compileTimer.count()
+        def testOrder = new TestOrder()
+
+        when:
+        def results = (1..10).collect {
+            testOrder.number = it == 5 ? 'cached' : String.valueOf(it)
+            predicate.test(testOrder, applicationContext)
+        }
+
+        then:
+        results.count { it } == 1
+        compileTimer.count() == compileCount + 1
+        meterRegistry.get('jmix.security.rowLevelPredicateScript').tag('phase', 'evaluate').timer().count() >= 10
+    }
+
+    def "script of predicate is compiled once by concurrent evaluations"() {
+        def predicate = databaseRowLevelRoleProvider.createPredicateFromScript("return {E}.number == 'concurrent'")
+        def compileTimer = meterRegistry.get('jmix.security.rowLevelPredicateScript').tag('phase', 'compile').timer()
+        def compileCount = compileTimer.count()
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def futures = (1..8).collect {
+            executor.submit({ predicate.test(new TestOrder(number: 'concurrent'), applicationContext) } as Callable)
+        }
+        def results = futures.collect { it.get(10, TimeUnit.SECONDS) }
+
+        then:
+        results.every { it }
+        compileTimer.count() == compileCount + 1
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "script of predicate is compiled with configuration of script evaluator"() {
+        def groovyScriptEvaluator = (GroovyScriptEvaluator) scriptEvaluator
+        def compilerConfiguration = groovyScriptEvaluator.compilerConfiguration
+        def secureCustomizer = new SecureASTCustomizer()
+        secureCustomizer.receiversClassesBlackList = [System]
+        groovyScriptEvaluator.compilationCustomizers = secureCustomizer
+
+        def predicate = databaseRowLevelRoleProvider.createPredicateFromScript(
+                "return System.currentTimeMillis() > 0 && {E}.number == 'secured'")
+
+        when:
+        predicate.test(new TestOrder(number: 'secured'), applicationContext)
+
+        then:
+        thrown(ScriptCompilationException)
+
+        cleanup:
+        groovyScriptEvaluator.compilerConfiguration = compilerConfiguration
+    }
+
+    def "script with syntax error fails on evaluation"() {
+        def predicate = databaseRowLevelRoleProvider.createPredicateFromScript("return {E}.number ==")
+
+        when:
+        predicate.test(new TestOrder(), applicationContext)
+
+        then:
+        thrown(ScriptCompilationException)
+    }
+
     private void prepareTestData() {
         ResourceRoleEntity role1 = metadata.create(ResourceRoleEntity)
         role1.code = 'role1'
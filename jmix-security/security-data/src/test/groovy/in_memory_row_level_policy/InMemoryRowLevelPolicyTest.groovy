@@ -25,6 +25,7 @@ import io.jmix.security.authentication.RoleGrantedAuthority
 import io.jmix.security.model.ResourceRole
 import io.jmix.security.role.ResourceRoleRepository
 import io.jmix.security.role.RowLevelRoleRepository
+import io.micrometer.core.instrument.MeterRegistry
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.jdbc.core.JdbcTemplate
 import org.springframework.security.authentication.AuthenticationManager
@@ -68,6 +69,9 @@ class InMemoryRowLevelPolicyTest extends SecurityDataSpecification {
     @Autowired
     SystemAuthenticator systemAuthenticator
 
+    @Autowired
+    MeterRegistry meterRegistry
+
     UserDetails user1, user2, user3
 
     TestOrder order1, order2
@@ -169,4 +173,22 @@ class InMemoryRowLevelPolicyTest extends SecurityDataSpecification {
         testOrders[0].number == 'A-1-B'
     }
 
+    def "entities filtered by in-memory row-level policies are counted"() {
+
+        def counterValue = {
+            meterRegistry.find('jmix.data.inMemoryReadConstraint.filtered').tag('entity', 'test_Order').counter()?.count() ?: 0
+        }
+        def countBefore = counterValue()
+
+        when:
+
+        systemAuthenticator.begin('user2')
+        def testOrders = dataManager.load(TestOrder).all().list()
+        systemAuthenticator.end()
+
+        then:
+
+        testOrders.size() == 1
+        counterValue() == countBefore + 1
+    }
 }
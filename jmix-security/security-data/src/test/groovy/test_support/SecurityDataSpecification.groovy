@@ -21,6 +21,7 @@ import io.jmix.data.DataConfiguration
 import io.jmix.eclipselink.EclipselinkConfiguration
 import io.jmix.security.SecurityConfiguration
 import io.jmix.securitydata.SecurityDataConfiguration
+import io.jmix.securitydata.impl.role.cache.DatabaseRoleCache
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.jdbc.core.JdbcTemplate
 import org.springframework.test.context.ContextConfiguration
@@ -36,11 +37,15 @@ class SecurityDataSpecification extends Specification {
     @Autowired
     JdbcTemplate jdbcTemplate
 
+    @Autowired
+    DatabaseRoleCache databaseRoleCache
+
     def cleanup() {
         jdbcTemplate.update("delete from SEC_ROW_LEVEL_POLICY")
         jdbcTemplate.update("delete from SEC_RESOURCE_POLICY")
         jdbcTemplate.update("delete from SEC_RESOURCE_ROLE")
         jdbcTemplate.update("delete from SEC_ROW_LEVEL_ROLE")
         jdbcTemplate.update("delete from SEC_ROLE_ASSIGNMENT")
+        databaseRoleCache.invalidate()
     }
 }
@@ -20,6 +20,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.ConstructorBinding;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "jmix.security")
 @ConstructorBinding
 public class SecurityProperties {
@@ -29,8 +31,39 @@ public class SecurityProperties {
      */
     boolean annotatedRolesHotDeployEnabled;
 
-    public SecurityProperties(@DefaultValue("true") boolean annotatedRolesHotDeployEnabled) {
+    /**
+     * Maximum number of compiled Groovy scripts of predicate row level policies kept in memory.
+     * Zero disables caching, so scripts are compiled on each evaluation.
+     */
+    int rowLevelPredicateScriptCacheSize;
+
+    /**
+     * Whether roles and role assignments stored in the database are cached in memory. The cache is invalidated
+     * when role, policy or role assignment entities are changed.
+     */
+    boolean databaseRoleCacheEnabled;
+
+    /**
+     * Maximum number of entries in the cache of database roles and role assignments.
+     */
+    int databaseRoleCacheMaxSize;
+
+    /**
+     * Interval of checking the database for changes of roles and role assignments made on other cluster nodes.
+     * Used by the default invalidation channel of the database role cache. Zero disables the checking.
+     */
+    Duration databaseRoleCachePollingInterval;
+
+    public SecurityProperties(@DefaultValue("true") boolean annotatedRolesHotDeployEnabled,
+                              @DefaultValue("1000") int rowLevelPredicateScriptCacheSize,
+                              @DefaultValue("true") boolean databaseRoleCacheEnabled,
+                              @DefaultValue("10000") int databaseRoleCacheMaxSize,
+                              @DefaultValue("10000") Duration databaseRoleCachePollingInterval) {
         this.annotatedRolesHotDeployEnabled = annotatedRolesHotDeployEnabled;
+        this.rowLevelPredicateScriptCacheSize = rowLevelPredicateScriptCacheSize;
+        this.databaseRoleCacheEnabled = databaseRoleCacheEnabled;
+        this.databaseRoleCacheMaxSize = databaseRoleCacheMaxSize;
+        this.databaseRoleCachePollingInterval = databaseRoleCachePollingInterval;
     }
 
     /**
@@ -39,4 +72,32 @@ public class SecurityProperties {
     public boolean isAnnotatedRolesHotDeployEnabled() {
         return annotatedRolesHotDeployEnabled;
     }
+
+    /**
+     * @see #rowLevelPredicateScriptCacheSize
+     */
+    public int getRowLevelPredicateScriptCacheSize() {
+        return rowLevelPredicateScriptCacheSize;
+    }
+
+    /**
+     * @see #databaseRoleCacheEnabled
+     */
+    public boolean isDatabaseRoleCacheEnabled() {
+        return databaseRoleCacheEnabled;
+    }
+
+    /**
+     * @see #databaseRoleCacheMaxSize
+     */
+    public int getDatabaseRoleCacheMaxSize() {
+        return databaseRoleCacheMaxSize;
+    }
+
+    /**
+     * @see #databaseRoleCachePollingInterval
+     */
+    public Duration getDatabaseRoleCachePollingInterval() {
+        return databaseRoleCachePollingInterval;
+    }
 }
@@ -16,6 +16,8 @@
 
 package io.jmix.security.impl.constraint;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jmix.core.ExtendedEntities;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.ClientDetails;
@@ -46,6 +48,11 @@ public class AuthenticationPolicyStore implements PolicyStore {
     @Autowired
     protected ExtendedEntities extendedEntities;
 
+    // weak keys are compared by identity, so a new authentication with changed roles gets a new matrix
+    protected Cache<Authentication, CompiledPermissions> permissionMatrices = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
     @Override
     public Stream<RowLevelPolicy> getRowLevelPolicies(MetaClass metaClass) {
         MetaClass originalMetaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
@@ -117,6 +124,25 @@ public class AuthenticationPolicyStore implements PolicyStore {
                 .getResourcePoliciesByIndex(GraphQLResourcePolicyByNameIndex.class, index -> index.getPolicies(resourceName)));
     }
 
+    /**
+     * Returns entity and entity attribute permissions of the current authentication and its scope compiled from
+     * the policies returned by the public methods of this store, so overridden methods are taken into account.
+     * The matrix is cached for the authentication object.
+     */
+    @Nullable
+    public EntityPermissionMatrix getEntityPermissionMatrix() {
+        Authentication authentication = currentAuthentication.getAuthentication();
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        String scope = getScope(authentication);
+
+        CompiledPermissions permissions = permissionMatrices.getIfPresent(authentication);
+        if (permissions == null || !permissions.isCompiledFor(authorities, scope)) {
+            permissions = new CompiledPermissions(authorities, scope, new EntityPermissionMatrix(this));
+            permissionMatrices.put(authentication, permissions);
+        }
+        return permissions.matrix;
+    }
+
     protected <T> Stream<T> extractFromAuthenticationByScope(Function<PolicyAwareGrantedAuthority, Stream<T>> extractor) {
         Stream<T> stream = Stream.empty();
 
@@ -167,6 +193,23 @@ public class AuthenticationPolicyStore implements PolicyStore {
         return scope == null || policyAwareAuthority.getScopes().contains(scope);
     }
 
+    protected static class CompiledPermissions {
+        protected final Collection<? extends GrantedAuthority> authorities;
+        protected final String scope;
+        protected final EntityPermissionMatrix matrix;
+
+        protected CompiledPermissions(Collection<? extends GrantedAuthority> authorities, @Nullable String scope,
+                                      EntityPermissionMatrix matrix) {
+            this.authorities = authorities;
+            this.scope = scope;
+            this.matrix = matrix;
+        }
+
+        protected boolean isCompiledFor(Collection<? extends GrantedAuthority> authorities, @Nullable String scope) {
+            return this.authorities == authorities && Objects.equals(this.scope, scope);
+        }
+    }
+
     public static class RowLevelPolicyByEntityIndex implements RowLevelPolicyIndex {
         private static final long serialVersionUID = -783139963235923669L;
 
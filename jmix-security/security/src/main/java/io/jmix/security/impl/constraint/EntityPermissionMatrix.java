@@ -0,0 +1,166 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.constraint;
+
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.security.constraint.PolicyStore;
+import io.jmix.security.model.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Entity and entity attribute permissions compiled from the allowing resource policies returned by a
+ * {@link PolicyStore}.
+ * <p>
+ * Permissions are stored as bit flags. Flags of a meta-class combine the policies returned by the store for the
+ * meta-class and the wildcard policies. They are compiled on first access and contain flags of all properties of
+ * the meta-class, so a check does not create streams or keys. As the store returns policies of the current
+ * authentication, the matrix must be used only while the authentication it is compiled for is current.
+ */
+public class EntityPermissionMatrix {
+
+    public static final int CREATE = 1;
+    public static final int READ = 1 << 1;
+    public static final int UPDATE = 1 << 2;
+    public static final int DELETE = 1 << 3;
+    public static final int VIEW = 1 << 4;
+    public static final int MODIFY = 1 << 5;
+
+    protected static final String WILDCARD = "*";
+
+    protected final PolicyStore policyStore;
+
+    protected final int wildcardEntityFlags;
+    protected final int wildcardAttributeFlags;
+
+    protected final Map<MetaClass, ClassPermissions> classPermissions = new ConcurrentHashMap<>();
+
+    public EntityPermissionMatrix(PolicyStore policyStore) {
+        this.policyStore = policyStore;
+
+        wildcardEntityFlags = getEntityFlags(policyStore.getEntityResourcePoliciesByWildcard(WILDCARD));
+        wildcardAttributeFlags = getAttributeFlags(
+                policyStore.getEntityAttributesResourcePoliciesByWildcard(WILDCARD, WILDCARD));
+    }
+
+    /**
+     * @param flags one of the {@link #CREATE}, {@link #READ}, {@link #UPDATE}, {@link #DELETE} flags
+     */
+    public boolean isEntityPermitted(MetaClass metaClass, int flags) {
+        return (getClassPermissions(metaClass).entityFlags & flags) != 0;
+    }
+
+    /**
+     * @param flags combination of the {@link #VIEW} and {@link #MODIFY} flags, any of them is sufficient
+     */
+    public boolean isEntityAttrPermitted(MetaClass metaClass, String attribute, int flags) {
+        ClassPermissions permissions = getClassPermissions(metaClass);
+        Integer attrFlags = permissions.attributeFlags.get(attribute);
+        if (attrFlags == null) {
+            // not a property of the meta-class, e.g. a dynamic attribute
+            attrFlags = permissions.attributeFlags.computeIfAbsent(attribute, name ->
+                    permissions.defaultAttributeFlags
+                            | getAttributeFlags(policyStore.getEntityAttributesResourcePolicies(metaClass, name)));
+        }
+        return (attrFlags & flags) != 0;
+    }
+
+    public static int getEntityActionFlags(EntityPolicyAction action) {
+        return getEntityActionFlags(action.getId());
+    }
+
+    public static int getAttributeActionFlags(EntityAttributePolicyAction action) {
+        return getAttributeActionFlags(action.getId());
+    }
+
+    protected static int getEntityActionFlags(String action) {
+        if (EntityPolicyAction.ALL.getId().equals(action)) {
+            return CREATE | READ | UPDATE | DELETE;
+        } else if (EntityPolicyAction.CREATE.getId().equals(action)) {
+            return CREATE;
+        } else if (EntityPolicyAction.READ.getId().equals(action)) {
+            return READ;
+        } else if (EntityPolicyAction.UPDATE.getId().equals(action)) {
+            return UPDATE;
+        } else if (EntityPolicyAction.DELETE.getId().equals(action)) {
+            return DELETE;
+        }
+        return 0;
+    }
+
+    protected static int getAttributeActionFlags(String action) {
+        if (EntityAttributePolicyAction.VIEW.getId().equals(action)) {
+            return VIEW;
+        } else if (EntityAttributePolicyAction.MODIFY.getId().equals(action)) {
+            return MODIFY;
+        }
+        return 0;
+    }
+
+    protected ClassPermissions getClassPermissions(MetaClass metaClass) {
+        ClassPermissions permissions = classPermissions.get(metaClass);
+        if (permissions == null) {
+            permissions = classPermissions.computeIfAbsent(metaClass, this::compile);
+        }
+        return permissions;
+    }
+
+    protected ClassPermissions compile(MetaClass metaClass) {
+        int classEntityFlags = wildcardEntityFlags
+                | getEntityFlags(policyStore.getEntityResourcePolicies(metaClass));
+
+        int defaultAttributeFlags = wildcardAttributeFlags
+                | getAttributeFlags(policyStore.getEntityAttributesResourcePolicies(metaClass, WILDCARD));
+
+        Map<String, Integer> classAttributeFlags = new ConcurrentHashMap<>();
+        for (MetaProperty property : metaClass.getProperties()) {
+            classAttributeFlags.put(property.getName(), defaultAttributeFlags
+                    | getAttributeFlags(policyStore.getEntityAttributesResourcePolicies(metaClass, property.getName())));
+        }
+
+        return new ClassPermissions(classEntityFlags, defaultAttributeFlags, classAttributeFlags);
+    }
+
+    protected int getEntityFlags(Stream<ResourcePolicy> policies) {
+        return policies
+                .filter(policy -> ResourcePolicyEffect.ALLOW.equals(policy.getEffect()))
+                .mapToInt(policy -> getEntityActionFlags(policy.getAction()))
+                .reduce(0, (a, b) -> a | b);
+    }
+
+    protected int getAttributeFlags(Stream<ResourcePolicy> policies) {
+        return policies
+                .filter(policy -> ResourcePolicyEffect.ALLOW.equals(policy.getEffect()))
+                .mapToInt(policy -> getAttributeActionFlags(policy.getAction()))
+                .reduce(0, (a, b) -> a | b);
+    }
+
+    protected static class ClassPermissions {
+        protected final int entityFlags;
+        protected final int defaultAttributeFlags;
+        protected final Map<String, Integer> attributeFlags;
+
+        protected ClassPermissions(int entityFlags, int defaultAttributeFlags, Map<String, Integer> attributeFlags) {
+            this.entityFlags = entityFlags;
+            this.defaultAttributeFlags = defaultAttributeFlags;
+            this.attributeFlags = attributeFlags;
+        }
+    }
+}
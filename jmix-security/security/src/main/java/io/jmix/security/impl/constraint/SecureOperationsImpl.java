@@ -27,6 +27,7 @@ import io.jmix.security.model.ResourcePolicy;
 import io.jmix.security.model.ResourcePolicyEffect;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
 import java.util.Objects;
 
 @Component("sec_SecureOperations")
@@ -53,6 +54,10 @@ public class SecureOperationsImpl implements SecureOperations {
 
     protected boolean isEntityOperationPermitted(MetaClass metaClass, EntityPolicyAction entityPolicyAction,
                                                  PolicyStore policyStore) {
+        EntityPermissionMatrix matrix = getEntityPermissionMatrix(policyStore);
+        if (matrix != null) {
+            return matrix.isEntityPermitted(metaClass, EntityPermissionMatrix.getEntityActionFlags(entityPolicyAction));
+        }
 
         boolean result = policyStore.getEntityResourcePolicies(metaClass)
                 .anyMatch(policy -> isEntityOperationPermitted(policy, entityPolicyAction));
@@ -99,6 +104,14 @@ public class SecureOperationsImpl implements SecureOperations {
     protected boolean isEntityAttrPermitted(MetaClass metaClass, String name,
                                             EntityAttributePolicyAction[] policyActions,
                                             PolicyStore policyStore) {
+        EntityPermissionMatrix matrix = getEntityPermissionMatrix(policyStore);
+        if (matrix != null) {
+            int flags = 0;
+            for (EntityAttributePolicyAction policyAction : policyActions) {
+                flags |= EntityPermissionMatrix.getAttributeActionFlags(policyAction);
+            }
+            return matrix.isEntityAttrPermitted(metaClass, name, flags);
+        }
 
         boolean result = policyStore.getEntityAttributesResourcePolicies(metaClass, name)
                 .anyMatch(policy -> isEntityAttrPermitted(policy, policyActions));
@@ -126,6 +139,13 @@ public class SecureOperationsImpl implements SecureOperations {
         return false;
     }
 
+    @Nullable
+    protected EntityPermissionMatrix getEntityPermissionMatrix(PolicyStore policyStore) {
+        return policyStore instanceof AuthenticationPolicyStore
+                ? ((AuthenticationPolicyStore) policyStore).getEntityPermissionMatrix()
+                : null;
+    }
+
     @Override
     public boolean isSpecificPermitted(String resourceName, PolicyStore policyStore) {
         boolean result = policyStore.getSpecificResourcePolicies(resourceName)
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package authorization
+
+import io.jmix.core.ExtendedEntities
+import io.jmix.core.Metadata
+import io.jmix.core.metamodel.model.MetaClass
+import io.jmix.core.security.CurrentAuthentication
+import io.jmix.security.authentication.RoleGrantedAuthority
+import io.jmix.security.constraint.SecureOperations
+import io.jmix.security.impl.constraint.AuthenticationPolicyStore
+import io.jmix.security.model.*
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.core.context.SecurityContextHolder
+import test_support.SecuritySpecification
+import test_support.entity.Foo
+
+import java.util.stream.Stream
+
+class EntityPermissionMatrixTest extends SecuritySpecification {
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    SecureOperations secureOperations
+
+    @Autowired
+    AuthenticationPolicyStore policyStore
+
+    @Autowired
+    CurrentAuthentication currentAuthentication
+
+    @Autowired
+    ExtendedEntities extendedEntities
+
+    def cleanup() {
+        SecurityContextHolder.clearContext()
+    }
+
+    def "permissions are checked using compiled matrix"() {
+        def metaClass = metadata.getClass(Foo)
+        authenticate(
+                policy(ResourcePolicyType.ENTITY, metaClass.name, EntityPolicyAction.READ.id),
+                policy(ResourcePolicyType.ENTITY, metaClass.name, EntityPolicyAction.UPDATE.id, ResourcePolicyEffect.DENY),
+                policy(ResourcePolicyType.ENTITY_ATTRIBUTE, metaClass.name + '.name', EntityAttributePolicyAction.VIEW.id))
+
+        expect:
+        secureOperations.isEntityReadPermitted(metaClass, policyStore)
+        !secureOperations.isEntityUpdatePermitted(metaClass, policyStore)
+        !secureOperations.isEntityCreatePermitted(metaClass, policyStore)
+        secureOperations.isEntityAttrReadPermitted(metaClass.getPropertyPath('name'), policyStore)
+        !secureOperations.isEntityAttrUpdatePermitted(metaClass.getPropertyPath('name'), policyStore)
+        !secureOperations.isEntityAttrReadPermitted(metaClass.getPropertyPath('id'), policyStore)
+
+        policyStore.getEntityPermissionMatrix().is(policyStore.getEntityPermissionMatrix())
+    }
+
+    def "wildcard policies are applied to all entities and attributes"() {
+        def metaClass = metadata.getClass(Foo)
+        authenticate(
+                policy(ResourcePolicyType.ENTITY, '*', EntityPolicyAction.ALL.id),
+                policy(ResourcePolicyType.ENTITY_ATTRIBUTE, '*.*', EntityAttributePolicyAction.MODIFY.id))
+
+        expect:
+        secureOperations.isEntityCreatePermitted(metaClass, policyStore)
+        secureOperations.isEntityDeletePermitted(metaClass, policyStore)
+        secureOperations.isEntityAttrReadPermitted(metaClass.getPropertyPath('name'), policyStore)
+        secureOperations.isEntityAttrUpdatePermitted(metaClass.getPropertyPath('id'), policyStore)
+    }
+
+    def "new authentication gets new matrix"() {
+        def metaClass = metadata.getClass(Foo)
+
+        when:
+        authenticate()
+        def matrix = policyStore.getEntityPermissionMatrix()
+
+        then:
+        !secureOperations.isEntityReadPermitted(metaClass, policyStore)
+
+        when:
+        authenticate(policy(ResourcePolicyType.ENTITY, metaClass.name, EntityPolicyAction.READ.id))
+
+        then:
+        !policyStore.getEntityPermissionMatrix().is(matrix)
+        secureOperations.isEntityReadPermitted(metaClass, policyStore)
+    }
+
+    def "matrix is compiled from policies returned by overridden store methods"() {
+        def metaClass = metadata.getClass(Foo)
+        authenticate()
+
+        def customStore = new AuthenticationPolicyStore() {
+            @Override
+            Stream<ResourcePolicy> getEntityResourcePolicies(MetaClass mc) {
+                Stream.of(policy(ResourcePolicyType.ENTITY, mc.name, EntityPolicyAction.READ.id))
+            }
+        }
+        customStore.currentAuthentication = currentAuthentication
+        customStore.extendedEntities = extendedEntities
+
+        expect:
+        customStore.getEntityPermissionMatrix() != null
+        secureOperations.isEntityReadPermitted(metaClass, customStore)
+        !secureOperations.isEntityUpdatePermitted(metaClass, customStore)
+        !secureOperations.isEntityReadPermitted(metaClass, policyStore)
+    }
+
+    private static ResourcePolicy policy(String type, String resource, String action,
+                                         String effect = ResourcePolicyEffect.ALLOW) {
+        ResourcePolicy.builder(type, resource)
+                .withAction(action)
+                .withEffect(effect)
+                .build()
+    }
+
+    private static void authenticate(ResourcePolicy... policies) {
+        def role = new ResourceRole()
+        role.code = 'test'
+        role.name = 'test'
+        role.scopes = [SecurityScope.UI] as Set
+        role.resourcePolicies = policies.toList()
+        def authentication = new UsernamePasswordAuthenticationToken('user', null,
+                [RoleGrantedAuthority.ofResourceRole(role)])
+        SecurityContextHolder.context.authentication = authentication
+    }
+}